@@ -0,0 +1,81 @@
+package org.swisspush.redisques.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The redis server the benchmarks run against.
+ * <p>
+ * When the system property <code>redisques.benchmark.redisServer</code> points to a redis-server executable, a
+ * throwaway server without persistence is spawned on <code>redisques.benchmark.redisPort</code> (default 16379) and
+ * stopped when the benchmark ends. Otherwise the already running server on <code>redisques.benchmark.redisHost</code>
+ * and <code>redisques.benchmark.redisPort</code> (default localhost:6379) is used.
+ */
+class BenchmarkRedis {
+
+    private static final String PROP_REDIS_SERVER = "redisques.benchmark.redisServer";
+    private static final String PROP_REDIS_HOST = "redisques.benchmark.redisHost";
+    private static final String PROP_REDIS_PORT = "redisques.benchmark.redisPort";
+
+    private final String host;
+    private final int port;
+    private final Process process;
+
+    private BenchmarkRedis(String host, int port, Process process) {
+        this.host = host;
+        this.port = port;
+        this.process = process;
+    }
+
+    static BenchmarkRedis start() throws IOException, InterruptedException {
+        String redisServer = System.getProperty(PROP_REDIS_SERVER);
+        if (redisServer == null) {
+            return new BenchmarkRedis(System.getProperty(PROP_REDIS_HOST, "localhost"),
+                    Integer.getInteger(PROP_REDIS_PORT, 6379), null);
+        }
+        int port = Integer.getInteger(PROP_REDIS_PORT, 16379);
+        Process process = new ProcessBuilder(redisServer, "--port", String.valueOf(port), "--save", "",
+                "--appendonly", "no")
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "redisques-benchmark-redis.log"))
+                .start();
+        BenchmarkRedis redis = new BenchmarkRedis("localhost", port, process);
+        redis.awaitStarted();
+        return redis;
+    }
+
+    private void awaitStarted() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (true) {
+            try (Socket ignored = new Socket(host, port)) {
+                return;
+            } catch (IOException e) {
+                if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+                    stop();
+                    throw new IOException("Spawned redis server did not start on port " + port, e);
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    /**
+     * Stops the spawned redis server. An already running server is left alone.
+     */
+    void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+}
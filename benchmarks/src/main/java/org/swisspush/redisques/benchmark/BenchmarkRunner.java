@@ -0,0 +1,77 @@
+package org.swisspush.redisques.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks twice, once measuring the throughput and once sampling the latency, and prints the messages per
+ * second and the 99th percentile latency of every benchmark.
+ * <p>
+ * Accepts the usual JMH command line options, e.g. a regex selecting the benchmarks to run. The benchmark mode and the
+ * time unit are set by this runner.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Collection<RunResult> throughputResults = new Runner(
+                buildOptions(commandLineOptions, Mode.Throughput, TimeUnit.SECONDS)).run();
+        Collection<RunResult> latencyResults = new Runner(
+                buildOptions(commandLineOptions, Mode.SampleTime, TimeUnit.MICROSECONDS)).run();
+
+        Map<String, double[]> summary = new LinkedHashMap<>();
+        for (RunResult result : throughputResults) {
+            summary.computeIfAbsent(label(result.getParams()), label -> new double[2])[0] =
+                    result.getPrimaryResult().getScore();
+        }
+        for (RunResult result : latencyResults) {
+            summary.computeIfAbsent(label(result.getParams()), label -> new double[2])[1] =
+                    result.getPrimaryResult().getStatistics().getPercentile(99);
+        }
+
+        System.out.println();
+        System.out.printf("%-70s %15s %15s%n", "Benchmark", "msgs/s", "p99 [us]");
+        for (Map.Entry<String, double[]> entry : summary.entrySet()) {
+            System.out.printf("%-70s %15.1f %15.1f%n", entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    private static Options buildOptions(CommandLineOptions commandLineOptions, Mode mode, TimeUnit timeUnit) {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackageName() + ".*Benchmark");
+        }
+        return builder
+                .mode(mode)
+                .timeUnit(timeUnit)
+                .forks(commandLineOptions.getForkCount().orElse(1))
+                .warmupIterations(commandLineOptions.getWarmupIterations().orElse(3))
+                .warmupTime(commandLineOptions.getWarmupTime().orElse(TimeValue.seconds(2)))
+                .measurementIterations(commandLineOptions.getMeasurementIterations().orElse(5))
+                .measurementTime(commandLineOptions.getMeasurementTime().orElse(TimeValue.seconds(2)))
+                .build();
+    }
+
+    private static String label(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder label = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        for (String key : params.getParamsKeys()) {
+            label.append(' ').append(key).append('=').append(params.getParam(key));
+        }
+        return label.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package org.swisspush.redisques.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.QueueConfigurationResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks of {@link QueueConfigurationResolver#resolve(String)} against many queue configurations, the queue names
+ * matching the last configuration.
+ */
+@State(Scope.Benchmark)
+public class QueueConfigurationResolverBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private QueueConfigurationResolver resolver;
+    private final String[] queueNames = new String[1000];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<QueueConfiguration> configurations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            configurations.add(new QueueConfiguration().withPattern("queue-" + i + "-[a-z]+-[0-9]+"));
+        }
+        configurations.add(new QueueConfiguration().withPattern("other-.*"));
+        resolver = new QueueConfigurationResolver(configurations, cacheSize);
+        for (int i = 0; i < queueNames.length; i++) {
+            queueNames[i] = "other-" + i;
+        }
+    }
+
+    @Benchmark
+    public QueueConfiguration resolve() {
+        next = (next + 1) % queueNames.length;
+        return resolver.resolve(queueNames[next]);
+    }
+}
@@ -0,0 +1,48 @@
+package org.swisspush.redisques.benchmark;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.impl.types.BulkType;
+import io.vertx.redis.client.impl.types.MultiType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.swisspush.redisques.util.QueueHandlerUtil;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of {@link QueueHandlerUtil#filterQueues(Response, Optional)} on an in memory redis reply.
+ */
+@State(Scope.Benchmark)
+public class QueueHandlerUtilBenchmark {
+
+    @Param({"1000", "100000"})
+    public int queueCount;
+
+    private Response queues;
+    private final Optional<Pattern> filterPattern = Optional.of(Pattern.compile("queue-[0-9]*7$"));
+
+    @Setup
+    public void setUp() {
+        MultiType multi = MultiType.create(queueCount, false);
+        for (int i = 0; i < queueCount; i++) {
+            multi.add(BulkType.create(Buffer.buffer("queue-" + i), false));
+        }
+        queues = multi;
+    }
+
+    @Benchmark
+    public List<String> filterQueues() {
+        return QueueHandlerUtil.filterQueues(queues, filterPattern);
+    }
+
+    @Benchmark
+    public List<String> filterQueuesWithoutPattern() {
+        return QueueHandlerUtil.filterQueues(queues, Optional.empty());
+    }
+}
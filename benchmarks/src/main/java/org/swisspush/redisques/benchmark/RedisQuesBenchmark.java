@@ -0,0 +1,166 @@
+package org.swisspush.redisques.benchmark;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.swisspush.redisques.RedisQues;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Benchmarks of the RedisQues operations, measured from the event bus request to the reply.
+ * <p>
+ * The queues of the monitoring benchmarks are locked, so they keep their items during the whole trial.
+ */
+@State(Scope.Benchmark)
+public class RedisQuesBenchmark {
+
+    private static final String ADDRESS = "redisques-benchmark";
+    private static final String PROCESSOR_ADDRESS = "redisques-benchmark-processor";
+    private static final String REDIS_PREFIX = "redisques-benchmark:";
+    private static final String MONITOR_QUEUE_PREFIX = "monitor-queue-";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * Number of queues evaluated by the monitoring benchmarks
+     */
+    @Param({"1000"})
+    public int queueCount;
+
+    private BenchmarkRedis redis;
+    private Vertx vertx;
+    private EventBus eventBus;
+    private final Map<String, CompletableFuture<Void>> pendingMessages = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        redis = BenchmarkRedis.start();
+        vertx = Vertx.vertx();
+        eventBus = vertx.eventBus();
+        deleteRedisQuesKeys();
+
+        eventBus.consumer(PROCESSOR_ADDRESS, (Message<JsonObject> message) -> {
+            message.reply(new JsonObject().put(STATUS, OK));
+            CompletableFuture<Void> pending = pendingMessages.remove(message.body().getString(PAYLOAD));
+            if (pending != null) {
+                pending.complete(null);
+            }
+        });
+
+        JsonObject config = RedisquesConfiguration.with()
+                .address(ADDRESS)
+                .processorAddress(PROCESSOR_ADDRESS)
+                .redisHost(redis.getHost())
+                .redisPort(redis.getPort())
+                .redisPrefix(REDIS_PREFIX)
+                .build()
+                .asJsonObject();
+        await(vertx.deployVerticle(new RedisQues(), new DeploymentOptions().setConfig(config))
+                .toCompletionStage().toCompletableFuture());
+
+        JsonArray monitorQueues = new JsonArray();
+        JsonArray monitorMessages = new JsonArray();
+        for (int i = 0; i < queueCount; i++) {
+            String queueName = MONITOR_QUEUE_PREFIX + i;
+            monitorQueues.add(queueName);
+            for (int j = 0; j <= i % 10; j++) {
+                monitorMessages.add(buildBulkEnqueueMessage(queueName, "item-" + j));
+            }
+        }
+        request(buildBulkPutLocksOperation(monitorQueues, "benchmark"));
+        request(buildBulkEnqueueOperation(monitorMessages));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            deleteRedisQuesKeys();
+            await(vertx.close().toCompletionStage().toCompletableFuture());
+        } finally {
+            redis.stop();
+        }
+    }
+
+    /**
+     * Enqueue of a single message into a queue drained by the processor
+     */
+    @Benchmark
+    public JsonObject enqueue() throws Exception {
+        return request(buildEnqueueOperation("enqueue-queue", "message-" + sequence.incrementAndGet()));
+    }
+
+    /**
+     * Enqueue of a single message until the processor received it
+     */
+    @Benchmark
+    public void processorRoundTrip() throws Exception {
+        String message = "roundtrip-" + sequence.incrementAndGet();
+        CompletableFuture<Void> processed = new CompletableFuture<>();
+        pendingMessages.put(message, processed);
+        request(buildEnqueueOperation("roundtrip-queue", message));
+        await(processed);
+    }
+
+    @Benchmark
+    public JsonObject getQueuesItemsCount() throws Exception {
+        return request(buildGetQueuesItemsCountOperation(MONITOR_QUEUE_PREFIX));
+    }
+
+    @Benchmark
+    public JsonObject getQueuesStatistics() throws Exception {
+        return request(buildGetQueuesStatisticsOperation(MONITOR_QUEUE_PREFIX));
+    }
+
+    private JsonObject request(JsonObject operation) throws Exception {
+        Message<JsonObject> reply = await(eventBus.<JsonObject>request(ADDRESS, operation)
+                .toCompletionStage().toCompletableFuture());
+        if (!OK.equals(reply.body().getString(STATUS))) {
+            throw new IllegalStateException("Operation " + operation.getString(OPERATION) + " failed: " + reply.body());
+        }
+        return reply.body();
+    }
+
+    private void deleteRedisQuesKeys() throws Exception {
+        RedisAPI redisAPI = RedisAPI.api(await(Redis.createClient(vertx, "redis://" + redis.getHost() + ":" + redis.getPort())
+                .connect().toCompletionStage().toCompletableFuture()));
+        try {
+            Response keys = await(redisAPI.keys(REDIS_PREFIX + "*").toCompletionStage().toCompletableFuture());
+            if (keys.size() > 0) {
+                List<String> args = new ArrayList<>(keys.size());
+                for (Response key : keys) {
+                    args.add(key.toString());
+                }
+                await(redisAPI.del(args).toCompletionStage().toCompletableFuture());
+            }
+        } finally {
+            redisAPI.close();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
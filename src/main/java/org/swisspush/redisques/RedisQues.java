@@ -2,15 +2,20 @@ package org.swisspush.redisques;
 
 import static org.swisspush.redisques.util.RedisquesAPI.BAD_INPUT;
 import static org.swisspush.redisques.util.RedisquesAPI.BUFFER;
+import static org.swisspush.redisques.util.RedisquesAPI.CURSOR;
 import static org.swisspush.redisques.util.RedisquesAPI.ERROR;
 import static org.swisspush.redisques.util.RedisquesAPI.ERROR_TYPE;
 import static org.swisspush.redisques.util.RedisquesAPI.INDEX;
 import static org.swisspush.redisques.util.RedisquesAPI.LIMIT;
 import static org.swisspush.redisques.util.RedisquesAPI.LOCKS;
 import static org.swisspush.redisques.util.RedisquesAPI.MESSAGE;
+import static org.swisspush.redisques.util.RedisquesAPI.MESSAGES;
+import static org.swisspush.redisques.util.RedisquesAPI.MONITOR_QUEUE_NAME;
+import static org.swisspush.redisques.util.RedisquesAPI.MONITOR_QUEUE_SIZE;
 import static org.swisspush.redisques.util.RedisquesAPI.OK;
 import static org.swisspush.redisques.util.RedisquesAPI.OPERATION;
 import static org.swisspush.redisques.util.RedisquesAPI.PAYLOAD;
+import static org.swisspush.redisques.util.RedisquesAPI.PAYLOADS;
 import static org.swisspush.redisques.util.RedisquesAPI.PROCESSOR_DELAY_MAX;
 import static org.swisspush.redisques.util.RedisquesAPI.QUEUENAME;
 import static org.swisspush.redisques.util.RedisquesAPI.QUEUES;
@@ -22,15 +27,18 @@ import static org.swisspush.redisques.util.RedisquesAPI.VALUE;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
 import io.vertx.redis.client.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,16 +48,21 @@ import io.vertx.redis.client.impl.types.SimpleStringType;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -70,8 +83,26 @@ import org.swisspush.redisques.handler.PutLockHandler;
 import org.swisspush.redisques.handler.RedisquesHttpRequestHandler;
 import org.swisspush.redisques.handler.ReplaceQueueItemHandler;
 import org.swisspush.redisques.lua.LuaScriptManager;
+import org.swisspush.redisques.metrics.DefaultRedisquesMetrics;
+import org.swisspush.redisques.metrics.MetricsMessage;
+import org.swisspush.redisques.metrics.MetricsRedisAPI;
+import org.swisspush.redisques.metrics.RedisquesMetrics;
+import org.swisspush.redisques.storage.ListQueueStorage;
+import org.swisspush.redisques.storage.QueueItem;
+import org.swisspush.redisques.storage.QueueStorage;
+import org.swisspush.redisques.storage.StreamQueueStorage;
+import org.swisspush.redisques.util.ConsistentHashRing;
+import org.swisspush.redisques.util.ConsumerCache;
+import org.swisspush.redisques.util.HashSlot;
 import org.swisspush.redisques.util.MessageUtil;
+import org.swisspush.redisques.util.PartitionKey;
+import org.swisspush.redisques.util.PartitionedDispatch;
+import org.swisspush.redisques.util.PayloadCompression;
 import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.QueueConfigurationResolver;
+import org.swisspush.redisques.util.QueueKeys;
+import org.swisspush.redisques.util.QueueMessage;
+import org.swisspush.redisques.util.QueueMessageCodec;
 import org.swisspush.redisques.util.QueueStatisticsCollector;
 import org.swisspush.redisques.util.RedisQuesTimer;
 import org.swisspush.redisques.util.RedisUtils;
@@ -88,6 +119,17 @@ public class RedisQues extends AbstractVerticle {
     // Identifies the consumer
     private final String uid = UUID.randomUUID().toString();
 
+    public RedisQues() {
+    }
+
+    /**
+     * @param metrics records the durations of the operations, redis commands and processor round trips, regardless
+     *                of the metricsEnabled configuration
+     */
+    public RedisQues(RedisquesMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     private MessageConsumer<String> uidMessageConsumer;
 
     // The queues this verticle is listening to
@@ -113,6 +155,7 @@ public class RedisQues extends AbstractVerticle {
     private RedisClient redisClient;
 
     private RedisAPI redisAPI;
+    private RedisConnection redisConnection;
 
     // Prefix for redis keys holding queues and consumers.
     private String redisPrefix;
@@ -121,8 +164,11 @@ public class RedisQues extends AbstractVerticle {
     private String queuesKey;
     private String queuesPrefix;
     private String consumersPrefix;
+    private QueueKeys queueKeys;
     private String locksKey;
     private String queueCheckLastexecKey;
+    private String instancesKey;
+    private String sizesKey;
 
     // Address of message processors
     private String processorAddress = "redisques-processor";
@@ -141,6 +187,60 @@ public class RedisQues extends AbstractVerticle {
     private long processorDelayMax;
     private RedisQuesTimer timer;
 
+    // dequeue by the peek / pop lua scripts instead of separate commands
+    private boolean atomicDequeueEnabled;
+
+    // queue ownership by a consistent hash ring over the live instances
+    private boolean consistentHashOwnershipEnabled;
+    private ConsistentHashRing ownershipRing = new ConsistentHashRing(Collections.emptyList());
+    private MessageConsumer<String> ownerRegistrationMessageConsumer;
+
+    // registration requests partitioned over the instances of the deployment, see claimShard()
+    private int shardCount = 1;
+    private int shard = -1;
+    private MessageConsumer<String> shardRegistrationMessageConsumer;
+
+    // enqueue by a single lua script instead of separate commands
+    private boolean fusedEnqueueEnabled;
+
+    // renew the registrations of the consumed queues in chunks by a lua script
+    private boolean leaseRenewalEnabled;
+    private int leaseRenewalChunkSize;
+
+    // check the inactive queues in pages by a lua script
+    private boolean incrementalCheckEnabled;
+    private int checkPageSize;
+
+    // evaluate the length of many queues in chunks
+    private int multiListLengthChunkSize;
+    private int multiListLengthConcurrency;
+
+    // sorted set of the sizes of the non-empty queues, updated on enqueue and dequeue
+    private boolean queueSizeIndexEnabled;
+
+    // delete the queues by UNLINK in chunks, the memory is reclaimed by redis in the background
+    private boolean lazyDeleteEnabled;
+    private int lazyDeleteChunkSize;
+
+    // set of the names of the registered queues, walked by the reset of the consumers
+    private boolean consumerIndexEnabled;
+    private String consumerIndexKey;
+
+    // local cache of the registered consumers of the queues, null when disabled
+    private int consumerCacheSize;
+    private ConsumerCache consumerCache;
+
+    // durations of the operations, redis commands and processor round trips, null when disabled
+    private RedisquesMetrics metrics;
+
+    // storage of the queue items, redis lists or redis streams
+    private boolean streamStorage;
+    private QueueStorage queueStorage;
+
+    // payloads passed as buffers, without string or JSON encoding, to the processor and from the binary enqueue
+    private boolean binaryPayloadsEnabled;
+
+    private RedisClientType redisClientType;
     private String redisHost;
     private int redisPort;
     private String redisAuth;
@@ -153,9 +253,16 @@ public class RedisQues extends AbstractVerticle {
     private int httpRequestHandlerPort;
     private String httpRequestHandlerUserHeader;
     private List<QueueConfiguration> queueConfigurations;
+    private int queueConfigurationCacheSize;
+    private QueueConfigurationResolver queueConfigurationResolver;
+    private int statisticsFlushIntervalMs;
+    private boolean queueSpeedWindowsEnabled;
+    private String speedKeyPrefix;
 
     private static final int DEFAULT_MAX_QUEUEITEM_COUNT = 49;
     private static final int MAX_AGE_MILLISECONDS = 120000; // 120 seconds
+    private static final int RESET_CONSUMERS_BATCH_SIZE = 1000;
+    private static final String SHARDS_MAP = "redisques.shards";
 
     private static final Set<String> ALLOWED_CONFIGURATION_VALUES = Stream.of("processorDelayMax")
             .collect(Collectors.toSet());
@@ -189,7 +296,7 @@ public class RedisQues extends AbstractVerticle {
                     "RedisQues Got registration request for queue {} from consumer: {}", queueName, uid);
         }
         // Try to register for this queue
-        redisSetWithOptions(consumersPrefix + queueName, uid, true, consumerLockTime, event -> {
+        redisSetWithOptions(queueKeys.consumerKey(queueName), uid, true, consumerLockTime, event -> {
             if (event.succeeded()) {
                 String value = event.result() != null ? event.result().toString() : null;
                 if (log.isTraceEnabled()) {
@@ -201,6 +308,8 @@ public class RedisQues extends AbstractVerticle {
                         log.debug("RedisQues Now registered for queue " + queueName);
                     }
                     myQueues.put(queueName, QueueState.READY);
+                    cacheConsumer(queueName, uid);
+                    indexConsumer(queueName);
                     consume(queueName);
                 } else {
                     log.debug("RedisQues Missed registration for queue " + queueName);
@@ -221,20 +330,87 @@ public class RedisQues extends AbstractVerticle {
         RedisquesConfiguration modConfig = RedisquesConfiguration.fromJsonObject(config());
         log.info("Starting Redisques module with configuration: " + modConfig);
 
+        String clientType = modConfig.getRedisClientType();
+        if (RedisClientType.CLUSTER.name().equalsIgnoreCase(clientType)) {
+            redisClientType = RedisClientType.CLUSTER;
+        } else if (RedisClientType.STANDALONE.name().equalsIgnoreCase(clientType)) {
+            redisClientType = RedisClientType.STANDALONE;
+        } else {
+            promise.fail("Unsupported redis client type '" + clientType + "', use STANDALONE or CLUSTER");
+            return;
+        }
+        final boolean cluster = redisClientType == RedisClientType.CLUSTER;
+
+        String storage = modConfig.getQueueStorage();
+        if ("STREAM".equalsIgnoreCase(storage)) {
+            streamStorage = true;
+        } else if (!"LIST".equalsIgnoreCase(storage)) {
+            promise.fail("Unsupported queue storage '" + storage + "', use LIST or STREAM");
+            return;
+        }
+
         address = modConfig.getAddress();
         configurationUpdatedAddress = modConfig.getConfigurationUpdatedAddress();
         redisPrefix = modConfig.getRedisPrefix(); // default: "redisques:"
         queuesKey = redisPrefix + "queues";
         queuesPrefix = redisPrefix + "queues:";
         consumersPrefix = redisPrefix + "consumers:";
+        queueKeys = new QueueKeys(queuesPrefix, consumersPrefix, cluster);
         locksKey = redisPrefix + "locks";
         queueCheckLastexecKey = redisPrefix + "check:lastexec";
+        instancesKey = redisPrefix + "instances";
+        sizesKey = redisPrefix + "sizes";
+        speedKeyPrefix = redisPrefix + "speed:{speed}:";
+        consumerIndexKey = redisPrefix + "consumers-index";
         processorAddress = modConfig.getProcessorAddress();
         refreshPeriod = modConfig.getRefreshPeriod();
         consumerLockTime = 2 * refreshPeriod; // lock is kept twice as long as its refresh interval -> never expires as long as the consumer ('we') are alive
         checkInterval = modConfig.getCheckInterval();
         processorTimeout = modConfig.getProcessorTimeout();
         processorDelayMax = modConfig.getProcessorDelayMax();
+        atomicDequeueEnabled = modConfig.getAtomicDequeueEnabled();
+        consistentHashOwnershipEnabled = modConfig.getConsistentHashOwnershipEnabled();
+        fusedEnqueueEnabled = modConfig.getFusedEnqueueEnabled();
+        leaseRenewalEnabled = modConfig.getLeaseRenewalEnabled();
+        leaseRenewalChunkSize = Math.max(1, modConfig.getLeaseRenewalChunkSize());
+        incrementalCheckEnabled = modConfig.getIncrementalCheckEnabled();
+        checkPageSize = Math.max(1, modConfig.getCheckPageSize());
+        multiListLengthChunkSize = modConfig.getMultiListLengthChunkSize();
+        multiListLengthConcurrency = modConfig.getMultiListLengthConcurrency();
+        queueSizeIndexEnabled = modConfig.getQueueSizeIndexEnabled();
+        consumerIndexEnabled = modConfig.getConsumerIndexEnabled();
+        lazyDeleteEnabled = modConfig.getLazyDeleteEnabled();
+        lazyDeleteChunkSize = Math.max(1, modConfig.getLazyDeleteChunkSize());
+        binaryPayloadsEnabled = modConfig.getBinaryPayloadsEnabled();
+        if (cluster) {
+            // the lua scripts of these features access the keys of several queues or shared keys together with the
+            // keys of a queue, which are spread over the slots of a cluster
+            atomicDequeueEnabled = disabledInCluster(RedisquesConfiguration.PROP_ATOMIC_DEQUEUE_ENABLED, atomicDequeueEnabled);
+            fusedEnqueueEnabled = disabledInCluster(RedisquesConfiguration.PROP_FUSED_ENQUEUE_ENABLED, fusedEnqueueEnabled);
+            leaseRenewalEnabled = disabledInCluster(RedisquesConfiguration.PROP_LEASE_RENEWAL_ENABLED, leaseRenewalEnabled);
+            incrementalCheckEnabled = disabledInCluster(RedisquesConfiguration.PROP_INCREMENTAL_CHECK_ENABLED,
+                    incrementalCheckEnabled);
+            queueSizeIndexEnabled = disabledInCluster(RedisquesConfiguration.PROP_QUEUE_SIZE_INDEX_ENABLED,
+                    queueSizeIndexEnabled);
+            lazyDeleteEnabled = disabledInCluster(RedisquesConfiguration.PROP_LAZY_DELETE_ENABLED, lazyDeleteEnabled);
+            // the cluster client does not support SCAN, the consumers are reset by the consumer index
+            consumerIndexEnabled = true;
+        }
+        if (streamStorage) {
+            // the lua scripts of these features access the queues as redis lists
+            atomicDequeueEnabled = disabledForStreams(RedisquesConfiguration.PROP_ATOMIC_DEQUEUE_ENABLED, atomicDequeueEnabled);
+            fusedEnqueueEnabled = disabledForStreams(RedisquesConfiguration.PROP_FUSED_ENQUEUE_ENABLED, fusedEnqueueEnabled);
+            queueSizeIndexEnabled = disabledForStreams(RedisquesConfiguration.PROP_QUEUE_SIZE_INDEX_ENABLED,
+                    queueSizeIndexEnabled);
+        }
+        if (metrics == null && modConfig.getMetricsEnabled()) {
+            metrics = new DefaultRedisquesMetrics();
+        }
+        consumerCacheSize = modConfig.getConsumerCacheSize();
+        if (consumerCacheSize > 0) {
+            // cached consumers expire before a not refreshed registration does
+            consumerCache = new ConsumerCache(consumerCacheSize, refreshPeriod * 1000L);
+        }
         timer = new RedisQuesTimer(vertx);
 
         redisHost = modConfig.getRedisHost();
@@ -249,10 +425,14 @@ public class RedisQues extends AbstractVerticle {
         httpRequestHandlerPort = modConfig.getHttpRequestHandlerPort();
         httpRequestHandlerUserHeader = modConfig.getHttpRequestHandlerUserHeader();
         queueConfigurations = modConfig.getQueueConfigurations();
+        queueConfigurationCacheSize = modConfig.getQueueConfigurationCacheSize();
+        statisticsFlushIntervalMs = modConfig.getStatisticsFlushIntervalMs();
+        queueSpeedWindowsEnabled = modConfig.getQueueSpeedWindowsEnabled();
+        queueConfigurationResolver = new QueueConfigurationResolver(queueConfigurations, queueConfigurationCacheSize);
 
         setupRedisAPI(redisHost, redisPort, redisAuth, redisMaxPoolSize, redisMaxWaitSize).onComplete(event -> {
             if(event.succeeded()){
-                redisAPI = event.result();
+                redisAPI = metrics != null ? new MetricsRedisAPI(event.result(), metrics) : event.result();
                 initialize(modConfig);
                 promise.complete();
             } else {
@@ -261,12 +441,30 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    private boolean disabledInCluster(String property, boolean enabled) {
+        if (enabled) {
+            log.warn("RedisQues {} is not supported by a redis cluster and is disabled", property);
+        }
+        return false;
+    }
+
+    private boolean disabledForStreams(String property, boolean enabled) {
+        if (enabled) {
+            log.warn("RedisQues {} is not supported by the stream storage and is disabled", property);
+        }
+        return false;
+    }
+
     private void initialize(RedisquesConfiguration modConfig) {
-        this.luaScriptManager = new LuaScriptManager(redisAPI);
+        this.luaScriptManager = new LuaScriptManager(redisAPI, multiListLengthChunkSize, multiListLengthConcurrency,
+                redisClientType == RedisClientType.CLUSTER, streamStorage);
+        this.queueStorage = streamStorage ? new StreamQueueStorage(redisConnection, redisAPI, luaScriptManager, uid)
+                : new ListQueueStorage(redisConnection, redisAPI, luaScriptManager);
         this.queueStatisticsCollector = new QueueStatisticsCollector(redisAPI, luaScriptManager,
-                queuesPrefix, vertx, modConfig.getQueueSpeedIntervalSec());
+                queueKeys, vertx, modConfig.getQueueSpeedIntervalSec(), statisticsFlushIntervalMs,
+                queueSpeedWindowsEnabled ? speedKeyPrefix : null);
 
-        RedisquesHttpRequestHandler.init(vertx, modConfig);
+        RedisquesHttpRequestHandler.init(vertx, modConfig, metrics);
 
         vertx.eventBus().consumer(configurationUpdatedAddress, (Handler<Message<JsonObject>>) event -> {
             log.info("Received configurations update");
@@ -279,6 +477,16 @@ public class RedisQues extends AbstractVerticle {
         // Handles registration requests
         consumersMessageConsumer = vertx.eventBus().consumer(address + "-consumers", this::handleRegistrationRequest);
 
+        if (binaryPayloadsEnabled) {
+            try {
+                vertx.eventBus().registerDefaultCodec(QueueMessage.class, new QueueMessageCodec());
+            } catch (IllegalStateException e) {
+                log.debug("Codec of the queue messages is already registered");
+            }
+            // Handles the enqueue of binary payloads
+            vertx.eventBus().consumer(address + "-binary", this::binaryEnqueue);
+        }
+
         // Handles notifications
         uidMessageConsumer = vertx.eventBus().consumer(uid, event -> {
             final String queue = event.body();
@@ -290,14 +498,162 @@ public class RedisQues extends AbstractVerticle {
             consume(queue);
         });
 
+        if (claimShard()) {
+            // Handles registration requests for the queues of the shard of this instance
+            shardRegistrationMessageConsumer = vertx.eventBus().consumer(buildShardRegistrationAddress(shard),
+                    this::handleRegistrationRequest);
+        }
+
+        if (consistentHashOwnershipEnabled) {
+            // Handles registration requests for the queues owned by this instance
+            ownerRegistrationMessageConsumer = vertx.eventBus().consumer(buildOwnerRegistrationAddress(uid),
+                    this::handleRegistrationRequest);
+            registerInstanceHeartbeat();
+        }
+
         registerActiveQueueRegistrationRefresh();
         registerQueueCheck(modConfig);
+
+        if (queueSizeIndexEnabled && shard <= 0) {
+            // the index is shared, one instance of the deployment rebuilds it
+            rebuildQueueSizeIndex();
+        }
+    }
+
+    /**
+     * When deployed with several instances (see {@link io.vertx.core.DeploymentOptions#setInstances(int)}), every
+     * instance runs on its own event loop and claims one of the shards <code>0..instances-1</code>. The registration
+     * requests of the queues without consumer are then sent to the shard of the queue name, so a queue is always
+     * registered by the same instance of a JVM instead of all instances racing for it. The registration requests of a
+     * shard released by a stopped instance are sent to all instances again.
+     *
+     * @return <code>true</code> when this instance claimed a shard
+     */
+    private boolean claimShard() {
+        shardCount = context.getInstanceCount();
+        if (shardCount <= 1) {
+            return false;
+        }
+        LocalMap<String, String> shards = vertx.sharedData().getLocalMap(SHARDS_MAP);
+        for (int i = 0; i < shardCount; i++) {
+            if (shards.putIfAbsent(address + ":" + i, uid) == null) {
+                shard = i;
+                log.info("RedisQues instance {} claimed shard {} of {}", uid, shard, shardCount);
+                return true;
+            }
+        }
+        log.warn("RedisQues instance {} found no free shard of {}", uid, shardCount);
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> when an instance of this JVM consumes the registration requests of the shard
+     */
+    private boolean hasShardOwner(int shard) {
+        return vertx.sharedData().getLocalMap(SHARDS_MAP).get(address + ":" + shard) != null;
+    }
+
+    private void releaseShard() {
+        if (shard >= 0) {
+            vertx.sharedData().<String, String>getLocalMap(SHARDS_MAP).removeIfPresent(address + ":" + shard, uid);
+            shard = -1;
+        }
+    }
+
+    /**
+     * @return the shard of the queue, the same on every JVM running the same number of instances
+     */
+    static int shardOf(String queueName, int shardCount) {
+        return Math.floorMod(queueName.hashCode(), shardCount);
+    }
+
+    private String buildShardRegistrationAddress(int shard) {
+        return address + "-consumers-shard-" + shard;
+    }
+
+    private String buildOwnerRegistrationAddress(String instanceUid) {
+        return address + "-consumers-" + instanceUid;
+    }
+
+    /**
+     * Periodically announces this instance in the sorted set of instances (scored by the last heartbeat), removes
+     * instances which missed their heartbeats and rebuilds the ownership ring when the live instances changed.
+     */
+    private void registerInstanceHeartbeat() {
+        refreshInstanceMembership();
+        vertx.setPeriodic(refreshPeriod * 1000, event -> refreshInstanceMembership());
+    }
+
+    private void refreshInstanceMembership() {
+        final long now = System.currentTimeMillis();
+        redisAPI.zadd(Arrays.asList(instancesKey, String.valueOf(now), uid), heartbeatResult -> {
+            if (heartbeatResult.failed()) {
+                log.warn("Failed to send heartbeat of instance {}", uid, heartbeatResult.cause());
+                return;
+            }
+            String expired = String.valueOf(now - consumerLockTime * 1000L);
+            redisAPI.zremrangebyscore(instancesKey, "-inf", expired, removeResult -> {
+                if (removeResult.failed()) {
+                    log.warn("Failed to remove expired instances", removeResult.cause());
+                }
+                redisAPI.zrange(Arrays.asList(instancesKey, "0", "-1"), membersResult -> {
+                    if (membersResult.failed() || membersResult.result() == null) {
+                        log.warn("Failed to get the live instances", membersResult.cause());
+                        return;
+                    }
+                    Set<String> members = new TreeSet<>();
+                    for (Response member : membersResult.result()) {
+                        members.add(member.toString());
+                    }
+                    if (!members.equals(ownershipRing.getMembers())) {
+                        log.info("RedisQues live instances changed from {} to {}", ownershipRing.getMembers(), members);
+                        ownershipRing = new ConsistentHashRing(members);
+                        rebalanceQueues();
+                    }
+                });
+            });
+        });
+    }
+
+    /**
+     * Releases the idle queues which are owned by another instance according to the current ownership ring and
+     * notifies their new owner. Queues being consumed are released on a later heartbeat once they are idle.
+     */
+    private void rebalanceQueues() {
+        final ConsistentHashRing ring = ownershipRing;
+        for (Map.Entry<String, QueueState> entry : new ArrayList<>(myQueues.entrySet())) {
+            final String queue = entry.getKey();
+            if (entry.getValue() != QueueState.READY || ring.isOwner(uid, queue)) {
+                continue;
+            }
+            luaScriptManager.handleReleaseConsumer(queueKeys.consumerKey(queue), uid, releaseResult -> {
+                if (releaseResult.failed()) {
+                    log.warn("Failed to release queue '{}'", queue, releaseResult.cause());
+                    return;
+                }
+                invalidateCachedConsumer(queue);
+                if (myQueues.get(queue) == QueueState.READY) {
+                    log.debug("RedisQues Released queue {} to instance {}", queue, ring.owner(queue));
+                    myQueues.remove(queue);
+                }
+                redisAPI.exists(Collections.singletonList(queueKeys.queueKey(queue)), existsResult -> {
+                    if (existsResult.succeeded() && existsResult.result() != null && existsResult.result().toInteger() == 1) {
+                        notifyConsumer(queue);
+                    }
+                });
+            });
+        }
     }
 
     private Future<RedisAPI> setupRedisAPI(String redisHost, Integer redisPort, String redisAuth,
                                             int redisMaxPoolSize, int redisMaxWaitSize) {
         Promise<RedisAPI> promise = Promise.promise();
+        if (redisClientType == RedisClientType.CLUSTER && redisMaxWaitSize < redisMaxPoolSize) {
+            // the cluster client requires a waiting queue at least as large as the pool, a negative size is unbounded
+            redisMaxWaitSize = redisMaxWaitSize < 0 ? Integer.MAX_VALUE : redisMaxPoolSize;
+        }
         Redis.createClient(vertx, new RedisOptions()
+                .setType(redisClientType)
                 .setConnectionString("redis://" + redisHost + ":" + redisPort)
                 .setPassword((redisAuth == null ? "" : redisAuth))
                 .setMaxPoolSize(redisMaxPoolSize)
@@ -306,7 +662,8 @@ public class RedisQues extends AbstractVerticle {
             if (event.failed()) {
                 promise.fail(event.cause());
             } else {
-                promise.complete(RedisAPI.api(event.result()));
+                redisConnection = event.result();
+                promise.complete(RedisAPI.api(redisConnection));
             }
         });
 
@@ -316,12 +673,16 @@ public class RedisQues extends AbstractVerticle {
     private void registerActiveQueueRegistrationRefresh() {
         // Periodic refresh of my registrations on active queues.
         vertx.setPeriodic(refreshPeriod * 1000, event -> {
+            if (leaseRenewalEnabled) {
+                renewLeases();
+                return;
+            }
             // Check if I am still the registered consumer
             myQueues.entrySet().stream().filter(entry -> entry.getValue() == QueueState.CONSUMING).
                     forEach(entry -> {
                         final String queue = entry.getKey();
                         // Check if I am still the registered consumer
-                        String consumerKey = consumersPrefix + queue;
+                        String consumerKey = queueKeys.consumerKey(queue);
                         if (log.isTraceEnabled()) {
                             log.trace("RedisQues refresh queues get: " + consumerKey);
                         }
@@ -334,10 +695,12 @@ public class RedisQues extends AbstractVerticle {
                             if (uid.equals(consumer)) {
                                 log.debug("RedisQues Periodic consumer refresh for active queue " + queue);
                                 refreshRegistration(queue, null);
+                                cacheConsumer(queue, uid);
                                 updateTimestamp(queue, null);
                             } else {
                                 log.debug("RedisQues Removing queue " + queue + " from the list");
                                 myQueues.remove(queue);
+                                invalidateCachedConsumer(queue);
                                 queueStatisticsCollector.resetQueueFailureStatistics(queue);
                             }
                         });
@@ -345,8 +708,51 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    /**
+     * Same as the periodic check and refresh of the registrations in {@link #registerActiveQueueRegistrationRefresh()}
+     * but for a chunk of queues per lua script call. The chunks are renewed one after the other.
+     */
+    private void renewLeases() {
+        List<String> queues = myQueues.entrySet().stream().filter(entry -> entry.getValue() == QueueState.CONSUMING)
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        renewLeases(queues, 0);
+    }
+
+    private void renewLeases(final List<String> queues, final int from) {
+        if (from >= queues.size()) {
+            return;
+        }
+        final List<String> chunk = queues.subList(from, Math.min(from + leaseRenewalChunkSize, queues.size()));
+        List<String> consumerKeys = chunk.stream().map(queue -> queueKeys.consumerKey(queue)).collect(Collectors.toList());
+        if (log.isTraceEnabled()) {
+            log.trace("RedisQues renew registrations of " + chunk.size() + " queues");
+        }
+        luaScriptManager.handleRenewLeases(queuesKey, consumerKeys, chunk, uid, consumerLockTime, renewResult -> {
+            if (renewResult.failed() || renewResult.result() == null) {
+                log.warn("Failed to renew the registrations of {} queues. But we'll continue anyway :)", chunk.size(),
+                        renewResult.cause());
+            } else {
+                Set<String> lostQueues = new HashSet<>();
+                for (Response lostQueue : renewResult.result()) {
+                    lostQueues.add(lostQueue.toString());
+                }
+                for (String queue : chunk) {
+                    if (lostQueues.contains(queue)) {
+                        log.debug("RedisQues Removing queue " + queue + " from the list");
+                        myQueues.remove(queue);
+                        invalidateCachedConsumer(queue);
+                        queueStatisticsCollector.resetQueueFailureStatistics(queue);
+                    } else {
+                        cacheConsumer(queue, uid);
+                    }
+                }
+            }
+            renewLeases(queues, from + chunk.size());
+        });
+    }
+
     private Handler<Message<JsonObject>> operationsHandler() {
-        return event -> {
+        Handler<Message<JsonObject>> operationsHandler = event -> {
             final JsonObject body = event.body();
             if (null == body) {
                 log.warn("Got msg with empty body from event bus. We'll run directly in a NullPointerException now. address={}  replyAddress={} ", event.address(), event.replyAddress());
@@ -370,6 +776,9 @@ public class RedisQues extends AbstractVerticle {
                 case lockedEnqueue:
                     lockedEnqueue(event);
                     break;
+                case bulkEnqueue:
+                    bulkEnqueue(event);
+                    break;
                 case getQueueItems:
                     getQueueItems(event);
                     break;
@@ -418,6 +827,9 @@ public class RedisQues extends AbstractVerticle {
                 case getQueuesItemsCount:
                     getQueuesItemsCount(event);
                     break;
+                case getLargestQueues:
+                    getLargestQueues(event);
+                    break;
                 case getQueuesCount:
                     getQueuesCount(event);
                     break;
@@ -452,52 +864,261 @@ public class RedisQues extends AbstractVerticle {
                     unsupportedOperation(operation, event);
             }
         };
+        if (metrics == null) {
+            return operationsHandler;
+        }
+        return event -> operationsHandler.handle(new MetricsMessage<>(event, metricsOperationName(event), metrics));
+    }
+
+    private String metricsOperationName(Message<JsonObject> event) {
+        QueueOperation queueOperation = event.body() == null ? null
+                : QueueOperation.fromString(event.body().getString(OPERATION));
+        // unknown operations are not recorded by name to keep the number of metrics bounded
+        return queueOperation != null ? queueOperation.name() : "unsupported";
     }
 
     private void enqueue(Message<JsonObject> event) {
         String queueName = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        String compression = getCompression(queueName);
+        if (fusedEnqueueEnabled && compression == null) {
+            fusedEnqueue(event, queueName);
+            return;
+        }
         updateTimestamp(queueName, null);
-        String keyEnqueue = queuesPrefix + queueName;
         String valueEnqueue = event.body().getString(MESSAGE);
-        redisAPI.rpush(Arrays.asList(keyEnqueue, valueEnqueue), event2 -> {
-            JsonObject reply = new JsonObject();
+        pushItems(queueName, compression, Collections.singletonList(valueEnqueue), event2 -> {
             if (event2.succeeded()) {
                 if (log.isDebugEnabled()) {
                     log.debug("RedisQues Enqueued message into queue " + queueName);
                 }
                 long queueLength = event2.result().toLong();
                 notifyConsumer(queueName);
-                reply.put(STATUS, OK);
-                reply.put(MESSAGE, "enqueued");
-
-                // feature EN-queue slow-down (the larger the queue the longer we delay "OK" response)
-                long delayReplyMillis = 0;
-                QueueConfiguration queueConfiguration = findQueueConfiguration(queueName);
-                if (queueConfiguration != null) {
-                    float enqueueDelayFactorMillis = queueConfiguration.getEnqueueDelayFactorMillis();
-                    if (enqueueDelayFactorMillis > 0f) {
-                        // minus one as we need the queueLength _before_ our en-queue here
-                        delayReplyMillis = (long) ((queueLength - 1) * enqueueDelayFactorMillis);
-                        int max = queueConfiguration.getEnqueueMaxDelayMillis();
-                        if (max > 0 && delayReplyMillis > max) {
-                            delayReplyMillis = max;
-                        }
+                updateQueueSizeIndex(queueName);
+                replyEnqueued(event, queueName, queueLength);
+            } else {
+                replyEnqueueFailed(event, queueName, event2.cause());
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #enqueue(Message)} but the timestamp update, the push and the consumer lookup are done by a
+     * single lua script.
+     */
+    private void fusedEnqueue(Message<JsonObject> event, String queueName) {
+        luaScriptManager.handleEnqueue(queuesKey, queueKeys.queueKey(queueName), queueKeys.consumerKey(queueName), queueName,
+                event.body().getString(MESSAGE), enqueueResult -> {
+                    if (enqueueResult.failed() || enqueueResult.result() == null) {
+                        replyEnqueueFailed(event, queueName, enqueueResult.cause());
+                        return;
                     }
+                    if (log.isDebugEnabled()) {
+                        log.debug("RedisQues Enqueued message into queue " + queueName);
+                    }
+                    Response response = enqueueResult.result();
+                    long queueLength = response.get(0).toLong();
+                    String consumer = response.size() > 1 ? response.get(1).toString() : null;
+                    cacheConsumer(queueName, consumer);
+                    notifyConsumer(queueName, consumer);
+                    updateQueueSizeIndex(queueName);
+                    replyEnqueued(event, queueName, queueLength);
+                });
+    }
+
+    /**
+     * Pushes the messages to the tail of the queue, compressed when a compression is configured for the queue.
+     */
+    private void pushItems(String queueName, String compression, List<String> messages,
+                           Handler<AsyncResult<Response>> handler) {
+        String queueKey = queueKeys.queueKey(queueName);
+        if (compression == null) {
+            queueStorage.push(queueKey, messages, handler);
+            return;
+        }
+        List<Buffer> payloads = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            payloads.add(PayloadCompression.compress(Buffer.buffer(message), compression));
+        }
+        queueStorage.pushBinary(queueKey, payloads, handler);
+    }
+
+    /**
+     * @return the compression of the payloads of the queue, <code>null</code> when they are not compressed
+     */
+    private String getCompression(String queueName) {
+        QueueConfiguration queueConfiguration = findQueueConfiguration(queueName);
+        return queueConfiguration != null ? queueConfiguration.getCompression() : null;
+    }
+
+    private void replyEnqueued(Message<JsonObject> event, String queueName, long queueLength) {
+        JsonObject reply = new JsonObject();
+        reply.put(STATUS, OK);
+        reply.put(MESSAGE, "enqueued");
+
+        // minus one as we need the queueLength _before_ our en-queue here
+        long delayReplyMillis = getEnqueueDelayMillis(queueName, queueLength - 1);
+        replyDelayed(event, reply, delayReplyMillis);
+        queueStatisticsCollector.queueMessageEnqueued(queueName, 1);
+        queueStatisticsCollector.setQueueBackPressureTime(queueName, delayReplyMillis);
+    }
+
+    /**
+     * feature EN-queue slow-down (the larger the queue the longer we delay "OK" response)
+     *
+     * @param queueLength the length of the queue before the enqueue
+     * @return the delay of the enqueue reply
+     */
+    private long getEnqueueDelayMillis(String queueName, long queueLength) {
+        long delayReplyMillis = 0;
+        QueueConfiguration queueConfiguration = findQueueConfiguration(queueName);
+        if (queueConfiguration != null) {
+            float enqueueDelayFactorMillis = queueConfiguration.getEnqueueDelayFactorMillis();
+            if (enqueueDelayFactorMillis > 0f) {
+                delayReplyMillis = (long) (queueLength * enqueueDelayFactorMillis);
+                int max = queueConfiguration.getEnqueueMaxDelayMillis();
+                if (max > 0 && delayReplyMillis > max) {
+                    delayReplyMillis = max;
                 }
-                if (delayReplyMillis > 0) {
-                    vertx.setTimer(delayReplyMillis, timeIsUp -> event.reply(reply));
-                } else {
-                    event.reply(reply);
-                }
-                queueStatisticsCollector.setQueueBackPressureTime(queueName, delayReplyMillis);
-            } else {
-                String message = "RedisQues QUEUE_ERROR: Error while enqueueing message into queue " + queueName;
-                log.error(message, event2.cause());
-                reply.put(STATUS, ERROR);
-                reply.put(MESSAGE, message);
-                event.reply(reply);
+            }
+        }
+        return delayReplyMillis;
+    }
+
+    private void replyDelayed(Message<?> event, JsonObject reply, long delayReplyMillis) {
+        if (delayReplyMillis > 0) {
+            vertx.setTimer(delayReplyMillis, timeIsUp -> event.reply(reply));
+        } else {
+            event.reply(reply);
+        }
+    }
+
+    /**
+     * Enqueues the payloads of a {@link QueueMessage} into its queue. The payloads are pushed as they are, without
+     * string encoding. The reply is the same as the one of a bulk enqueue.
+     */
+    private void binaryEnqueue(Message<QueueMessage> event) {
+        QueueMessage message = event.body();
+        if (message == null || message.getQueue() == null || message.getPayloads().isEmpty()) {
+            event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, "No payloads to enqueue provided"));
+            return;
+        }
+        final String queueName = message.getQueue();
+        final int count = message.getPayloads().size();
+        List<Buffer> payloads = message.getPayloads();
+        String compression = getCompression(queueName);
+        if (compression != null) {
+            payloads = new ArrayList<>(payloads.size());
+            for (Buffer payload : message.getPayloads()) {
+                payloads.add(PayloadCompression.compress(payload, compression));
+            }
+        }
+        updateTimestamp(queueName, null);
+        queueStorage.pushBinary(queueKeys.queueKey(queueName), payloads, pushResult -> {
+            if (pushResult.failed()) {
+                log.error("RedisQues QUEUE_ERROR: Error while enqueueing binary messages into queue " + queueName,
+                        pushResult.cause());
+                event.reply(createErrorReply().put(MESSAGE, "Error while enqueueing messages into queue " + queueName));
+                return;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues Enqueued " + count + " binary messages into queue " + queueName);
+            }
+            notifyConsumer(queueName);
+            updateQueueSizeIndex(queueName);
+            long delay = getEnqueueDelayMillis(queueName, pushResult.result().toLong() - count);
+            queueStatisticsCollector.setQueueBackPressureTime(queueName, delay);
+            queueStatisticsCollector.queueMessageEnqueued(queueName, count);
+            replyDelayed(event, createOkReply().put(VALUE, count), delay);
+        });
+    }
+
+    /**
+     * Enqueues many messages into one or many queues. The messages are grouped per queue and pushed by a single
+     * multi value RPUSH per queue. The timestamps of all touched queues are updated by a single ZADD and the
+     * consumer of every touched queue is notified once.
+     */
+    private void bulkEnqueue(Message<JsonObject> event) {
+        JsonArray messages = event.body().getJsonObject(PAYLOAD).getJsonArray(MESSAGES);
+        if (messages == null) {
+            event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, "No messages to enqueue provided"));
+            return;
+        }
+
+        // keep the order of the messages per queue
+        Map<String, List<String>> messagesPerQueue = new LinkedHashMap<>();
+        for (Object obj : messages) {
+            if (!(obj instanceof JsonObject)) {
+                event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, "Messages must be json objects"));
+                return;
+            }
+            JsonObject message = (JsonObject) obj;
+            Object queueName = message.getValue(QUEUENAME);
+            Object value = message.getValue(MESSAGE);
+            if (!(queueName instanceof String) || !(value instanceof String)) {
+                event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT)
+                        .put(MESSAGE, "Messages must have a '" + QUEUENAME + "' and a '" + MESSAGE + "' string value"));
+                return;
+            }
+            messagesPerQueue.computeIfAbsent((String) queueName, queue -> new ArrayList<>()).add((String) value);
+        }
+
+        if (messagesPerQueue.isEmpty()) {
+            event.reply(createOkReply().put(VALUE, 0));
+            return;
+        }
+
+        List<String> timestampArgs = new ArrayList<>(1 + 2 * messagesPerQueue.size());
+        timestampArgs.add(queuesKey);
+        String ts = String.valueOf(System.currentTimeMillis());
+        for (String queueName : messagesPerQueue.keySet()) {
+            timestampArgs.add(ts);
+            timestampArgs.add(queueName);
+        }
+        redisAPI.zadd(timestampArgs, timestampResult -> {
+            if (timestampResult.failed()) {
+                log.warn("Failed to update the timestamps of the queues while bulkEnqueue", timestampResult.cause());
             }
         });
+
+        final AtomicInteger pending = new AtomicInteger(messagesPerQueue.size());
+        final List<String> failedQueues = new ArrayList<>();
+        final long[] delayReplyMillis = new long[1];
+        for (Map.Entry<String, List<String>> entry : messagesPerQueue.entrySet()) {
+            final String queueName = entry.getKey();
+            final int count = entry.getValue().size();
+            pushItems(queueName, getCompression(queueName), entry.getValue(), pushResult -> {
+                if (pushResult.succeeded()) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("RedisQues Enqueued " + count + " messages into queue " + queueName);
+                    }
+                    notifyConsumer(queueName);
+                    long delay = getEnqueueDelayMillis(queueName, pushResult.result().toLong() - count);
+                    queueStatisticsCollector.setQueueBackPressureTime(queueName, delay);
+                    queueStatisticsCollector.queueMessageEnqueued(queueName, count);
+                    delayReplyMillis[0] = Math.max(delayReplyMillis[0], delay);
+                } else {
+                    log.error("RedisQues QUEUE_ERROR: Error while enqueueing messages into queue " + queueName, pushResult.cause());
+                    failedQueues.add(queueName);
+                }
+                if (pending.decrementAndGet() == 0) {
+                    updateQueueSizeIndex(messagesPerQueue.keySet());
+                    if (failedQueues.isEmpty()) {
+                        replyDelayed(event, createOkReply().put(VALUE, messages.size()), delayReplyMillis[0]);
+                    } else {
+                        event.reply(createErrorReply().put(MESSAGE, "Error while enqueueing messages into queues " + failedQueues));
+                    }
+                }
+            });
+        }
+    }
+
+    private void replyEnqueueFailed(Message<JsonObject> event, String queueName, Throwable cause) {
+        JsonObject reply = new JsonObject();
+        String message = "RedisQues QUEUE_ERROR: Error while enqueueing message into queue " + queueName;
+        log.error(message, cause);
+        reply.put(STATUS, ERROR);
+        reply.put(MESSAGE, message);
+        event.reply(reply);
     }
 
     private void lockedEnqueue(Message<JsonObject> event) {
@@ -522,19 +1143,23 @@ public class RedisQues extends AbstractVerticle {
     }
 
     private void addQueueItem(Message<JsonObject> event) {
-        String key1 = queuesPrefix + event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        String queueName = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
         String valueAddItem = event.body().getJsonObject(PAYLOAD).getString(BUFFER);
-        redisAPI.rpush(Arrays.asList(key1, valueAddItem), new AddQueueItemHandler(event));
+        AddQueueItemHandler addQueueItemHandler = new AddQueueItemHandler(event);
+        pushItems(queueName, getCompression(queueName), Collections.singletonList(valueAddItem), reply -> {
+            updateQueueSizeIndex(queueName);
+            addQueueItemHandler.handle(reply);
+        });
     }
 
     private void getQueueItems(Message<JsonObject> event) {
         String queueName = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
-        String keyListRange = queuesPrefix + queueName;
+        String keyListRange = queueKeys.queueKey(queueName);
         int maxQueueItemCountIndex = getMaxQueueItemCountIndex(event.body().getJsonObject(PAYLOAD).getString(LIMIT));
-        redisAPI.llen(keyListRange, countReply -> {
+        queueStorage.length(keyListRange, countReply -> {
             Long queueItemCount = countReply.result().toLong();
             if (countReply.succeeded() && queueItemCount != null) {
-                redisAPI.lrange(keyListRange, "0", String.valueOf(maxQueueItemCountIndex), new GetQueueItemsHandler(event, queueItemCount));
+                queueStorage.range(keyListRange, maxQueueItemCountIndex + 1, new GetQueueItemsHandler(event, queueItemCount));
             } else {
                 log.warn("Operation getQueueItems failed. But I'll not notify my caller :)", countReply.cause());
                 // IMO we should 'event.fail(countReply.cause())' here. But we don't, to keep backward compatibility.
@@ -550,6 +1175,26 @@ public class RedisQues extends AbstractVerticle {
     private void getQueues(Message<JsonObject> event, boolean countOnly, Result<Optional<Pattern>, String> filterPatternResult) {
         if (filterPatternResult.isErr()) {
             event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, filterPatternResult.getErr()));
+            return;
+        }
+        Result<Optional<Integer>, String> limitResult = MessageUtil.extractPageLimit(event);
+        if (limitResult.isErr()) {
+            event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, limitResult.getErr()));
+        } else if (!countOnly && limitResult.getOk().isPresent()) {
+            final List<String> names = new ArrayList<>();
+            scanQueuesPage(extractCursor(event), limitResult.getOk().get(), filterPatternResult.getOk(), names, null)
+                    .onComplete(scanResult -> {
+                        if (scanResult.failed()) {
+                            log.error("Unable to scan the queues", scanResult.cause());
+                            event.reply(createErrorReply());
+                            return;
+                        }
+                        JsonObject value = new JsonObject().put(QUEUES, new JsonArray(names));
+                        if (scanResult.result() != null) {
+                            value.put(CURSOR, scanResult.result());
+                        }
+                        event.reply(createOkReply().put(VALUE, value));
+                    });
         } else {
             redisAPI.zrangebyscore(
                     Arrays.asList(queuesKey, String.valueOf(getMaxAgeTimestamp()), "+inf"),
@@ -557,6 +1202,82 @@ public class RedisQues extends AbstractVerticle {
         }
     }
 
+    private String extractCursor(Message<JsonObject> event) {
+        JsonObject payload = event.body().getJsonObject(PAYLOAD);
+        String cursor = payload != null ? payload.getString(CURSOR) : null;
+        return cursor != null ? cursor : "0";
+    }
+
+    /**
+     * Collects a page of the active queues matching the filter pattern. The queues sorted set is scanned chunk by
+     * chunk (one lua script call per chunk) until at least <code>limit</code> queues are found or the scan is done.
+     *
+     * @param names receives the names of the queues
+     * @param sizes receives the sizes of the queues or <code>null</code> when the sizes are not needed
+     * @return the cursor to get the next page with or <code>null</code> when there are no more queues
+     */
+    private Future<String> scanQueuesPage(String cursor, int limit, Optional<Pattern> filterPattern,
+                                          List<String> names, List<Long> sizes) {
+        Promise<String> promise = Promise.promise();
+        scanQueuesPage(cursor, limit, filterPattern, names, sizes, promise);
+        return promise.future();
+    }
+
+    private void scanQueuesPage(String cursor, int limit, Optional<Pattern> filterPattern, List<String> names,
+                                List<Long> sizes, Promise<String> promise) {
+        // the regex filter can't be evaluated by lua, so the sizes of a filtered scan are looked up afterwards. The
+        // script can't look up the hash tagged queue keys of a cluster either, they are spread over the slots. And it
+        // evaluates the length of lists, not streams.
+        final boolean sizesByScan = sizes != null && !filterPattern.isPresent() && !queueKeys.isHashTagged()
+                && !streamStorage;
+        luaScriptManager.handleScanQueues(queuesKey, cursor, limit, getMaxAgeTimestamp(),
+                sizesByScan ? queuesPrefix : null, scanResult -> {
+                    if (scanResult.failed() || scanResult.result() == null) {
+                        promise.fail(scanResult.failed() ? scanResult.cause() : new IllegalStateException("no scan result"));
+                        return;
+                    }
+                    final String nextCursor = scanResult.result().get(0).toString();
+                    Response scannedNames = scanResult.result().get(1);
+                    Response scannedSizes = scanResult.result().get(2);
+                    final List<String> matchingNames = new ArrayList<>();
+                    for (int i = 0; i < scannedNames.size(); i++) {
+                        String name = scannedNames.get(i).toString();
+                        if (filterPattern.isPresent() && !filterPattern.get().matcher(name).find()) {
+                            continue;
+                        }
+                        matchingNames.add(name);
+                        if (sizesByScan) {
+                            sizes.add(scannedSizes.get(i).toLong());
+                        }
+                    }
+                    names.addAll(matchingNames);
+                    Handler<Void> continueScan = nothing -> {
+                        if ("0".equals(nextCursor)) {
+                            promise.complete(null);
+                        } else if (names.size() >= limit) {
+                            promise.complete(nextCursor);
+                        } else {
+                            scanQueuesPage(nextCursor, limit, filterPattern, names, sizes, promise);
+                        }
+                    };
+                    if (sizes == null || sizesByScan || matchingNames.isEmpty()) {
+                        continueScan.handle(null);
+                        return;
+                    }
+                    List<String> keys = matchingNames.stream().map(name -> queueKeys.queueKey(name)).collect(Collectors.toList());
+                    luaScriptManager.handleMultiListLength(keys, lengths -> {
+                        if (lengths == null) {
+                            promise.fail("Unable to get the length of the queues");
+                            return;
+                        }
+                        for (long length : lengths) {
+                            sizes.add(length);
+                        }
+                        continueScan.handle(null);
+                    });
+                });
+    }
+
     private void getQueuesCount(Message<JsonObject> event) {
         Result<Optional<Pattern>, String> result = MessageUtil.extractFilterPattern(event);
         if (result.isErr()) {
@@ -574,30 +1295,55 @@ public class RedisQues extends AbstractVerticle {
         }
     }
 
+    private void replyNotIndexed(Message<JsonObject> event) {
+        event.reply(createErrorReply().put(MESSAGE, "Accessing queue items by index is not supported by the stream storage"));
+    }
+
     private void getQueueItem(Message<JsonObject> event) {
-        String key = queuesPrefix + event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        if (!queueStorage.isIndexed()) {
+            replyNotIndexed(event);
+            return;
+        }
+        String key = queueKeys.queueKey(event.body().getJsonObject(PAYLOAD).getString(QUEUENAME));
         int index = event.body().getJsonObject(PAYLOAD).getInteger(INDEX);
         redisAPI.lindex(key, String.valueOf(index), new GetQueueItemHandler(event));
     }
 
     private void replaceQueueItem(Message<JsonObject> event) {
-        String keyReplaceItem = queuesPrefix + event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        if (!queueStorage.isIndexed()) {
+            replyNotIndexed(event);
+            return;
+        }
+        String queueName = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        String keyReplaceItem = queueKeys.queueKey(queueName);
         int indexReplaceItem = event.body().getJsonObject(PAYLOAD).getInteger(INDEX);
         String bufferReplaceItem = event.body().getJsonObject(PAYLOAD).getString(BUFFER);
+        String compression = getCompression(queueName);
+        if (compression != null) {
+            redisConnection.send(Request.cmd(Command.LSET).arg(keyReplaceItem).arg(indexReplaceItem)
+                    .arg(PayloadCompression.compress(Buffer.buffer(bufferReplaceItem), compression)),
+                    new ReplaceQueueItemHandler(event));
+            return;
+        }
         redisAPI.lset(keyReplaceItem, String.valueOf(indexReplaceItem), bufferReplaceItem, new ReplaceQueueItemHandler(event));
     }
 
     private void deleteQueueItem(Message<JsonObject> event) {
-        String keyLset = queuesPrefix + event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+        if (!queueStorage.isIndexed()) {
+            replyNotIndexed(event);
+            return;
+        }
+        String keyLset = queueKeys.queueKey(event.body().getJsonObject(PAYLOAD).getString(QUEUENAME));
         int indexLset = event.body().getJsonObject(PAYLOAD).getInteger(INDEX);
         redisAPI.lset(keyLset, String.valueOf(indexLset), "TO_DELETE", event1 -> {
             if (event1.succeeded()) {
-                String keyLrem = queuesPrefix + event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
+                String keyLrem = queueKeys.queueKey(event.body().getJsonObject(PAYLOAD).getString(QUEUENAME));
                 redisAPI.lrem(keyLrem, "0", "TO_DELETE", replyLrem -> {
                     if (replyLrem.failed()) {
                         log.warn("Redis 'lrem' command failed. But will continue anyway.", replyLrem.cause());
                         // IMO we should 'fail()' here. But we don't, to keep backward compatibility.
                     }
+                    updateQueueSizeIndex(event.body().getJsonObject(PAYLOAD).getString(QUEUENAME));
                     event.reply(createOkReply());
                 });
             } else {
@@ -611,14 +1357,13 @@ public class RedisQues extends AbstractVerticle {
         JsonObject payload = event.body().getJsonObject(PAYLOAD);
         boolean unlock = payload.getBoolean(UNLOCK, false);
         String queue = payload.getString(QUEUENAME);
-        redisAPI.del(Collections.singletonList(buildQueueKey(queue)), deleteReply -> {
+        deleteQueue(queue, deleteReply -> {
             if (deleteReply.failed()) {
                 log.warn("Failed to deleteAllQueueItems. But we'll continue anyway", deleteReply.cause());
                 // May we should 'fail()' here. But:
                 // 1st: We don't, to keep backward compatibility
                 // 2nd: We don't, to may unlock below.
             }
-            queueStatisticsCollector.resetQueueFailureStatistics(queue);
             if (unlock) {
                 redisAPI.hdel(Arrays.asList(locksKey, queue), unlockReply -> {
                     if (unlockReply.failed()) {
@@ -633,9 +1378,54 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    /**
+     * Deletes the queue and resets its statistics. With the lazy delete enabled, the queue is unlinked and its
+     * statistics are reset by a single lua script call.
+     */
+    private void deleteQueue(String queue, Handler<AsyncResult<Response>> handler) {
+        if (lazyDeleteEnabled) {
+            luaScriptManager.handleUnlinkQueues(QueueStatisticsCollector.STATSKEY, sizesKey, queuesPrefix,
+                    Collections.singletonList(queue), unlinkReply -> {
+                        queueStatisticsCollector.clearQueueFailureStatistics(queue);
+                        handler.handle(unlinkReply);
+                    });
+            return;
+        }
+        redisAPI.del(Collections.singletonList(buildQueueKey(queue)), deleteReply -> {
+            queueStatisticsCollector.resetQueueFailureStatistics(queue);
+            updateQueueSizeIndex(queue);
+            handler.handle(deleteReply);
+        });
+    }
+
+    /**
+     * Unlinks the queues and resets their statistics chunk by chunk, starting at the given offset. The handler gets
+     * the total number of unlinked queues.
+     */
+    private void unlinkQueues(List<String> queues, int offset, long unlinkedCount, Handler<AsyncResult<Long>> handler) {
+        if (offset >= queues.size()) {
+            handler.handle(Future.succeededFuture(unlinkedCount));
+            return;
+        }
+        List<String> chunk = queues.subList(offset, Math.min(offset + lazyDeleteChunkSize, queues.size()));
+        luaScriptManager.handleUnlinkQueues(QueueStatisticsCollector.STATSKEY, sizesKey, queuesPrefix, chunk,
+                unlinkReply -> {
+                    chunk.forEach(queueStatisticsCollector::clearQueueFailureStatistics);
+                    if (unlinkReply.failed()) {
+                        handler.handle(Future.failedFuture(unlinkReply.cause()));
+                        return;
+                    }
+                    unlinkQueues(queues, offset + chunk.size(), unlinkedCount + unlinkReply.result().toLong(), handler);
+                });
+    }
+
     int updateQueueFailureCountAndGetRetryInterval(final String queueName, boolean sendSuccess) {
+        return updateQueueFailureCountAndGetRetryInterval(queueName, sendSuccess, 1);
+    }
+
+    private int updateQueueFailureCountAndGetRetryInterval(final String queueName, boolean sendSuccess, int messageCount) {
         if (sendSuccess) {
-            queueStatisticsCollector.queueMessageSuccess(queueName);
+            queueStatisticsCollector.queueMessageSuccess(queueName, messageCount);
             return 0;
         } else {
             // update the failure count
@@ -657,7 +1447,7 @@ public class RedisQues extends AbstractVerticle {
     }
 
     private String buildQueueKey(String queue) {
-        return queuesPrefix + queue;
+        return queueKeys.queueKey(queue);
     }
 
     private List<String> buildQueueKeys(JsonArray queues) {
@@ -690,10 +1480,27 @@ public class RedisQues extends AbstractVerticle {
             return;
         }
 
-        redisAPI.del(buildQueueKeys(queues), delManyReply -> {
+        if (lazyDeleteEnabled) {
+            List<String> queueNames = new ArrayList<>(queues.size());
+            for (int i = 0; i < queues.size(); i++) {
+                queueNames.add(queues.getString(i));
+            }
+            unlinkQueues(queueNames, 0, 0L, unlinkReply -> {
+                if (unlinkReply.succeeded()) {
+                    event.reply(createOkReply().put(VALUE, unlinkReply.result()));
+                } else {
+                    log.error("Failed to bulkDeleteQueues", unlinkReply.cause());
+                    event.reply(createErrorReply());
+                }
+            });
+            return;
+        }
+
+        multiKeyCommand(redisAPI::del, buildQueueKeys(queues), delManyReply -> {
             queueStatisticsCollector.resetQueueStatistics(queues);
+            updateQueueSizeIndex(queues.getList());
             if (delManyReply.succeeded()) {
-                event.reply(createOkReply().put(VALUE, delManyReply.result().toLong()));
+                event.reply(createOkReply().put(VALUE, delManyReply.result()));
             } else {
                 log.error("Failed to bulkDeleteQueues", delManyReply.cause());
                 event.reply(createErrorReply());
@@ -701,6 +1508,35 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    /**
+     * Executes a multi key command with an integer reply, e.g. DEL. With a redis cluster, the command is executed once
+     * per hash slot of the keys and the replies are summed up.
+     */
+    private void multiKeyCommand(BiConsumer<List<String>, Handler<AsyncResult<Response>>> command, List<String> keys,
+                                 Handler<AsyncResult<Long>> handler) {
+        if (redisClientType != RedisClientType.CLUSTER) {
+            command.accept(keys, reply -> handler.handle(reply.map(Response::toLong)));
+            return;
+        }
+        List<Future> replies = new ArrayList<>();
+        for (List<String> slotKeys : HashSlot.partition(keys).values()) {
+            Promise<Response> reply = Promise.promise();
+            command.accept(slotKeys, reply);
+            replies.add(reply.future());
+        }
+        CompositeFuture.all(replies).onComplete(allReplies -> {
+            if (allReplies.failed()) {
+                handler.handle(Future.failedFuture(allReplies.cause()));
+                return;
+            }
+            long count = 0;
+            for (Future reply : replies) {
+                count += ((Response) reply.result()).toLong();
+            }
+            handler.handle(Future.succeededFuture(count));
+        });
+    }
+
     private void handleDeleteQueueReply(Message<JsonObject> event, AsyncResult<Response> reply) {
         if (reply.succeeded()) {
             event.reply(createOkReply().put(VALUE, reply.result().toLong()));
@@ -768,7 +1604,7 @@ public class RedisQues extends AbstractVerticle {
 
     private void deleteLock(Message<JsonObject> event) {
         String queueName = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
-        redisAPI.exists(Collections.singletonList(queuesPrefix + queueName), event1 -> {
+        redisAPI.exists(Collections.singletonList(queueKeys.queueKey(queueName)), event1 -> {
             if (event1.succeeded() && event1.result() != null && event1.result().toInteger() == 1) {
                 notifyConsumer(queueName);
             }
@@ -847,6 +1683,27 @@ public class RedisQues extends AbstractVerticle {
         result.put(RedisquesConfiguration.PROP_CHECK_INTERVAL, checkInterval);
         result.put(RedisquesConfiguration.PROP_PROCESSOR_TIMEOUT, processorTimeout);
         result.put(RedisquesConfiguration.PROP_PROCESSOR_DELAY_MAX, processorDelayMax);
+        result.put(RedisquesConfiguration.PROP_ATOMIC_DEQUEUE_ENABLED, atomicDequeueEnabled);
+        result.put(RedisquesConfiguration.PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED, consistentHashOwnershipEnabled);
+        result.put(RedisquesConfiguration.PROP_FUSED_ENQUEUE_ENABLED, fusedEnqueueEnabled);
+        result.put(RedisquesConfiguration.PROP_CONSUMER_CACHE_SIZE, consumerCacheSize);
+        result.put(RedisquesConfiguration.PROP_LEASE_RENEWAL_ENABLED, leaseRenewalEnabled);
+        result.put(RedisquesConfiguration.PROP_LEASE_RENEWAL_CHUNK_SIZE, leaseRenewalChunkSize);
+        result.put(RedisquesConfiguration.PROP_INCREMENTAL_CHECK_ENABLED, incrementalCheckEnabled);
+        result.put(RedisquesConfiguration.PROP_CHECK_PAGE_SIZE, checkPageSize);
+        result.put(RedisquesConfiguration.PROP_MULTI_LIST_LENGTH_CHUNK_SIZE, multiListLengthChunkSize);
+        result.put(RedisquesConfiguration.PROP_MULTI_LIST_LENGTH_CONCURRENCY, multiListLengthConcurrency);
+        result.put(RedisquesConfiguration.PROP_QUEUE_SIZE_INDEX_ENABLED, queueSizeIndexEnabled);
+        result.put(RedisquesConfiguration.PROP_METRICS_ENABLED, metrics != null);
+        result.put(RedisquesConfiguration.PROP_CONSUMER_INDEX_ENABLED, consumerIndexEnabled);
+        result.put(RedisquesConfiguration.PROP_LAZY_DELETE_ENABLED, lazyDeleteEnabled);
+        result.put(RedisquesConfiguration.PROP_LAZY_DELETE_CHUNK_SIZE, lazyDeleteChunkSize);
+        result.put(RedisquesConfiguration.PROP_REDIS_CLIENT_TYPE, redisClientType.name());
+        result.put(RedisquesConfiguration.PROP_QUEUE_STORAGE, streamStorage ? "STREAM" : "LIST");
+        result.put(RedisquesConfiguration.PROP_BINARY_PAYLOADS_ENABLED, binaryPayloadsEnabled);
+        result.put(RedisquesConfiguration.PROP_QUEUE_CONFIGURATION_CACHE_SIZE, queueConfigurationCacheSize);
+        result.put(RedisquesConfiguration.PROP_STATISTICS_FLUSH_INTERVAL_MS, statisticsFlushIntervalMs);
+        result.put(RedisquesConfiguration.PROP_QUEUE_SPEED_WINDOWS_ENABLED, queueSpeedWindowsEnabled);
         result.put(RedisquesConfiguration.PROP_HTTP_REQUEST_HANDLER_ENABLED, httpRequestHandlerEnabled);
         result.put(RedisquesConfiguration.PROP_HTTP_REQUEST_HANDLER_PREFIX, httpRequestHandlerPrefix);
         result.put(RedisquesConfiguration.PROP_HTTP_REQUEST_HANDLER_PORT, httpRequestHandlerPort);
@@ -940,10 +1797,31 @@ public class RedisQues extends AbstractVerticle {
 
     @Override
     public void stop() {
+        if (queueStatisticsCollector != null) {
+            queueStatisticsCollector.flush();
+        }
         unregisterConsumers(true);
+        leaveOwnershipRing();
+        releaseShard();
+    }
+
+    private void leaveOwnershipRing() {
+        if (consistentHashOwnershipEnabled && redisAPI != null) {
+            // let the other instances take over our queues without waiting for our heartbeat to expire
+            redisAPI.zrem(Arrays.asList(instancesKey, uid));
+        }
     }
 
     private void gracefulStop(final Handler<Void> doneHandler) {
+        if (ownerRegistrationMessageConsumer != null) {
+            ownerRegistrationMessageConsumer.unregister();
+            leaveOwnershipRing();
+        }
+        if (shardRegistrationMessageConsumer != null) {
+            // the queues of the shard are registered by any instance from now on
+            releaseShard();
+            shardRegistrationMessageConsumer.unregister();
+        }
         consumersMessageConsumer.unregister(event -> uidMessageConsumer.unregister(event1 -> {
             unregisterConsumers(false);
             stoppedHandler = doneHandler;
@@ -966,7 +1844,7 @@ public class RedisQues extends AbstractVerticle {
                 }
                 refreshRegistration(queue, event -> {
                     // Make sure that I am still the registered consumer
-                    String consumerKey = consumersPrefix + queue;
+                    String consumerKey = queueKeys.consumerKey(queue);
                     if (log.isTraceEnabled()) {
                         log.trace("RedisQues unregister consumers get: " + consumerKey);
                     }
@@ -982,6 +1860,7 @@ public class RedisQues extends AbstractVerticle {
                         if (uid.equals(consumer)) {
                             log.debug("RedisQues remove consumer: " + uid);
                             myQueues.remove(queue);
+                            invalidateCachedConsumer(queue);
                         }
                     });
                 });
@@ -995,32 +1874,117 @@ public class RedisQues extends AbstractVerticle {
      */
     private void resetConsumers() {
         log.debug("RedisQues Resetting consumers");
+        if (consumerCache != null) {
+            consumerCache.clear();
+        }
+        if (consumerIndexEnabled) {
+            resetIndexedConsumers("0", 0);
+        } else {
+            resetScannedConsumers("0", 0);
+        }
+    }
+
+    /**
+     * Scans the keyspace for the consumer keys and unlinks every batch found.
+     */
+    private void resetScannedConsumers(String cursor, long resetCount) {
         String keysPattern = consumersPrefix + "*";
         if (log.isTraceEnabled()) {
-            log.trace("RedisQues reset consumers keys: " + keysPattern);
+            log.trace("RedisQues reset consumers scan: " + keysPattern + ", cursor: " + cursor);
         }
-        redisAPI.keys(keysPattern, keysResult -> {
-            if (keysResult.failed() || keysResult.result() == null) {
-                log.error("Unable to get redis keys of consumers", keysResult.cause());
-                return;
+        redisAPI.scan(Arrays.asList(cursor, "MATCH", keysPattern, "COUNT", String.valueOf(RESET_CONSUMERS_BATCH_SIZE)),
+                scanResult -> {
+                    if (scanResult.failed() || scanResult.result() == null) {
+                        log.error("Unable to scan redis keys of consumers after {} consumers were reset", resetCount,
+                                scanResult.cause());
+                        return;
+                    }
+                    String nextCursor = scanResult.result().get(0).toString();
+                    List<String> keys = new ArrayList<>();
+                    for (Response key : scanResult.result().get(1)) {
+                        keys.add(key.toString());
+                    }
+                    unlinkConsumers(keys, Collections.emptyList(), resetCount,
+                            count -> resetConsumersBatchDone(nextCursor, count, this::resetScannedConsumers));
+                });
+    }
+
+    /**
+     * Walks the set of the registered queues and unlinks the consumer keys of every batch, so the reset does not
+     * depend on the size of the keyspace. The walked queue names are removed from the set.
+     */
+    private void resetIndexedConsumers(String cursor, long resetCount) {
+        redisAPI.sscan(Arrays.asList(consumerIndexKey, cursor, "COUNT", String.valueOf(RESET_CONSUMERS_BATCH_SIZE)),
+                scanResult -> {
+                    if (scanResult.failed() || scanResult.result() == null) {
+                        log.error("Unable to scan the consumer index after {} consumers were reset", resetCount,
+                                scanResult.cause());
+                        return;
+                    }
+                    String nextCursor = scanResult.result().get(0).toString();
+                    List<String> queueNames = new ArrayList<>();
+                    List<String> keys = new ArrayList<>();
+                    for (Response queueName : scanResult.result().get(1)) {
+                        queueNames.add(queueName.toString());
+                        keys.add(queueKeys.consumerKey(queueName.toString()));
+                    }
+                    unlinkConsumers(keys, queueNames, resetCount,
+                            count -> resetConsumersBatchDone(nextCursor, count, this::resetIndexedConsumers));
+                });
+    }
+
+    private void resetConsumersBatchDone(String nextCursor, long resetCount, BiConsumer<String, Long> nextBatch) {
+        if ("0".equals(nextCursor)) {
+            log.info("Successfully reset {} consumers", resetCount);
+        } else {
+            log.debug("RedisQues Reset {} consumers so far", resetCount);
+            nextBatch.accept(nextCursor, resetCount);
+        }
+    }
+
+    /**
+     * Unlinks a batch of consumer keys and removes the given queue names from the consumer index. The memory of the
+     * unlinked keys is reclaimed by redis in the background.
+     */
+    private void unlinkConsumers(List<String> keys, List<String> indexedQueueNames, long resetCount,
+                                 Handler<Long> onDone) {
+        if (keys.isEmpty()) {
+            onDone.handle(resetCount);
+            return;
+        }
+        multiKeyCommand(redisAPI::unlink, keys, unlinkResult -> {
+            long count = resetCount;
+            if (unlinkResult.succeeded()) {
+                count += unlinkResult.result();
+            } else {
+                log.error("Unable to unlink redis keys of consumers", unlinkResult.cause());
             }
-            Response keys = keysResult.result();
-            if (keys == null || keys.size() == 0) {
-                log.debug("No consumers found to reset");
-                return;
+            if (!indexedQueueNames.isEmpty()) {
+                List<String> args = new ArrayList<>(indexedQueueNames.size() + 1);
+                args.add(consumerIndexKey);
+                args.addAll(indexedQueueNames);
+                redisAPI.srem(args, sremResult -> {
+                    if (sremResult.failed()) {
+                        log.warn("Unable to remove reset queues from the consumer index", sremResult.cause());
+                    }
+                });
             }
-            List<String> args = new ArrayList<>(keys.size());
-            for (Response response : keys) {
-                args.add(response.toString());
+            onDone.handle(count);
+        });
+    }
+
+    /**
+     * Adds the queue to the set of the registered queues when the consumer index is enabled. The queue name stays in
+     * the set when the registration expires, the next reset of the consumers removes it.
+     */
+    private void indexConsumer(String queueName) {
+        if (!consumerIndexEnabled) {
+            return;
+        }
+        redisAPI.sadd(Arrays.asList(consumerIndexKey, queueName), saddResult -> {
+            if (saddResult.failed()) {
+                log.warn("Unable to add queue '{}' to the consumer index", queueName, saddResult.cause());
             }
-            redisAPI.del(args, delManyResult -> {
-                if (delManyResult.succeeded()) {
-                    Long count = delManyResult.result().toLong();
-                    log.debug("Successfully reset " + count + " consumers");
-                } else {
-                    log.error("Unable to delete redis keys of consumers");
-                }
-            });
         });
     }
 
@@ -1028,13 +1992,36 @@ public class RedisQues extends AbstractVerticle {
         if (log.isDebugEnabled()) {
             log.debug("RedisQues Requested to consume queue " + queueName);
         }
+        if (atomicDequeueEnabled) {
+            consumeAtomically(queueName);
+            return;
+        }
+        if (uid.equals(getCachedConsumer(queueName))) {
+            // I recently was the registered consumer, refresh the registration only if it is still mine
+            expireOwnRegistration(queueName, expired -> {
+                if (expired) {
+                    consumeAsRegisteredConsumer(queueName);
+                } else {
+                    consumeIfRegistered(queueName);
+                }
+            });
+            return;
+        }
+        consumeIfRegistered(queueName);
+    }
+
+    private void consumeIfRegistered(final String queueName) {
         refreshRegistration(queueName, event -> {
             if (event.failed()) {
                 log.warn("Failed to refresh registration for queue '{}'.", queueName, event.cause());
                 // We should return here. See: "https://softwareengineering.stackexchange.com/a/190535"
             }
+            if (event.failed() || event.result() == null || event.result().toInteger() == 0) {
+                // the registration is gone
+                invalidateCachedConsumer(queueName);
+            }
             // Make sure that I am still the registered consumer
-            String consumerKey = consumersPrefix + queueName;
+            String consumerKey = queueKeys.consumerKey(queueName);
             if (log.isTraceEnabled()) {
                 log.trace("RedisQues consume get: " + consumerKey);
             }
@@ -1047,29 +2034,9 @@ public class RedisQues extends AbstractVerticle {
                 if (log.isTraceEnabled()) {
                     log.trace("RedisQues refresh registration consumer: " + consumer);
                 }
+                cacheConsumer(queueName, event1.result() != null ? consumer : null);
                 if (uid.equals(consumer)) {
-                    QueueState state = myQueues.get(queueName);
-                    if (log.isTraceEnabled()) {
-                        log.trace("RedisQues consumer: " + consumer + " queue: " + queueName + " state: " + state);
-                    }
-                    // Get the next message only once the previous has
-                    // been completely processed
-                    if (state != QueueState.CONSUMING) {
-                        myQueues.put(queueName, QueueState.CONSUMING);
-                        if (state == null) {
-                            // No previous state was stored. Maybe the
-                            // consumer was restarted
-                            log.warn("Received request to consume from a queue I did not know about: " + queueName);
-                        }
-                        if (log.isDebugEnabled()) {
-                            log.debug("RedisQues Starting to consume queue " + queueName);
-                        }
-                        readQueue(queueName);
-                    } else {
-                        if (log.isDebugEnabled()) {
-                            log.debug("RedisQues Queue " + queueName + " is already being consumed");
-                        }
-                    }
+                    consumeAsRegisteredConsumer(queueName);
                 } else {
                     // Somehow registration changed. Let's renotify.
                     log.warn("Registration for queue " + queueName + " has changed to " + consumer);
@@ -1080,6 +2047,153 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    private void consumeAsRegisteredConsumer(final String queueName) {
+        QueueState state = myQueues.get(queueName);
+        if (log.isTraceEnabled()) {
+            log.trace("RedisQues consumer: " + uid + " queue: " + queueName + " state: " + state);
+        }
+        // Get the next message only once the previous has
+        // been completely processed
+        if (state != QueueState.CONSUMING) {
+            myQueues.put(queueName, QueueState.CONSUMING);
+            if (state == null) {
+                // No previous state was stored. Maybe the
+                // consumer was restarted
+                log.warn("Received request to consume from a queue I did not know about: " + queueName);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues Starting to consume queue " + queueName);
+            }
+            readQueue(queueName);
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues Queue " + queueName + " is already being consumed");
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #consume(String)} and {@link #readQueue(String)} but the registration check, the lock check,
+     * the peek and the timestamp update are done by a single lua script. After successful processing the message
+     * is removed by a second script which also returns the remaining queue length. So a message costs two
+     * roundtrips to redis instead of up to seven.
+     */
+    private void consumeAtomically(final String queueName) {
+        QueueState state = myQueues.get(queueName);
+        if (state == QueueState.CONSUMING) {
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues Queue " + queueName + " is already being consumed");
+            }
+            return;
+        }
+        myQueues.put(queueName, QueueState.CONSUMING);
+        if (state == null) {
+            // No previous state was stored. Maybe the consumer was restarted
+            log.warn("Received request to consume from a queue I did not know about: " + queueName);
+        }
+        final String queueKey = queueKeys.queueKey(queueName);
+        final QueueConfiguration queueConfiguration = findQueueConfiguration(queueName);
+        final int prefetchCount = getPrefetchCount(queueConfiguration);
+        luaScriptManager.handleDequeuePeek(locksKey, queueKeys.consumerKey(queueName), queueKey, queuesKey, queueName,
+                uid, consumerLockTime, prefetchCount, peekResult -> {
+                    if (peekResult.failed() || peekResult.result() == null) {
+                        log.error("Failed to peek queue '{}'", queueName, peekResult.cause());
+                        myQueues.put(queueName, QueueState.READY);
+                        return;
+                    }
+                    Response response = peekResult.result();
+                    String status = response.get(0).toString();
+                    if (log.isTraceEnabled()) {
+                        log.trace("RedisQues dequeue peek result: " + status + " for queue: " + queueName);
+                    }
+                    switch (status) {
+                        case "ok":
+                            cacheConsumer(queueName, uid);
+                            List<QueueItem> items = new ArrayList<>(response.size() - 1);
+                            for (int i = 1; i < response.size(); i++) {
+                                items.add(new QueueItem(null, PayloadCompression.decompress(response.get(i).toBuffer())));
+                            }
+                            processItems(queueName, queueKey, items, queueConfiguration);
+                            break;
+                        case "notowner":
+                            // Somehow registration changed. Let's renotify.
+                            String consumer = response.size() > 1 ? response.get(1).toString() : null;
+                            log.warn("Registration for queue " + queueName + " has changed to " + consumer);
+                            myQueues.remove(queueName);
+                            cacheConsumer(queueName, consumer);
+                            notifyConsumer(queueName, consumer);
+                            break;
+                        case "locked":
+                            if (log.isDebugEnabled()) {
+                                log.debug("Got a request to consume from locked queue " + queueName);
+                            }
+                            myQueues.put(queueName, QueueState.READY);
+                            break;
+                        default:
+                            // This can happen when requests to consume happen at the same moment the queue is emptied.
+                            if (log.isDebugEnabled()) {
+                                log.debug("Got a request to consume from empty queue " + queueName);
+                            }
+                            myQueues.put(queueName, QueueState.READY);
+                    }
+                });
+    }
+
+    /**
+     * Removes the acknowledged messages from the head of the queue once the processor answered all messages of a
+     * read. Unacknowledged messages (and the ones behind them) are kept in the queue and retried later.
+     *
+     * @param items the items handed to the processor
+     * @param acked number of messages, counted from the head of the queue, the processor acknowledged
+     */
+    private void handleProcessedMessages(final String queueName, final String queueKey, List<QueueItem> items,
+                                         int acked) {
+        int count = items.size();
+        boolean success = acked == count;
+        // update the queue failure count and get a retry interval
+        int retryInterval = updateQueueFailureCountAndGetRetryInterval(queueName, success, count);
+        if (acked == 0) {
+            // Failed. Message will be kept in queue and retried later
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues Processing failed for queue " + queueName);
+                log.debug("RedisQues will re-send the message to queue '" + queueName + "' in " + retryInterval + " seconds");
+            }
+            rescheduleSendMessageAfterFailure(queueName, retryInterval);
+            return;
+        }
+        queueStorage.remove(queueKey, items.subList(0, acked), popResult -> {
+            if (popResult.failed()) {
+                log.error("Failed to pop from queue '{}'", queueName, popResult.cause());
+            }
+            updateQueueSizeIndex(queueName);
+            if (!success) {
+                if (log.isDebugEnabled()) {
+                    log.debug("RedisQues Processing failed for queue " + queueName + " after " + acked + " of " + count
+                            + " messages, will re-send the rest in " + retryInterval + " seconds");
+                }
+                rescheduleSendMessageAfterFailure(queueName, retryInterval);
+                return;
+            }
+            log.debug("RedisQues Message removed, queue " + queueName + " is ready again");
+            myQueues.put(queueName, QueueState.READY);
+            // Notify that we are stopped in case it was the last active consumer
+            if (stoppedHandler != null) {
+                unregisterConsumers(false);
+                if (myQueues.isEmpty()) {
+                    stoppedHandler.handle(null);
+                }
+            }
+            if (popResult.succeeded() && popResult.result() != null && popResult.result().toLong() > 0) {
+                if (atomicDequeueEnabled && stoppedHandler == null) {
+                    // We are still the registered consumer, so continue without a notification roundtrip
+                    consume(queueName);
+                } else {
+                    notifyConsumer(queueName);
+                }
+            }
+        });
+    }
+
     private Future<Boolean> isQueueLocked(final String queue) {
         Promise<Boolean> promise = Promise.promise();
         redisAPI.hexists(locksKey, queue, event -> {
@@ -1101,10 +2215,7 @@ public class RedisQues extends AbstractVerticle {
         if (log.isTraceEnabled()) {
             log.trace("RedisQues read queue: " + queueName);
         }
-        String queueKey = queuesPrefix + queueName;
-        if (log.isTraceEnabled()) {
-            log.trace("RedisQues read queue lindex: " + queueKey);
-        }
+        String queueKey = queueKeys.queueKey(queueName);
 
         isQueueLocked(queueName).onComplete(lockAnswer -> {
             if (lockAnswer.failed()) {
@@ -1112,68 +2223,10 @@ public class RedisQues extends AbstractVerticle {
                 // We should return here. See: "https://softwareengineering.stackexchange.com/a/190535"
             }
             boolean locked = lockAnswer.result();
+            QueueConfiguration queueConfiguration = locked ? null : findQueueConfiguration(queueName);
+            int prefetchCount = getPrefetchCount(queueConfiguration);
             if (!locked) {
-                redisAPI.lindex(queueKey, "0", answer -> {
-                    if (answer.failed()) {
-                        log.error("Failed to peek queue '{}'", queueName, answer.cause());
-                        // We should return here. See: "https://softwareengineering.stackexchange.com/a/190535"
-                    }
-                    if (log.isTraceEnabled()) {
-                        log.trace("RedisQues read queue lindex result: " + answer.result());
-                    }
-                    if (answer.result() != null) {
-                        processMessageWithTimeout(queueName, answer.result().toString(), success -> {
-
-                            // update the queue failure count and get a retry interval
-                            int retryInterval = updateQueueFailureCountAndGetRetryInterval(queueName, success);
-
-                            if (success) {
-                                // Remove the processed message from the queue
-                                if (log.isTraceEnabled()) {
-                                    log.trace("RedisQues read queue lpop: " + queueKey);
-                                }
-                                redisAPI.lpop(Collections.singletonList(queueKey), jsonAnswer -> {
-                                    if (jsonAnswer.failed()) {
-                                        log.error("Failed to pop from queue '{}'", queueName, jsonAnswer.cause());
-                                        // We should return here. See: "https://softwareengineering.stackexchange.com/a/190535"
-                                    }
-                                    log.debug("RedisQues Message removed, queue " + queueName + " is ready again");
-                                    myQueues.put(queueName, QueueState.READY);
-                                    // Notify that we are stopped in case it was the last active consumer
-                                    if (stoppedHandler != null) {
-                                        unregisterConsumers(false);
-                                        if (myQueues.isEmpty()) {
-                                            stoppedHandler.handle(null);
-                                        }
-                                    }
-                                    // Issue notification to consume next message if any
-                                    if (log.isTraceEnabled()) {
-                                        log.trace("RedisQues read queue: " + queueKey);
-                                    }
-                                    redisAPI.llen(queueKey, answer1 -> {
-                                        if (answer1.succeeded() && answer1.result() != null && answer1.result().toInteger() > 0) {
-                                            notifyConsumer(queueName);
-                                        }
-                                    });
-                                });
-                            } else {
-                                // Failed. Message will be kept in queue and retried later
-                                if (log.isDebugEnabled()) {
-                                    log.debug("RedisQues Processing failed for queue " + queueName);
-                                    // reschedule
-                                    log.debug("RedisQues will re-send the message to queue '" + queueName + "' in " + retryInterval + " seconds");
-                                }
-                                rescheduleSendMessageAfterFailure(queueName, retryInterval);
-                            }
-                        });
-                    } else {
-                        // This can happen when requests to consume happen at the same moment the queue is emptied.
-                        if (log.isDebugEnabled()) {
-                            log.debug("Got a request to consume from empty queue " + queueName);
-                        }
-                        myQueues.put(queueName, QueueState.READY);
-                    }
-                });
+                readQueueItems(queueName, queueKey, prefetchCount, queueConfiguration);
             } else {
                 if (log.isDebugEnabled()) {
                     log.debug("Got a request to consume from locked queue " + queueName);
@@ -1183,6 +2236,56 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    /**
+     * Reads up to <code>prefetchCount</code> messages from the head of the queue and hands them to the processor.
+     * See {@link QueueConfiguration#getPrefetchCount()}.
+     */
+    private void readQueueItems(final String queueName, final String queueKey, int prefetchCount,
+                                QueueConfiguration queueConfiguration) {
+        if (log.isTraceEnabled()) {
+            log.trace("RedisQues read queue: " + queueKey + " count: " + prefetchCount);
+        }
+        queueStorage.read(queueKey, prefetchCount, answer -> {
+            if (answer.failed()) {
+                log.error("Failed to peek queue '{}'", queueName, answer.cause());
+                myQueues.put(queueName, QueueState.READY);
+                return;
+            }
+            List<QueueItem> items = answer.result();
+            if (items.isEmpty()) {
+                // This can happen when requests to consume happen at the same moment the queue is emptied.
+                if (log.isDebugEnabled()) {
+                    log.debug("Got a request to consume from empty queue " + queueName);
+                }
+                myQueues.put(queueName, QueueState.READY);
+                return;
+            }
+            processItems(queueName, queueKey, items, queueConfiguration);
+        });
+    }
+
+    /**
+     * Hands the items read from the head of the queue to the processor, one by one or as a batch when a prefetch
+     * is configured, and removes the processed items afterwards.
+     */
+    private void processItems(final String queueName, final String queueKey, List<QueueItem> items,
+                              QueueConfiguration queueConfiguration) {
+        if (getPrefetchCount(queueConfiguration) > 1) {
+            processMessagesWithTimeout(queueName, items, queueConfiguration,
+                    acked -> handleProcessedMessages(queueName, queueKey, items, acked));
+        } else {
+            processMessageWithTimeout(queueName, items.get(0),
+                    success -> handleProcessedMessages(queueName, queueKey, items, success ? 1 : 0));
+        }
+    }
+
+    private int getPrefetchCount(QueueConfiguration queueConfiguration) {
+        if (queueConfiguration == null || queueConfiguration.getPrefetchCount() < 1) {
+            return 1;
+        }
+        return queueConfiguration.getPrefetchCount();
+    }
+
     private void rescheduleSendMessageAfterFailure(final String queueName, int retryInSeconds) {
         if (log.isTraceEnabled()) {
             log.trace("RedsQues reschedule after failure for queue: " + queueName);
@@ -1199,7 +2302,7 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
-    private void processMessageWithTimeout(final String queue, final String payload, final Handler<Boolean> handler) {
+    private void processMessageWithTimeout(final String queue, final QueueItem item, final Handler<Boolean> handler) {
         if (processorDelayMax > 0) {
             log.info("About to process message for queue " + queue + " with a maximum delay of " + processorDelayMax + "ms");
         }
@@ -1209,36 +2312,153 @@ public class RedisQues extends AbstractVerticle {
                 // TODO: May we should call handler with failed state now.
                 return;
             }
-            final EventBus eb = vertx.eventBus();
-            JsonObject message = new JsonObject();
-            message.put("queue", queue);
-            message.put(PAYLOAD, payload);
-            if (log.isTraceEnabled()) {
-                log.trace("RedisQues process message: " + message + " for queue: " + queue + " send it to processor: " + processorAddress);
+            // send the message to the consumer
+            sendToProcessor(queue, processorMessage(queue, item), handler);
+            if (!atomicDequeueEnabled) {
+                // the dequeue peek script already did this
+                updateTimestamp(queue, null);
             }
+        });
+    }
 
-            // send the message to the consumer
-            DeliveryOptions options = new DeliveryOptions().setSendTimeout(processorTimeout);
-            eb.request(processorAddress, message, options, (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
-                boolean success;
-                if (reply.succeeded()) {
-                    success = OK.equals(reply.result().body().getString(STATUS));
-                } else {
-                    log.info("RedisQues QUEUE_ERROR: Consumer failed " + uid + " queue: " + queue + " (" + reply.cause().getMessage() + ")");
-                    success = Boolean.FALSE;
+    /**
+     * Hands several messages of a queue to the processor, either as one message containing all payloads or as one
+     * message per payload sent in queue order without waiting for the previous answer. With a partition key, the
+     * messages of a partition wait for the answer of the previous one, see {@link PartitionedDispatch}.
+     *
+     * @param handler gets the number of messages, counted from the first one, the processor acknowledged
+     */
+    private void processMessagesWithTimeout(final String queue, final List<QueueItem> items,
+                                            QueueConfiguration queueConfiguration, final Handler<Integer> handler) {
+        final boolean batch = queueConfiguration.getPrefetchBatch();
+        final String partitionKey = queueConfiguration.getPartitionKey();
+        if (processorDelayMax > 0) {
+            log.info("About to process " + items.size() + " messages for queue " + queue + " with a maximum delay of " + processorDelayMax + "ms");
+        }
+        timer.executeDelayedMax(processorDelayMax).onComplete(delayed -> {
+            if (delayed.failed()) {
+                log.error("Delayed execution has failed.", delayed.cause());
+                return;
+            }
+            if (batch) {
+                sendToProcessor(queue, processorBatchMessage(queue, items),
+                        success -> handler.handle(success ? items.size() : 0));
+            } else if (partitionKey != null) {
+                List<String> partitions = new ArrayList<>(items.size());
+                for (QueueItem item : items) {
+                    partitions.add(PartitionKey.of(item.getPayload(), partitionKey));
                 }
-                handler.handle(success);
-            });
-            updateTimestamp(queue, null);
+                int concurrency = queueConfiguration.getPartitionConcurrency() > 0
+                        ? queueConfiguration.getPartitionConcurrency() : items.size();
+                new PartitionedDispatch(partitions, concurrency,
+                        (position, sent) -> sendToProcessor(queue, processorMessage(queue, items.get(position)), sent),
+                        handler).start();
+            } else {
+                final boolean[] results = new boolean[items.size()];
+                final AtomicInteger pending = new AtomicInteger(items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    final int index = i;
+                    sendToProcessor(queue, processorMessage(queue, items.get(i)), success -> {
+                        results[index] = success;
+                        if (pending.decrementAndGet() == 0) {
+                            int acked = 0;
+                            while (acked < results.length && results[acked]) {
+                                acked++;
+                            }
+                            handler.handle(acked);
+                        }
+                    });
+                }
+            }
+            if (!atomicDequeueEnabled) {
+                // the dequeue peek script already did this
+                updateTimestamp(queue, null);
+            }
+        });
+    }
+
+    /**
+     * @return the message handing the item to the processor, a {@link QueueMessage} when binary payloads are enabled
+     */
+    private Object processorMessage(String queue, QueueItem item) {
+        if (binaryPayloadsEnabled) {
+            return new QueueMessage(queue, item.getPayloadBuffer());
+        }
+        JsonObject message = new JsonObject();
+        message.put("queue", queue);
+        message.put(PAYLOAD, item.getPayload());
+        return message;
+    }
+
+    /**
+     * @return the message handing all items to the processor at once, a {@link QueueMessage} when binary payloads
+     * are enabled
+     */
+    private Object processorBatchMessage(String queue, List<QueueItem> items) {
+        if (binaryPayloadsEnabled) {
+            List<Buffer> payloads = new ArrayList<>(items.size());
+            for (QueueItem item : items) {
+                payloads.add(item.getPayloadBuffer());
+            }
+            return new QueueMessage(queue, payloads);
+        }
+        JsonArray payloads = new JsonArray();
+        for (QueueItem item : items) {
+            payloads.add(item.getPayload());
+        }
+        JsonObject message = new JsonObject();
+        message.put("queue", queue);
+        message.put(PAYLOADS, payloads);
+        return message;
+    }
+
+    private void sendToProcessor(final String queue, final Object message, final Handler<Boolean> handler) {
+        if (log.isTraceEnabled()) {
+            log.trace("RedisQues process message: " + message + " for queue: " + queue + " send it to processor: " + processorAddress);
+        }
+        DeliveryOptions options = new DeliveryOptions().setSendTimeout(processorTimeout);
+        final long start = System.nanoTime();
+        vertx.eventBus().request(processorAddress, message, options, (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+            boolean success;
+            if (reply.succeeded()) {
+                success = OK.equals(reply.result().body().getString(STATUS));
+            } else {
+                log.info("RedisQues QUEUE_ERROR: Consumer failed " + uid + " queue: " + queue + " (" + reply.cause().getMessage() + ")");
+                success = Boolean.FALSE;
+            }
+            if (metrics != null) {
+                metrics.recordProcessorRoundTrip(success, System.nanoTime() - start);
+            }
+            handler.handle(success);
         });
     }
 
     private void notifyConsumer(final String queueName) {
         log.debug("RedisQues Notifying consumer of queue " + queueName);
-        final EventBus eb = vertx.eventBus();
 
+        String cachedConsumer = getCachedConsumer(queueName);
+        if (uid.equals(cachedConsumer)) {
+            // a stale entry would make me consume a queue registered to another instance
+            expireOwnRegistration(queueName, expired -> {
+                if (expired) {
+                    notifyConsumer(queueName, uid);
+                } else {
+                    findAndNotifyConsumer(queueName);
+                }
+            });
+            return;
+        }
+        if (cachedConsumer != null) {
+            // a stale entry is corrected by the notified instance, which checks its registration
+            notifyConsumer(queueName, cachedConsumer);
+            return;
+        }
+        findAndNotifyConsumer(queueName);
+    }
+
+    private void findAndNotifyConsumer(final String queueName) {
         // Find the consumer to notify
-        String key = consumersPrefix + queueName;
+        String key = queueKeys.consumerKey(queueName);
         if (log.isTraceEnabled()) {
             log.trace("RedisQues notify consumer get: " + key);
         }
@@ -1251,25 +2471,90 @@ public class RedisQues extends AbstractVerticle {
             if (log.isTraceEnabled()) {
                 log.trace("RedisQues got consumer: " + consumer);
             }
-            if (consumer == null) {
-                // No consumer for this queue, let's make a peer become consumer
+            if (event.succeeded()) {
+                cacheConsumer(queueName, consumer);
+            }
+            notifyConsumer(queueName, consumer);
+        });
+    }
+
+    /**
+     * Notifies the given consumer of a queue or, when there is none, asks a peer to become the consumer.
+     *
+     * @param consumer the consumer of the queue or <code>null</code>
+     */
+    private void notifyConsumer(final String queueName, final String consumer) {
+        final EventBus eb = vertx.eventBus();
+        if (consumer == null) {
+            // No consumer for this queue, let's make a peer become consumer
+            String owner = consistentHashOwnershipEnabled ? ownershipRing.owner(queueName) : null;
+            if (owner != null) {
+                // Only the owner according to the ownership ring is asked to register
+                if (log.isDebugEnabled()) {
+                    log.debug("RedisQues Sending registration request for queue " + queueName + " to owner " + owner);
+                }
+                eb.send(buildOwnerRegistrationAddress(owner), queueName);
+            } else if (shardCount > 1 && hasShardOwner(shardOf(queueName, shardCount))) {
+                // Only the instance of the shard of the queue is asked to register
+                int queueShard = shardOf(queueName, shardCount);
+                if (log.isDebugEnabled()) {
+                    log.debug("RedisQues Sending registration request for queue " + queueName + " to shard " + queueShard);
+                }
+                eb.send(buildShardRegistrationAddress(queueShard), queueName);
+            } else {
                 if (log.isDebugEnabled()) {
                     log.debug("RedisQues Sending registration request for queue " + queueName);
                 }
                 eb.send(address + "-consumers", queueName);
+            }
+        } else {
+            // Notify the registered consumer
+            log.debug("RedisQues Notifying consumer " + consumer + " to consume queue " + queueName);
+            eb.send(consumer, queueName);
+        }
+    }
+
+    /**
+     * Extends the registration expiry of the queue if it is still registered to me. Otherwise the cached consumer of
+     * the queue is invalidated.
+     *
+     * @param handler gets <code>true</code> when the registration is mine and was extended
+     */
+    private void expireOwnRegistration(final String queueName, final Handler<Boolean> handler) {
+        luaScriptManager.handleExpireConsumer(queueKeys.consumerKey(queueName), uid, consumerLockTime, event -> {
+            if (event.succeeded() && event.result() != null && event.result().toLong() == 1) {
+                handler.handle(true);
             } else {
-                // Notify the registered consumer
-                log.debug("RedisQues Notifying consumer " + consumer + " to consume queue " + queueName);
-                eb.send(consumer, queueName);
+                if (event.failed()) {
+                    log.warn("Failed to refresh the registration of queue '{}'", queueName, event.cause());
+                }
+                invalidateCachedConsumer(queueName);
+                handler.handle(false);
             }
         });
     }
 
+    private String getCachedConsumer(String queueName) {
+        return consumerCache != null ? consumerCache.get(queueName) : null;
+    }
+
+    private void cacheConsumer(String queueName, String consumer) {
+        if (consumerCache != null) {
+            consumerCache.put(queueName, consumer);
+        }
+    }
+
+    private void invalidateCachedConsumer(String queueName) {
+        if (consumerCache != null) {
+            consumerCache.invalidate(queueName);
+        }
+    }
+
     private void refreshRegistration(String queueName, Handler<AsyncResult<Response>> handler) {
         if (log.isDebugEnabled()) {
             log.debug("RedisQues Refreshing registration of queue " + queueName + ", expire in " + consumerLockTime + " s");
         }
-        String consumerKey = consumersPrefix + queueName;
+        String consumerKey = queueKeys.consumerKey(queueName);
         if (handler == null) {
             redisAPI.expire(consumerKey, String.valueOf(consumerLockTime));
         } else {
@@ -1301,6 +2586,10 @@ public class RedisQues extends AbstractVerticle {
      * This uses a sorted set of queue names scored by last update timestamp.
      */
     private void checkQueues() {
+        if (incrementalCheckEnabled) {
+            checkQueuesIncrementally();
+            return;
+        }
         log.debug("Checking queues timestamps");
         // List all queues that look inactive (i.e. that have not been updated since 3 periods).
         final long limit = System.currentTimeMillis() - 3 * refreshPeriod * 1000;
@@ -1317,7 +2606,7 @@ public class RedisQues extends AbstractVerticle {
             for (Response queueObject : queues) {
                 // Check if the inactive queue is not empty (i.e. the key exists)
                 final String queueName = queueObject.toString();
-                String key = queuesPrefix + queueName;
+                String key = queueKeys.queueKey(queueName);
                 if (log.isTraceEnabled()) {
                     log.trace("RedisQues update queue: " + key);
                 }
@@ -1358,6 +2647,58 @@ public class RedisQues extends AbstractVerticle {
         });
     }
 
+    /**
+     * Same as {@link #checkQueues()} but the inactive queues are checked in pages of {@link #checkPageSize} queues,
+     * each page by a single lua script call. The pages are spread over half of the check interval so the check is
+     * done before the next one starts.
+     */
+    private void checkQueuesIncrementally() {
+        log.debug("Checking queues timestamps incrementally");
+        // Count all queues that look inactive (i.e. that have not been updated since 3 periods).
+        final long limit = System.currentTimeMillis() - 3 * refreshPeriod * 1000;
+        redisAPI.zcount(queuesKey, "-inf", String.valueOf(limit), countResult -> {
+            if (countResult.failed() || countResult.result() == null) {
+                log.error("RedisQues is unable to count the inactive queues", countResult.cause());
+                return;
+            }
+            long count = countResult.result().toLong();
+            if (count == 0) {
+                log.debug("No inactive queues to check");
+                return;
+            }
+            long pages = (count + checkPageSize - 1) / checkPageSize;
+            long pageDelayMillis = Math.max(1, checkInterval * 1000L / 2 / pages);
+            if (log.isDebugEnabled()) {
+                log.debug("RedisQues check " + count + " inactive queues in " + pages + " pages every " + pageDelayMillis + " ms");
+            }
+            checkQueuesPage(limit, pages, pageDelayMillis);
+        });
+    }
+
+    private void checkQueuesPage(final long limit, final long pagesLeft, final long pageDelayMillis) {
+        luaScriptManager.handleCheckQueuesPage(queuesKey, queuesPrefix, consumersPrefix, limit, checkPageSize,
+                consumerLockTime, checkResult -> {
+                    if (checkResult.failed() || checkResult.result() == null) {
+                        log.error("RedisQues is unable to check a page of inactive queues", checkResult.cause());
+                        return;
+                    }
+                    Response notEmptyQueues = checkResult.result().get(0);
+                    Response removedQueues = checkResult.result().get(1);
+                    for (Response queue : notEmptyQueues) {
+                        // trigger the consumer of the not empty queue
+                        notifyConsumer(queue.toString());
+                    }
+                    for (Response queue : removedQueues) {
+                        queueStatisticsCollector.resetQueueFailureStatistics(queue.toString());
+                    }
+                    if (notEmptyQueues.size() + removedQueues.size() < checkPageSize || pagesLeft <= 1) {
+                        log.debug("RedisQues finished checking the inactive queues");
+                        return;
+                    }
+                    vertx.setTimer(pageDelayMillis, timer -> checkQueuesPage(limit, pagesLeft - 1, pageDelayMillis));
+                });
+    }
+
     private static JsonObject createOkReply() {
         return new JsonObject().put(STATUS, OK);
     }
@@ -1400,12 +2741,7 @@ public class RedisQues extends AbstractVerticle {
      * @return null when no queueConfiguration's RegEx matches given queueName - else the QueueConfiguration
      */
     private QueueConfiguration findQueueConfiguration(String queueName) {
-        for (QueueConfiguration queueConfiguration : queueConfigurations) {
-            if (queueConfiguration.compiledPattern().matcher(queueName).matches()) {
-                return queueConfiguration;
-            }
-        }
-        return null;
+        return queueConfigurationResolver.resolve(queueName);
     }
 
     /**
@@ -1413,7 +2749,7 @@ public class RedisQues extends AbstractVerticle {
      */
     private void getQueueItemsCount(Message<JsonObject> event) {
         String queue = event.body().getJsonObject(PAYLOAD).getString(QUEUENAME);
-        redisAPI.llen(queuesPrefix + queue, new GetQueueItemsCountHandler(event));
+        queueStorage.length(queueKeys.queueKey(queue), new GetQueueItemsCountHandler(event));
     }
 
     /**
@@ -1428,14 +2764,140 @@ public class RedisQues extends AbstractVerticle {
      * Retrieve the size of the queues matching the given filter pattern
      */
     private void getQueuesItemsCount(Message<JsonObject> event, Result<Optional<Pattern>, String> filterPatternResult) {
+        Result<Optional<Integer>, String> limitResult = MessageUtil.extractPageLimit(event);
         if (filterPatternResult.isErr()) {
             event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT)
                     .put(MESSAGE, filterPatternResult.getErr()));
+        } else if (limitResult.isErr()) {
+            event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, limitResult.getErr()));
+        } else if (limitResult.getOk().isPresent()) {
+            final List<String> names = new ArrayList<>();
+            final List<Long> sizes = new ArrayList<>();
+            scanQueuesPage(extractCursor(event), limitResult.getOk().get(), filterPatternResult.getOk(), names, sizes)
+                    .onComplete(scanResult -> {
+                        if (scanResult.failed()) {
+                            log.error("Unable to scan the queues", scanResult.cause());
+                            event.reply(createErrorReply());
+                            return;
+                        }
+                        JsonArray queues = new JsonArray();
+                        for (int i = 0; i < names.size(); i++) {
+                            queues.add(new JsonObject()
+                                    .put(MONITOR_QUEUE_NAME, names.get(i))
+                                    .put(MONITOR_QUEUE_SIZE, sizes.get(i)));
+                        }
+                        JsonObject reply = createOkReply().put(QUEUES, queues);
+                        if (scanResult.result() != null) {
+                            reply.put(CURSOR, scanResult.result());
+                        }
+                        event.reply(reply);
+                    });
         } else {
             redisAPI.zrangebyscore(List.of(queuesKey, String.valueOf(getMaxAgeTimestamp()), "+inf"),
                     new GetQueuesItemsCountHandler(event, filterPatternResult.getOk(), luaScriptManager,
-                            queuesPrefix));
+                            queueKeys));
+        }
+    }
+
+    /**
+     * Retrieve the largest not empty queues with their size, the largest queue first. The queues are read from the
+     * queue sizes index, so no queue has to be looked at which is not part of the result.
+     */
+    private void getLargestQueues(Message<JsonObject> event) {
+        if (!queueSizeIndexEnabled) {
+            event.reply(createErrorReply().put(MESSAGE, "The queue size index is not enabled"));
+            return;
+        }
+        Result<Optional<Integer>, String> limitResult = MessageUtil.extractPageLimit(event);
+        if (limitResult.isErr()) {
+            event.reply(createErrorReply().put(ERROR_TYPE, BAD_INPUT).put(MESSAGE, limitResult.getErr()));
+            return;
+        }
+        String stop = limitResult.getOk().map(limit -> String.valueOf(limit - 1)).orElse("-1");
+        redisAPI.zrevrange(Arrays.asList(sizesKey, "0", stop, "WITHSCORES"), rangeResult -> {
+            if (rangeResult.failed() || rangeResult.result() == null) {
+                log.error("Unable to get the largest queues", rangeResult.cause());
+                event.reply(createErrorReply());
+                return;
+            }
+            Response range = rangeResult.result();
+            JsonArray queues = new JsonArray();
+            for (int i = 0; i < range.size(); i++) {
+                Response entry = range.get(i);
+                // RESP3 replies pair the member with its score, RESP2 replies are flat
+                if (entry.type() == ResponseType.MULTI) {
+                    queues.add(new JsonObject()
+                            .put(MONITOR_QUEUE_NAME, entry.get(0).toString())
+                            .put(MONITOR_QUEUE_SIZE, entry.get(1).toLong()));
+                } else {
+                    queues.add(new JsonObject()
+                            .put(MONITOR_QUEUE_NAME, entry.toString())
+                            .put(MONITOR_QUEUE_SIZE, range.get(++i).toLong()));
+                }
+            }
+            event.reply(createOkReply().put(QUEUES, queues));
+        });
+    }
+
+    /**
+     * Updates the entry of the given queue in the queue sizes index to the current length of the queue. Does nothing
+     * when the queue sizes index is disabled.
+     */
+    private void updateQueueSizeIndex(String queueName) {
+        updateQueueSizeIndex(Collections.singletonList(queueName));
+    }
+
+    private void updateQueueSizeIndex(Collection<String> queueNames) {
+        if (!queueSizeIndexEnabled || queueNames.isEmpty()) {
+            return;
         }
+        luaScriptManager.handleUpdateQueueSizes(sizesKey, queuesPrefix, queueNames, updateResult -> {
+            if (updateResult.failed()) {
+                log.warn("Failed to update the size index of the queues {}", queueNames, updateResult.cause());
+            }
+        });
+    }
+
+    /**
+     * Brings the queue sizes index in line with the queues, in chunks. First the known queues are scanned to add the
+     * queues enqueued to while the index was disabled. Then the index itself is scanned to remove the queues emptied
+     * meanwhile.
+     */
+    private void rebuildQueueSizeIndex() {
+        rebuildQueueSizeIndex(queuesKey, "0", queuesDone -> rebuildQueueSizeIndex(sizesKey, "0",
+                indexDone -> log.info("RedisQues rebuilt the queue sizes index")));
+    }
+
+    private void rebuildQueueSizeIndex(String scannedKey, String cursor, Handler<Void> doneHandler) {
+        luaScriptManager.handleScanQueues(scannedKey, cursor, multiListLengthChunkSize, 0, null, scanResult -> {
+            if (scanResult.failed() || scanResult.result() == null) {
+                log.warn("Failed to scan '{}' while rebuilding the queue sizes index", scannedKey, scanResult.cause());
+                return;
+            }
+            final String nextCursor = scanResult.result().get(0).toString();
+            List<String> names = new ArrayList<>();
+            for (Response name : scanResult.result().get(1)) {
+                names.add(name.toString());
+            }
+            Handler<Void> continueScan = nothing -> {
+                if ("0".equals(nextCursor)) {
+                    doneHandler.handle(null);
+                } else {
+                    rebuildQueueSizeIndex(scannedKey, nextCursor, doneHandler);
+                }
+            };
+            if (names.isEmpty()) {
+                continueScan.handle(null);
+                return;
+            }
+            luaScriptManager.handleUpdateQueueSizes(sizesKey, queuesPrefix, names, updateResult -> {
+                if (updateResult.failed()) {
+                    log.warn("Failed to update the queue sizes index while rebuilding it", updateResult.cause());
+                    return;
+                }
+                continueScan.handle(null);
+            });
+        });
     }
 
     /**
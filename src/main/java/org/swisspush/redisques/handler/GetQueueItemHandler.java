@@ -6,6 +6,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonObject;
 import io.vertx.redis.client.Response;
+import org.swisspush.redisques.util.PayloadCompression;
 
 /**
  * Class GetQueueItemHandler.
@@ -22,7 +23,7 @@ public class GetQueueItemHandler implements Handler<AsyncResult<Response>> {
     @Override
     public void handle(AsyncResult<Response> reply) {
         if (reply.succeeded() && reply.result() != null) {
-            event.reply(new JsonObject().put(STATUS, OK).put(VALUE, reply.result().toString()));
+            event.reply(new JsonObject().put(STATUS, OK).put(VALUE, PayloadCompression.decompress(reply.result().toBuffer()).toString()));
         } else {
             event.reply(new JsonObject().put(STATUS, ERROR));
         }
@@ -9,6 +9,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonObject;
 import io.vertx.redis.client.Response;
+import org.swisspush.redisques.util.PayloadCompression;
 
 /**
  * Class GetQueueItemsHandler.
@@ -35,7 +36,7 @@ public class GetQueueItemsHandler implements Handler<AsyncResult<Response>> {
             countInfo.add(queueItemCount);
             JsonArray values = new JsonArray();
             for (Response res : result) {
-                values.add(res.toString());
+                values.add(PayloadCompression.decompress(res.toBuffer()).toString());
             }
             event.reply(new JsonObject().put(STATUS, OK).put(VALUE, values).put(INFO, countInfo));
         } else {
@@ -11,9 +11,9 @@ import io.vertx.redis.client.Response;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.swisspush.redisques.lua.LuaScriptManager;
 import org.swisspush.redisques.util.QueueHandlerUtil;
+import org.swisspush.redisques.util.QueueKeys;
 import org.swisspush.redisques.util.RedisquesAPI;
 
 import static org.swisspush.redisques.util.RedisquesAPI.*;
@@ -25,17 +25,17 @@ public class GetQueuesItemsCountHandler implements Handler<AsyncResult<Response>
     private final Message<JsonObject> event;
     private final Optional<Pattern> filterPattern;
     private final LuaScriptManager luaScriptManager;
-    private final String queuesPrefix;
+    private final QueueKeys queueKeys;
 
     public GetQueuesItemsCountHandler(
             Message<JsonObject> event,
             Optional<Pattern> filterPattern,
             LuaScriptManager luaScriptManager,
-            String queuesPrefix) {
+            QueueKeys queueKeys) {
         this.event = event;
         this.filterPattern = filterPattern;
         this.luaScriptManager = luaScriptManager;
-        this.queuesPrefix = queuesPrefix;
+        this.queueKeys = queueKeys;
     }
 
     @Override
@@ -48,17 +48,16 @@ public class GetQueuesItemsCountHandler implements Handler<AsyncResult<Response>
                 event.reply(new JsonObject().put(STATUS, OK).put(QUEUES, new JsonArray()));
                 return;
             }
-            List<String> keys = queues.stream().map(queue -> queuesPrefix + queue)
-                .collect(Collectors.toList());
+            List<String> keys = queueKeys.queueKeys(queues);
             luaScriptManager.handleMultiListLength(keys, multiListLength -> {
                 if (multiListLength==null) {
                     log.error("Unexepected queue MultiListLength result null");
                     event.reply(new JsonObject().put(STATUS, ERROR));
                     return;
                 }
-                if (multiListLength.size()!=queues.size()) {
+                if (multiListLength.length!=queues.size()) {
                     log.error("Unexpected queue MultiListLength result with unequal size {} : {}",
-                        queues.size(), multiListLength.size());
+                        queues.size(), multiListLength.length);
                     event.reply(new JsonObject().put(STATUS, ERROR));
                     return;
                 }
@@ -67,7 +66,7 @@ public class GetQueuesItemsCountHandler implements Handler<AsyncResult<Response>
                     String queueName = queues.get(i);
                     result.add(new JsonObject()
                         .put(MONITOR_QUEUE_NAME, queueName)
-                        .put(MONITOR_QUEUE_SIZE, multiListLength.get(i)));
+                        .put(MONITOR_QUEUE_SIZE, multiListLength[i]));
                 }
                 event.reply(new JsonObject().put(RedisquesAPI.STATUS, RedisquesAPI.OK)
                     .put(QUEUES, result));
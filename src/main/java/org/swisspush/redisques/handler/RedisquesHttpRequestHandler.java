@@ -6,20 +6,25 @@ import static org.swisspush.redisques.util.HttpServerRequestUtil.evaluateUrlPara
 import static org.swisspush.redisques.util.HttpServerRequestUtil.extractNonEmptyJsonArrayFromBody;
 import static org.swisspush.redisques.util.RedisquesAPI.BAD_INPUT;
 import static org.swisspush.redisques.util.RedisquesAPI.COUNT;
+import static org.swisspush.redisques.util.RedisquesAPI.CURSOR;
 import static org.swisspush.redisques.util.RedisquesAPI.ERROR_TYPE;
 import static org.swisspush.redisques.util.RedisquesAPI.FILTER;
 import static org.swisspush.redisques.util.RedisquesAPI.LIMIT;
 import static org.swisspush.redisques.util.RedisquesAPI.LOCKS;
 import static org.swisspush.redisques.util.RedisquesAPI.MESSAGE;
+import static org.swisspush.redisques.util.RedisquesAPI.MESSAGES;
 import static org.swisspush.redisques.util.RedisquesAPI.MONITOR_QUEUE_SIZE;
 import static org.swisspush.redisques.util.RedisquesAPI.NO_SUCH_LOCK;
 import static org.swisspush.redisques.util.RedisquesAPI.OK;
+import static org.swisspush.redisques.util.RedisquesAPI.QUEUENAME;
 import static org.swisspush.redisques.util.RedisquesAPI.QUEUES;
 import static org.swisspush.redisques.util.RedisquesAPI.STATUS;
 import static org.swisspush.redisques.util.RedisquesAPI.VALUE;
 import static org.swisspush.redisques.util.RedisquesAPI.buildAddQueueItemOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildBulkDeleteLocksOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildBulkDeleteQueuesOperation;
+import static org.swisspush.redisques.util.RedisquesAPI.buildBulkEnqueueMessage;
+import static org.swisspush.redisques.util.RedisquesAPI.buildBulkEnqueueOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildBulkPutLocksOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildDeleteAllLocksOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildDeleteAllQueueItemsOperation;
@@ -28,6 +33,7 @@ import static org.swisspush.redisques.util.RedisquesAPI.buildDeleteQueueItemOper
 import static org.swisspush.redisques.util.RedisquesAPI.buildEnqueueOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildGetAllLocksOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildGetConfigurationOperation;
+import static org.swisspush.redisques.util.RedisquesAPI.buildGetLargestQueuesOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildGetLockOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildGetQueueItemOperation;
 import static org.swisspush.redisques.util.RedisquesAPI.buildGetQueueItemsCountOperation;
@@ -63,6 +69,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.swisspush.redisques.util.RedisquesAPI;
+import org.swisspush.redisques.metrics.RedisquesMetrics;
 import org.swisspush.redisques.util.RedisquesConfiguration;
 import org.swisspush.redisques.util.Result;
 import org.swisspush.redisques.util.StatusCode;
@@ -81,23 +88,34 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
     private EventBus eventBus;
 
     private static final String APPLICATION_JSON = "application/json";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
     private static final String CONTENT_TYPE = "content-type";
     private static final String LOCKED_PARAM = "locked";
     private static final String UNLOCK_PARAM = "unlock";
     private static final String BULK_DELETE_PARAM = "bulkDelete";
     private static final String EMPTY_QUEUES_PARAM = "emptyQueues";
     private static final String DELETED = "deleted";
+    private static final String ENQUEUED = "enqueued";
+    private static final int DEFAULT_PAGE_SIZE = 1000;
 
     private final String redisquesAddress;
     private final String userHeader;
     private final boolean enableQueueNameDecoding;
     private final int queueSpeedIntervalSec;
+    private final boolean queueSizeIndexEnabled;
 
     public static void init(Vertx vertx, RedisquesConfiguration modConfig) {
+        init(vertx, modConfig, null);
+    }
+
+    /**
+     * @param metrics the metrics to export on the metrics endpoint or <code>null</code> to not provide the endpoint
+     */
+    public static void init(Vertx vertx, RedisquesConfiguration modConfig, RedisquesMetrics metrics) {
         log.info("Enable http request handler: " + modConfig.getHttpRequestHandlerEnabled());
         if (modConfig.getHttpRequestHandlerEnabled()) {
             if (modConfig.getHttpRequestHandlerPort() != null && modConfig.getHttpRequestHandlerUserHeader() != null) {
-                RedisquesHttpRequestHandler handler = new RedisquesHttpRequestHandler(vertx, modConfig);
+                RedisquesHttpRequestHandler handler = new RedisquesHttpRequestHandler(vertx, modConfig, metrics);
                 // in Vert.x 2x 100-continues was activated per default, in vert.x 3x it is off per default.
                 HttpServerOptions options = new HttpServerOptions().setHandle100ContinueAutomatically(true);
                 vertx.createHttpServer(options).requestHandler(handler).listen(modConfig.getHttpRequestHandlerPort(), result -> {
@@ -113,13 +131,14 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
         }
     }
 
-    private RedisquesHttpRequestHandler(Vertx vertx, RedisquesConfiguration modConfig) {
+    private RedisquesHttpRequestHandler(Vertx vertx, RedisquesConfiguration modConfig, RedisquesMetrics metrics) {
         this.router = Router.router(vertx);
         this.eventBus = vertx.eventBus();
         this.redisquesAddress = modConfig.getAddress();
         this.userHeader = modConfig.getHttpRequestHandlerUserHeader();
         this.enableQueueNameDecoding = modConfig.getEnableQueueNameDecoding();
         this.queueSpeedIntervalSec = modConfig.getQueueSpeedIntervalSec();
+        this.queueSizeIndexEnabled = modConfig.getQueueSizeIndexEnabled();
 
         final String prefix = modConfig.getHttpRequestHandlerPrefix();
 
@@ -153,11 +172,23 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
          */
         router.get(prefix + "/speed").handler(this::getQueuesSpeed);
 
+        /*
+         * Get metrics
+         */
+        if (metrics != null) {
+            router.get(prefix + "/metrics").handler(ctx -> getMetrics(ctx, metrics));
+        }
+
         /*
          * Enqueue or LockedEnqueue
          */
         router.putWithRegex(prefix + "/enqueue/([^/]+)/").handler(this::enqueueOrLockedEnqueue);
 
+        /*
+         * Bulk enqueue
+         */
+        router.post(prefix + "/enqueue").handler(this::bulkEnqueue);
+
         /*
          * List queue items
          */
@@ -257,6 +288,11 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
         ctx.response().end(result.encode());
     }
 
+    private void getMetrics(RoutingContext ctx, RedisquesMetrics metrics) {
+        ctx.response().putHeader(CONTENT_TYPE, PROMETHEUS_TEXT);
+        ctx.response().end(metrics.scrape());
+    }
+
     private void enqueueOrLockedEnqueue(RoutingContext ctx) {
         decodedQueueNameOrRespondWithBadRequest(ctx, lastPart(ctx.request().path())).ifPresent(
                 queue -> ctx.request().bodyHandler(buffer -> {
@@ -278,6 +314,51 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
                 }));
     }
 
+    private void bulkEnqueue(RoutingContext ctx) {
+        final HttpServerRequest request = ctx.request();
+        request.bodyHandler(buffer -> {
+            try {
+                Result<JsonArray, String> result = extractNonEmptyJsonArrayFromBody(MESSAGES, buffer.toString());
+                if (result.isErr()) {
+                    respondWith(StatusCode.BAD_REQUEST, result.getErr(), request);
+                    return;
+                }
+                JsonArray messages = new JsonArray();
+                for (Object obj : result.getOk()) {
+                    if (!(obj instanceof JsonObject)) {
+                        respondWith(StatusCode.BAD_REQUEST, "Messages must be json objects", request);
+                        return;
+                    }
+                    JsonObject message = (JsonObject) obj;
+                    String queue = message.getString(QUEUENAME);
+                    JsonObject payload = message.getJsonObject(MESSAGE);
+                    if (queue == null || payload == null) {
+                        respondWith(StatusCode.BAD_REQUEST, "Messages must have a '" + QUEUENAME + "' and a '" + MESSAGE + "' property", request);
+                        return;
+                    }
+                    messages.add(buildBulkEnqueueMessage(queue, encodePayload(payload.encode())));
+                }
+                eventBus.request(redisquesAddress, buildBulkEnqueueOperation(messages), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+                    if (reply.failed()) {
+                        log.warn("Failed to bulkEnqueue", reply.cause());
+                        respondWith(StatusCode.INTERNAL_SERVER_ERROR, "Error bulk enqueueing messages", request);
+                        return;
+                    }
+                    final JsonObject body = reply.result().body();
+                    if (OK.equals(body.getString(STATUS))) {
+                        jsonResponse(ctx.response(), new JsonObject().put(ENQUEUED, body.getLong(VALUE)));
+                    } else if (BAD_INPUT.equalsIgnoreCase(body.getString(ERROR_TYPE))) {
+                        respondWith(StatusCode.BAD_REQUEST, body.getString(MESSAGE), request);
+                    } else {
+                        respondWith(StatusCode.INTERNAL_SERVER_ERROR, "Error bulk enqueueing messages", request);
+                    }
+                });
+            } catch (Exception ex) {
+                respondWith(StatusCode.BAD_REQUEST, ex.getMessage(), request);
+            }
+        });
+    }
+
     private JsonObject buildEnqueueOrLockedEnqueueOperation(String queue, String message, HttpServerRequest request) {
         if (evaluateUrlParameterToBeEmptyOrTrue(LOCKED_PARAM, request)) {
             return buildLockedEnqueueOperation(queue, message, extractUser(request));
@@ -502,9 +583,17 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
     }
 
     private void getMonitorInformation(RoutingContext ctx) {
+        if (ctx.request().params().contains(CURSOR)) {
+            getMonitorInformationPage(ctx);
+            return;
+        }
         final boolean emptyQueues = evaluateUrlParameterToBeEmptyOrTrue(EMPTY_QUEUES_PARAM, ctx.request());
         final int limit = extractLimit(ctx);
         String filter = ctx.request().params().get(FILTER);
+        if (queueSizeIndexEnabled && !emptyQueues && filter == null) {
+            getMonitorInformationFromSizeIndex(ctx, limit);
+            return;
+        }
         eventBus.request(redisquesAddress, buildGetQueuesItemsCountOperation(filter), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
             if (reply.succeeded() && OK.equals(reply.result().body().getString(STATUS))) {
                 JsonArray queuesArray = reply.result().body().getJsonArray(QUEUES);
@@ -536,6 +625,59 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
 
 
 
+    /**
+     * Same as {@link #getMonitorInformation(RoutingContext)} for the not empty queues, read already sorted from the
+     * queue size index.
+     */
+    private void getMonitorInformationFromSizeIndex(RoutingContext ctx, int limit) {
+        eventBus.request(redisquesAddress, buildGetLargestQueuesOperation(Math.max(limit, 0)), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+            if (reply.succeeded() && OK.equals(reply.result().body().getString(STATUS))) {
+                JsonObject resultObject = new JsonObject();
+                resultObject.put(QUEUES, reply.result().body().getJsonArray(QUEUES));
+                jsonResponse(ctx.response(), resultObject);
+            } else {
+                String error = "Error gathering names of active queues";
+                log.error(error);
+                respondWith(StatusCode.INTERNAL_SERVER_ERROR, error, ctx.request());
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #getMonitorInformation(RoutingContext)} for a page of the queues. The queues of a page are not
+     * sorted by size.
+     */
+    private void getMonitorInformationPage(RoutingContext ctx) {
+        final boolean emptyQueues = evaluateUrlParameterToBeEmptyOrTrue(EMPTY_QUEUES_PARAM, ctx.request());
+        Optional<Integer> limit = extractPageLimitOrRespondWithBadRequest(ctx);
+        if (limit.isEmpty()) {
+            return;
+        }
+        String filter = ctx.request().params().get(FILTER);
+        String cursor = ctx.request().params().get(CURSOR);
+        eventBus.request(redisquesAddress, buildGetQueuesItemsCountOperation(filter, limit.get(), cursor), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+            if (reply.succeeded() && OK.equals(reply.result().body().getString(STATUS))) {
+                List<JsonObject> queuesList = reply.result().body().getJsonArray(QUEUES).getList();
+                if (!emptyQueues) {
+                    queuesList = filterJsonQueueArrayNotEmpty(queuesList);
+                }
+                JsonObject resultObject = new JsonObject();
+                resultObject.put(QUEUES, queuesList);
+                String nextCursor = reply.result().body().getString(CURSOR);
+                if (nextCursor != null) {
+                    resultObject.put(CURSOR, nextCursor);
+                }
+                jsonResponse(ctx.response(), resultObject);
+            } else if (reply.succeeded() && BAD_INPUT.equalsIgnoreCase(reply.result().body().getString(ERROR_TYPE))) {
+                respondWith(StatusCode.BAD_REQUEST, reply.result().body().getString(MESSAGE), ctx.request());
+            } else {
+                String error = "Error gathering names of active queues";
+                log.error(error);
+                respondWith(StatusCode.INTERNAL_SERVER_ERROR, error, ctx.request());
+            }
+        });
+    }
+
     private void listOrCountQueues(RoutingContext ctx) {
         if (evaluateUrlParameterToBeEmptyOrTrue(COUNT, ctx.request())) {
             getQueuesCount(ctx);
@@ -565,21 +707,82 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
 
     private void listQueues(RoutingContext ctx) {
         String filter = ctx.request().params().get(FILTER);
-        eventBus.request(redisquesAddress, buildGetQueuesOperation(filter), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+        if (ctx.request().params().contains(LIMIT)) {
+            Optional<Integer> limit = extractPageLimitOrRespondWithBadRequest(ctx);
+            if (limit.isPresent()) {
+                listQueues(ctx, buildGetQueuesOperation(filter, limit.get(), ctx.request().params().get(CURSOR)));
+            }
+        } else {
+            streamQueues(ctx, filter, null, false);
+        }
+    }
+
+    private void listQueues(RoutingContext ctx, JsonObject operation) {
+        eventBus.request(redisquesAddress, operation, (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
             if (reply.succeeded() && OK.equals(reply.result().body().getString(STATUS))) {
                 jsonResponse(ctx.response(), reply.result().body().getJsonObject(VALUE));
             } else {
-                String error = "Unable to list active queues. Cause: " + reply.result().body().getString(MESSAGE);
-                String errorType = reply.result().body().getString(ERROR_TYPE);
-                if (BAD_INPUT.equalsIgnoreCase(errorType)) {
-                    respondWith(StatusCode.BAD_REQUEST, error, ctx.request());
+                respondWithListQueuesError(ctx, reply);
+            }
+        });
+    }
+
+    /**
+     * Lists all active queues page by page. Every page is written to the (chunked) response as soon as it arrives, so
+     * the complete list of queues is never held in memory.
+     *
+     * @param written whether queues have already been written to the response
+     */
+    private void streamQueues(RoutingContext ctx, String filter, String cursor, boolean written) {
+        final HttpServerResponse response = ctx.response();
+        eventBus.request(redisquesAddress, buildGetQueuesOperation(filter, DEFAULT_PAGE_SIZE, cursor), (Handler<AsyncResult<Message<JsonObject>>>) reply -> {
+            if (!reply.succeeded() || !OK.equals(reply.result().body().getString(STATUS))) {
+                if (cursor == null) {
+                    respondWithListQueuesError(ctx, reply);
                 } else {
-                    respondWith(StatusCode.INTERNAL_SERVER_ERROR, error, ctx.request());
+                    log.error("Unable to list active queues after cursor {}", cursor);
+                    response.reset();
                 }
+                return;
+            }
+            if (cursor == null) {
+                response.setChunked(true);
+                response.putHeader(CONTENT_TYPE, APPLICATION_JSON);
+                response.write("{\"" + QUEUES + "\":[");
+            }
+            JsonObject value = reply.result().body().getJsonObject(VALUE);
+            String encodedQueues = value.getJsonArray(QUEUES).encode();
+            boolean pageWritten = encodedQueues.length() > 2;
+            if (pageWritten) {
+                // write the queues without the brackets of the array
+                response.write((written ? "," : "") + encodedQueues.substring(1, encodedQueues.length() - 1));
+            }
+            String nextCursor = value.getString(CURSOR);
+            if (nextCursor == null) {
+                response.end("]}");
+            } else if (response.writeQueueFull()) {
+                response.drainHandler(v -> streamQueues(ctx, filter, nextCursor, written || pageWritten));
+            } else {
+                streamQueues(ctx, filter, nextCursor, written || pageWritten);
             }
         });
     }
 
+    private void respondWithListQueuesError(RoutingContext ctx, AsyncResult<Message<JsonObject>> reply) {
+        if (reply.failed()) {
+            log.error("Unable to list active queues", reply.cause());
+            respondWith(StatusCode.INTERNAL_SERVER_ERROR, "Unable to list active queues", ctx.request());
+            return;
+        }
+        String error = "Unable to list active queues. Cause: " + reply.result().body().getString(MESSAGE);
+        String errorType = reply.result().body().getString(ERROR_TYPE);
+        if (BAD_INPUT.equalsIgnoreCase(errorType)) {
+            respondWith(StatusCode.BAD_REQUEST, error, ctx.request());
+        } else {
+            respondWith(StatusCode.INTERNAL_SERVER_ERROR, error, ctx.request());
+        }
+    }
+
     private void listOrCountQueueItems(RoutingContext ctx) {
         if (evaluateUrlParameterToBeEmptyOrTrue(COUNT, ctx.request())) {
             getQueueItemsCount(ctx);
@@ -831,6 +1034,23 @@ public class RedisquesHttpRequestHandler implements Handler<HttpServerRequest> {
         }
     }
 
+    private Optional<Integer> extractPageLimitOrRespondWithBadRequest(RoutingContext ctx) {
+        String limitParam = ctx.request().params().get(LIMIT);
+        if (limitParam == null) {
+            return Optional.of(DEFAULT_PAGE_SIZE);
+        }
+        try {
+            int limit = Integer.parseInt(limitParam);
+            if (limit > 0) {
+                return Optional.of(limit);
+            }
+        } catch (NumberFormatException ex) {
+            // respond with bad request below
+        }
+        respondWith(StatusCode.BAD_REQUEST, "Limit must be a positive integer value", ctx.request());
+        return Optional.empty();
+    }
+
     private int extractLimit(RoutingContext ctx) {
         String limitParam = ctx.request().params().get(LIMIT);
         try {
@@ -2,7 +2,24 @@ package org.swisspush.redisques.lua;
 
 public enum LuaScript {
     CHECK("redisques_check.lua"),
-    MLLEN( "redisques_mllen.lua");
+    MLLEN( "redisques_mllen.lua"),
+    DEQUEUE_PEEK("redisques_dequeue_peek.lua"),
+    DEQUEUE_POP("redisques_dequeue_pop.lua"),
+    RELEASE("redisques_release.lua"),
+    ENQUEUE("redisques_enqueue.lua"),
+    RENEW("redisques_renew.lua"),
+    CHECK_PAGE("redisques_check_page.lua"),
+    SCAN_QUEUES("redisques_scan_queues.lua"),
+    UPDATE_SIZES("redisques_update_sizes.lua"),
+    UNLINK_QUEUES("redisques_unlink_queues.lua"),
+    MXLEN("redisques_mxlen.lua"),
+    STREAM_PUSH("redisques_stream_push.lua"),
+    STREAM_READ("redisques_stream_read.lua"),
+    STREAM_ACK("redisques_stream_ack.lua"),
+    STREAM_RANGE("redisques_stream_range.lua"),
+    SPEED_MERGE("redisques_speed_merge.lua"),
+    SPEED_READ("redisques_speed_read.lua"),
+    EXPIRE_CONSUMER("redisques_expire_consumer.lua");
 
     private String file;
 
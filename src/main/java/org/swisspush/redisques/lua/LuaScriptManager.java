@@ -1,13 +1,17 @@
 package org.swisspush.redisques.lua;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.Response;
+import org.swisspush.redisques.util.HashSlot;
 import org.swisspush.redisques.util.RedisUtils;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Manages the lua scripts.
@@ -16,21 +20,72 @@ import java.util.*;
  */
 public class LuaScriptManager {
 
+    public static final int DEFAULT_MULTI_LIST_LENGTH_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_MULTI_LIST_LENGTH_CONCURRENCY = 4;
+
     private RedisAPI redisAPI;
     private Map<LuaScript,LuaScriptState> luaScripts = new HashMap<>();
     private Logger log = LoggerFactory.getLogger(LuaScriptManager.class);
+    private final int multiListLengthChunkSize;
+    private final int multiListLengthConcurrency;
+    private final boolean cluster;
+    private final LuaScript multiLengthScript;
 
     public LuaScriptManager(RedisAPI redisAPI){
+        this(redisAPI, DEFAULT_MULTI_LIST_LENGTH_CHUNK_SIZE, DEFAULT_MULTI_LIST_LENGTH_CONCURRENCY);
+    }
+
+    /**
+     * @param multiListLengthChunkSize   maximum number of keys passed to a single multi list length script call
+     * @param multiListLengthConcurrency maximum number of multi list length script calls of a single evaluation
+     *                                   running at the same time
+     */
+    public LuaScriptManager(RedisAPI redisAPI, int multiListLengthChunkSize, int multiListLengthConcurrency){
+        this(redisAPI, multiListLengthChunkSize, multiListLengthConcurrency, false);
+    }
+
+    /**
+     * @param cluster whether redis is a cluster. The cluster client does not route <code>SCRIPT LOAD</code> to the
+     *                nodes owning the keys, so the scripts are sent with every call by <code>EVAL</code>. The keys of
+     *                a multi list length call are evaluated per hash slot.
+     */
+    public LuaScriptManager(RedisAPI redisAPI, int multiListLengthChunkSize, int multiListLengthConcurrency,
+                            boolean cluster){
+        this(redisAPI, multiListLengthChunkSize, multiListLengthConcurrency, cluster, false);
+    }
+
+    /**
+     * @param streams whether the queues are stored as redis streams. The multi list length then evaluates the
+     *                length of the streams.
+     */
+    public LuaScriptManager(RedisAPI redisAPI, int multiListLengthChunkSize, int multiListLengthConcurrency,
+                            boolean cluster, boolean streams){
         this.redisAPI = redisAPI;
+        this.multiListLengthChunkSize = Math.max(1, multiListLengthChunkSize);
+        this.multiListLengthConcurrency = Math.max(1, multiListLengthConcurrency);
+        this.cluster = cluster;
+        this.multiLengthScript = streams ? LuaScript.MXLEN : LuaScript.MLLEN;
 
-        LuaScriptState luaGetScriptState = new LuaScriptState(LuaScript.CHECK, redisAPI);
-        luaGetScriptState.loadLuaScript(new RedisCommandDoNothing(), 0);
-        luaScripts.put(LuaScript.CHECK, luaGetScriptState);
+        for (LuaScript luaScript : LuaScript.values()) {
+            LuaScriptState luaScriptState = new LuaScriptState(luaScript, redisAPI, !cluster);
+            if (!cluster) {
+                luaScriptState.loadLuaScript(new RedisCommandDoNothing(), 0);
+            }
+            luaScripts.put(luaScript, luaScriptState);
+        }
+    }
 
-        // load the MultiListLength Lua Script
-        LuaScriptState luaMllenScriptState = new LuaScriptState(LuaScript.MLLEN, redisAPI);
-        luaMllenScriptState.loadLuaScript(new RedisCommandDoNothing(), 0);
-        luaScripts.put(LuaScript.MLLEN, luaMllenScriptState);
+    /**
+     * Evaluates the script by its sha, or in cluster mode by sending the script itself.
+     */
+    private void evalScript(LuaScript luaScript, List<String> keys, List<String> arguments,
+                            Handler<AsyncResult<Response>> handler) {
+        LuaScriptState luaScriptState = luaScripts.get(luaScript);
+        if (cluster) {
+            redisAPI.eval(RedisUtils.toPayload(luaScriptState.getScript(), keys.size(), keys, arguments), handler);
+        } else {
+            redisAPI.evalsha(RedisUtils.toPayload(luaScriptState.getSha(), keys.size(), keys, arguments), handler);
+        }
     }
 
     /**
@@ -70,8 +125,7 @@ public class LuaScriptManager {
 
         @Override
         public void exec(int executionCounter) {
-            List<String> args= RedisUtils.toPayload(luaScripts.get(LuaScript.CHECK).getSha(), keys.size(), keys, arguments);
-            redisAPI.evalsha(args, event -> {
+            evalScript(LuaScript.CHECK, keys, arguments, event -> {
                 if(event.succeeded()){
                     Long value = event.result().toLong();
                     if (log.isTraceEnabled()) {
@@ -97,38 +151,130 @@ public class LuaScriptManager {
     }
 
 
-    public void handleMultiListLength(List<String> keys, Handler<List<Long>> handler){
-        executeRedisCommand(new MultiListLength(keys, redisAPI, handler), 0);
+    /**
+     * Evaluates the length of multiple lists (or streams). The keys are split into chunks of at most
+     * <code>multiListLengthChunkSize</code> keys, each chunk evaluated by a single lua script call. At most
+     * <code>multiListLengthConcurrency</code> chunks are evaluated at the same time.
+     *
+     * @param handler receives the lengths in the order of the keys or <code>null</code> when the evaluation failed
+     */
+    public void handleMultiListLength(List<String> keys, Handler<long[]> handler){
+        if (keys == null || keys.isEmpty()) {
+            handler.handle(new long[0]);
+            return;
+        }
+        new ChunkedMultiListLength(keys, handler).start();
+    }
+
+    /**
+     * Evaluates the chunks of a {@link #handleMultiListLength(List, Handler)} call and merges their results. In
+     * cluster mode, the keys of a chunk all belong to the same hash slot.
+     */
+    private class ChunkedMultiListLength {
+
+        private final Handler<long[]> handler;
+        private final long[] lengths;
+        private final List<List<String>> chunkKeys = new ArrayList<>();
+        private final List<int[]> chunkPositions = new ArrayList<>();
+        private int nextChunk = 0;
+        private int runningChunks = 0;
+        private boolean failed = false;
+
+        ChunkedMultiListLength(List<String> keys, Handler<long[]> handler) {
+            this.handler = handler;
+            this.lengths = new long[keys.size()];
+            if (cluster) {
+                Map<Integer, List<Integer>> positionsBySlot = new LinkedHashMap<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    positionsBySlot.computeIfAbsent(HashSlot.of(keys.get(i)), slot -> new ArrayList<>()).add(i);
+                }
+                for (List<Integer> positions : positionsBySlot.values()) {
+                    for (int offset = 0; offset < positions.size(); offset += multiListLengthChunkSize) {
+                        List<Integer> chunk = positions.subList(offset,
+                                Math.min(offset + multiListLengthChunkSize, positions.size()));
+                        List<String> chunkKeyList = new ArrayList<>(chunk.size());
+                        for (int position : chunk) {
+                            chunkKeyList.add(keys.get(position));
+                        }
+                        chunkKeys.add(chunkKeyList);
+                        chunkPositions.add(chunk.stream().mapToInt(Integer::intValue).toArray());
+                    }
+                }
+            } else {
+                for (int offset = 0; offset < keys.size(); offset += multiListLengthChunkSize) {
+                    int end = Math.min(offset + multiListLengthChunkSize, keys.size());
+                    chunkKeys.add(keys.subList(offset, end));
+                    chunkPositions.add(IntStream.range(offset, end).toArray());
+                }
+            }
+        }
+
+        void start() {
+            while (runningChunks < multiListLengthConcurrency && nextChunk < chunkKeys.size()) {
+                startNextChunk();
+            }
+        }
+
+        private void startNextChunk() {
+            int chunk = nextChunk++;
+            runningChunks++;
+            executeRedisCommand(new MultiListLength(chunkKeys.get(chunk), chunkPositions.get(chunk), lengths, redisAPI,
+                    this::chunkDone), 0);
+        }
+
+        private void chunkDone(boolean succeeded) {
+            runningChunks--;
+            if (failed) {
+                return;
+            }
+            if (!succeeded) {
+                failed = true;
+                handler.handle(null);
+            } else if (nextChunk < chunkKeys.size()) {
+                startNextChunk();
+            } else if (runningChunks == 0) {
+                handler.handle(lengths);
+            }
+        }
     }
 
     private class MultiListLength implements RedisCommand {
 
         private List<String> keys;
-        private Handler<List<Long>> handler;
+        private int[] positions;
+        private long[] lengths;
+        private Handler<Boolean> handler;
         private RedisAPI redisAPI;
 
-        public MultiListLength(List<String> keys, RedisAPI redisAPI, final Handler<List<Long>> handler) {
+        /**
+         * @param positions positions of the keys in the lengths array
+         * @param lengths   receives the evaluated lengths
+         * @param handler   called with <code>true</code> when the lengths were evaluated
+         */
+        public MultiListLength(List<String> keys, int[] positions, long[] lengths, RedisAPI redisAPI,
+                               final Handler<Boolean> handler) {
             this.keys = keys;
+            this.positions = positions;
+            this.lengths = lengths;
             this.redisAPI = redisAPI;
             this.handler = handler;
         }
 
         @Override
         public void exec(int executionCounter) {
-            if (keys==null || keys.isEmpty()){
-                handler.handle(List.of());
-                return;
-            }
-            List<String> args= RedisUtils.toPayload(luaScripts.get(LuaScript.MLLEN).getSha(),
-                keys.size(), keys);
-            redisAPI.evalsha(args, event -> {
+            evalScript(multiLengthScript, keys, Collections.emptyList(), event -> {
                 if(event.succeeded()){
-                    List<Long> res = new ArrayList<>();
-                    Iterator <Response> itr = event.result().iterator();
-                    while (itr.hasNext()){
-                      res.add(itr.next().toLong());
+                    Response response = event.result();
+                    if (response.size() != keys.size()) {
+                        log.error("Unexpected MultiListLength result with unequal size {} : {}", keys.size(),
+                                response.size());
+                        handler.handle(false);
+                        return;
+                    }
+                    for (int i = 0; i < response.size(); i++) {
+                        lengths[positions[i]] = response.get(i).toLong();
                     }
-                    handler.handle(res);
+                    handler.handle(true);
                 } else {
                     String message = event.cause().getMessage();
                     if(message != null && message.startsWith("NOSCRIPT")) {
@@ -136,17 +282,296 @@ public class LuaScriptManager {
                         log.warn("amount the script got loaded: {}", executionCounter);
                         if(executionCounter > 10) {
                             log.error("amount the MultiListLength script got loaded is higher than 10, we abort");
+                            handler.handle(false);
                         } else {
-                            luaScripts.get(LuaScript.MLLEN).loadLuaScript(new MultiListLength(keys, redisAPI, handler), executionCounter);
+                            luaScripts.get(multiLengthScript).loadLuaScript(
+                                    new MultiListLength(keys, positions, lengths, redisAPI, handler), executionCounter);
                         }
                     } else {
                         log.error("ListLength request failed.", event.cause());
+                        handler.handle(false);
                     }
-                    event.failed();
                 }
             });
         }
     }
 
+    /**
+     * Peeks the head of a queue in a single roundtrip. Verifies the consumer registration (and refreshes its expiry),
+     * checks the queue lock, reads up to <code>count</code> items and updates the queue timestamp.
+     * <p>
+     * The result is a multi bulk reply starting with one of <code>ok</code> (followed by the items),
+     * <code>notowner</code> (followed by the current consumer, if any), <code>locked</code> or <code>empty</code>.
+     */
+    public void handleDequeuePeek(String locksKey, String consumerKey, String queueKey, String queuesKey,
+                                  String queueName, String uid, int consumerLockTime, int count,
+                                  Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Arrays.asList(locksKey, consumerKey, queueKey, queuesKey);
+        List<String> arguments = Arrays.asList(
+                queueName,
+                uid,
+                String.valueOf(consumerLockTime),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(count)
+        );
+        executeRedisCommand(new ScriptCommand(LuaScript.DEQUEUE_PEEK, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Removes the given amount of processed items from the head of a queue and returns the remaining queue length.
+     */
+    public void handleDequeuePop(String queueKey, int count, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(queueKey);
+        List<String> arguments = Collections.singletonList(String.valueOf(count));
+        executeRedisCommand(new ScriptCommand(LuaScript.DEQUEUE_POP, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Deletes the consumer registration of a queue, but only when it is still held by the given consumer.
+     * Returns 1 when the registration was deleted, 0 otherwise.
+     */
+    public void handleReleaseConsumer(String consumerKey, String uid, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(consumerKey);
+        List<String> arguments = Collections.singletonList(uid);
+        executeRedisCommand(new ScriptCommand(LuaScript.RELEASE, keys, arguments, redisAPI, handler), 0);
+    }
 
+    /**
+     * Enqueues a message in a single roundtrip. Updates the queue timestamp, pushes the message and looks up the
+     * consumer of the queue.
+     * <p>
+     * The result is a multi bulk reply containing the queue length, followed by the consumer (if any).
+     */
+    public void handleEnqueue(String queuesKey, String queueKey, String consumerKey, String queueName, String message,
+                              Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Arrays.asList(queuesKey, queueKey, consumerKey);
+        List<String> arguments = Arrays.asList(
+                queueName,
+                String.valueOf(System.currentTimeMillis()),
+                message
+        );
+        executeRedisCommand(new ScriptCommand(LuaScript.ENQUEUE, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Renews the registrations of multiple queues in a single roundtrip. For every queue still registered to the
+     * given consumer, the registration expiry is extended and the queue timestamp is updated.
+     * <p>
+     * The result is a multi bulk reply containing the names of the queues no longer registered to the consumer.
+     *
+     * @param consumerKeys the registration keys of the queues, in the same order as the queue names
+     */
+    public void handleRenewLeases(String queuesKey, List<String> consumerKeys, List<String> queueNames, String uid,
+                                  int consumerLockTime, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = new ArrayList<>(consumerKeys.size() + 1);
+        keys.add(queuesKey);
+        keys.addAll(consumerKeys);
+        List<String> arguments = new ArrayList<>(queueNames.size() + 3);
+        arguments.add(uid);
+        arguments.add(String.valueOf(consumerLockTime));
+        arguments.add(String.valueOf(System.currentTimeMillis()));
+        arguments.addAll(queueNames);
+        executeRedisCommand(new ScriptCommand(LuaScript.RENEW, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Checks a page of inactive queues (queues with a timestamp before the given limit) in a single roundtrip.
+     * The timestamp of a not empty queue is updated and the registration of its consumer is refreshed. An empty
+     * queue is removed from the queues sorted set.
+     * <p>
+     * The result is a multi bulk reply containing two multi bulk replies: the names of the not empty queues and the
+     * names of the removed queues.
+     */
+    public void handleCheckQueuesPage(String queuesKey, String queuesPrefix, String consumersPrefix, long limit,
+                                      int pageSize, int consumerLockTime, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(queuesKey);
+        List<String> arguments = Arrays.asList(
+                queuesPrefix,
+                consumersPrefix,
+                String.valueOf(limit),
+                String.valueOf(pageSize),
+                String.valueOf(consumerLockTime),
+                String.valueOf(System.currentTimeMillis())
+        );
+        executeRedisCommand(new ScriptCommand(LuaScript.CHECK_PAGE, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Scans a chunk of the queues sorted set (ZSCAN) and returns the queues updated since the given timestamp,
+     * optionally together with their length.
+     * <p>
+     * The result is a multi bulk reply containing the cursor to continue the scan with ("0" when done), the queue
+     * names and the queue lengths (empty when no queues prefix is given).
+     *
+     * @param queuesPrefix prefix of the queue keys or <code>null</code> to not look up the queue lengths
+     */
+    public void handleScanQueues(String queuesKey, String cursor, int count, long minTimestamp, String queuesPrefix,
+                                 Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(queuesKey);
+        List<String> arguments = Arrays.asList(
+                cursor,
+                String.valueOf(count),
+                String.valueOf(minTimestamp),
+                queuesPrefix != null ? queuesPrefix : ""
+        );
+        executeRedisCommand(new ScriptCommand(LuaScript.SCAN_QUEUES, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Updates the entries of the given queues in the queue sizes sorted set to the current length of the queues.
+     * Empty queues are removed from the sorted set.
+     * <p>
+     * The result is an integer reply containing the number of updated queues.
+     */
+    public void handleUpdateQueueSizes(String sizesKey, String queuesPrefix, Collection<String> queueNames,
+                                       Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(sizesKey);
+        List<String> arguments = new ArrayList<>(queueNames.size() + 1);
+        arguments.add(queuesPrefix);
+        arguments.addAll(queueNames);
+        executeRedisCommand(new ScriptCommand(LuaScript.UPDATE_SIZES, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Unlinks the given queues and removes their entries from the statistics hash and the queue sizes sorted set in
+     * a single roundtrip. The memory of the unlinked queues is reclaimed by redis in the background.
+     * <p>
+     * The result is an integer reply containing the number of unlinked queues.
+     */
+    public void handleUnlinkQueues(String statsKey, String sizesKey, String queuesPrefix, List<String> queueNames,
+                                   Handler<AsyncResult<Response>> handler) {
+        List<String> keys = new ArrayList<>(queueNames.size() + 2);
+        keys.add(statsKey);
+        keys.add(sizesKey);
+        for (String queueName : queueNames) {
+            keys.add(queuesPrefix + queueName);
+        }
+        executeRedisCommand(new ScriptCommand(LuaScript.UNLINK_QUEUES, keys, queueNames, redisAPI, handler), 0);
+    }
+
+    /**
+     * Appends the messages to a stream and returns the length of the stream.
+     */
+    public void handleStreamPush(String streamKey, List<String> messages, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(streamKey);
+        executeRedisCommand(new ScriptCommand(LuaScript.STREAM_PUSH, keys, messages, redisAPI, handler), 0);
+    }
+
+    /**
+     * Reads up to <code>count</code> entries of a stream by the given consumer of the consumer group. The entries
+     * pending in the group, i.e. delivered but not acknowledged yet, are claimed and read first. The group is created
+     * on the first read of the stream.
+     * <p>
+     * The result is a multi bulk reply of the ids and payloads of the entries, e.g. <code>[id1, payload1, id2,
+     * payload2]</code>.
+     */
+    public void handleStreamRead(String streamKey, String group, String consumer, int count,
+                                 Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(streamKey);
+        List<String> arguments = Arrays.asList(group, consumer, String.valueOf(count));
+        executeRedisCommand(new ScriptCommand(LuaScript.STREAM_READ, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Acknowledges and deletes the given entries of a stream and returns the remaining length of the stream. An
+     * empty stream is deleted.
+     */
+    public void handleStreamAck(String streamKey, String group, List<String> ids,
+                                Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(streamKey);
+        List<String> arguments = new ArrayList<>(ids.size() + 1);
+        arguments.add(group);
+        arguments.addAll(ids);
+        executeRedisCommand(new ScriptCommand(LuaScript.STREAM_ACK, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Returns the payloads of the first <code>count</code> entries of a stream, without delivering them to a consumer.
+     */
+    public void handleStreamRange(String streamKey, int count, Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(streamKey);
+        List<String> arguments = Collections.singletonList(String.valueOf(count));
+        executeRedisCommand(new ScriptCommand(LuaScript.STREAM_RANGE, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Extends the registration expiry of a queue, but only while the queue is still registered to the given consumer.
+     * <p>
+     * The result is <code>1</code> when the registration was extended, <code>0</code> otherwise.
+     */
+    public void handleExpireConsumer(String consumerKey, String uid, int consumerLockTime,
+                                     Handler<AsyncResult<Response>> handler) {
+        List<String> keys = Collections.singletonList(consumerKey);
+        List<String> arguments = Arrays.asList(uid, String.valueOf(consumerLockTime));
+        executeRedisCommand(new ScriptCommand(LuaScript.EXPIRE_CONSUMER, keys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Adds the message counts to the speed buckets, see {@link org.swisspush.redisques.util.SpeedWindows}.
+     *
+     * @param bucketKeys the keys of the current bucket of every resolution
+     * @param ttls       the time to live [s] of every bucket key
+     * @param counts     pairs of count field and count
+     */
+    public void handleSpeedMerge(List<String> bucketKeys, List<String> ttls, List<String> counts,
+                                 Handler<AsyncResult<Response>> handler) {
+        List<String> arguments = new ArrayList<>(ttls.size() + counts.size());
+        arguments.addAll(ttls);
+        arguments.addAll(counts);
+        executeRedisCommand(new ScriptCommand(LuaScript.SPEED_MERGE, bucketKeys, arguments, redisAPI, handler), 0);
+    }
+
+    /**
+     * Sums up the message counts of the given fields in the speed buckets. The result holds the enqueued and the
+     * dequeued count of every bucket.
+     */
+    public void handleSpeedRead(List<String> bucketKeys, List<String> countFields,
+                                Handler<AsyncResult<Response>> handler) {
+        executeRedisCommand(new ScriptCommand(LuaScript.SPEED_READ, bucketKeys, countFields, redisAPI, handler), 0);
+    }
+
+    /**
+     * Executes a lua script and passes the raw response (or the failure) to the handler.
+     */
+    private class ScriptCommand implements RedisCommand {
+
+        private LuaScript luaScript;
+        private List<String> keys;
+        private List<String> arguments;
+        private Handler<AsyncResult<Response>> handler;
+        private RedisAPI redisAPI;
+
+        public ScriptCommand(LuaScript luaScript, List<String> keys, List<String> arguments, RedisAPI redisAPI,
+                             final Handler<AsyncResult<Response>> handler) {
+            this.luaScript = luaScript;
+            this.keys = keys;
+            this.arguments = arguments;
+            this.redisAPI = redisAPI;
+            this.handler = handler;
+        }
+
+        @Override
+        public void exec(int executionCounter) {
+            evalScript(luaScript, keys, arguments, event -> {
+                if (event.succeeded()) {
+                    handler.handle(event);
+                    return;
+                }
+                String message = event.cause().getMessage();
+                if (message != null && message.startsWith("NOSCRIPT")) {
+                    log.warn("{} script couldn't be found, reload it", luaScript);
+                    log.warn("amount the script got loaded: {}", executionCounter);
+                    if (executionCounter > 10) {
+                        log.error("amount the {} script got loaded is higher than 10, we abort", luaScript);
+                        handler.handle(Future.failedFuture(event.cause()));
+                    } else {
+                        luaScripts.get(luaScript).loadLuaScript(new ScriptCommand(luaScript, keys, arguments, redisAPI, handler), executionCounter);
+                    }
+                } else {
+                    log.error("{} request failed.", luaScript, event.cause());
+                    handler.handle(event);
+                }
+            });
+        }
+    }
 }
@@ -30,10 +30,19 @@ public class LuaScriptState {
     private Logger log = LoggerFactory.getLogger(LuaScriptState.class);
 
     public LuaScriptState(LuaScript luaScriptType, RedisAPI redisAPI) {
+        this(luaScriptType, redisAPI, true);
+    }
+
+    /**
+     * @param load whether the script is loaded into redis. Scripts which are sent with every call are not loaded.
+     */
+    public LuaScriptState(LuaScript luaScriptType, RedisAPI redisAPI, boolean load) {
         this.luaScriptType = luaScriptType;
         this.redisAPI = redisAPI;
         this.composeLuaScript(luaScriptType);
-        this.loadLuaScript(new RedisCommandDoNothing(), 0);
+        if (load) {
+            this.loadLuaScript(new RedisCommandDoNothing(), 0);
+        }
     }
 
     /**
@@ -0,0 +1,97 @@
+package org.swisspush.redisques.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link Histogram} per operation, redis command and outcome in memory.
+ */
+public class DefaultRedisquesMetrics implements RedisquesMetrics {
+
+    private final HistogramFamily operations = new HistogramFamily("redisques_operation_seconds",
+            "Duration of the redisques operations from the request to the reply", "operation");
+    private final HistogramFamily redisCommands = new HistogramFamily("redisques_redis_command_seconds",
+            "Duration of the redis commands", "command");
+    private final HistogramFamily processorRoundTrips = new HistogramFamily("redisques_processor_seconds",
+            "Duration from sending a queue message to the processor to the reply", null);
+
+    @Override
+    public void recordOperation(String operation, boolean success, long durationNanos) {
+        operations.histogram(operation, success).record(durationNanos);
+    }
+
+    @Override
+    public void recordRedisCommand(String command, boolean success, long durationNanos) {
+        redisCommands.histogram(command, success).record(durationNanos);
+    }
+
+    @Override
+    public void recordProcessorRoundTrip(boolean success, long durationNanos) {
+        processorRoundTrips.histogram("", success).record(durationNanos);
+    }
+
+    @Override
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        operations.writeTo(sb);
+        redisCommands.writeTo(sb);
+        processorRoundTrips.writeTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * The histograms of a metric, one per label value and status.
+     */
+    private static class HistogramFamily {
+        private final String name;
+        private final String help;
+        private final String labelName;
+        private final Map<String, Histogram> okHistograms = new ConcurrentHashMap<>();
+        private final Map<String, Histogram> errorHistograms = new ConcurrentHashMap<>();
+
+        private HistogramFamily(String name, String help, String labelName) {
+            this.name = name;
+            this.help = help;
+            this.labelName = labelName;
+        }
+
+        private Histogram histogram(String labelValue, boolean success) {
+            Map<String, Histogram> histograms = success ? okHistograms : errorHistograms;
+            Histogram histogram = histograms.get(labelValue);
+            if (histogram == null) {
+                histogram = histograms.computeIfAbsent(labelValue, value -> new Histogram());
+            }
+            return histogram;
+        }
+
+        private void writeTo(StringBuilder sb) {
+            sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            sb.append("# TYPE ").append(name).append(" histogram\n");
+            new TreeMap<>(okHistograms).forEach((labelValue, histogram) -> writeTo(sb, labels(labelValue, "ok"), histogram));
+            new TreeMap<>(errorHistograms).forEach((labelValue, histogram) -> writeTo(sb, labels(labelValue, "error"), histogram));
+        }
+
+        private void writeTo(StringBuilder sb, String labels, Histogram histogram) {
+            long[] counts = histogram.cumulativeCounts();
+            for (int i = 0; i < counts.length; i++) {
+                String le = i < Histogram.BUCKET_LABELS.length ? Histogram.BUCKET_LABELS[i] : "+Inf";
+                sb.append(name).append("_bucket{").append(labels).append(",le=\"").append(le).append("\"} ")
+                        .append(counts[i]).append('\n');
+            }
+            sb.append(name).append("_sum{").append(labels).append("} ").append(histogram.sumSeconds()).append('\n');
+            sb.append(name).append("_count{").append(labels).append("} ").append(counts[counts.length - 1]).append('\n');
+        }
+
+        private String labels(String labelValue, String status) {
+            if (labelName == null) {
+                return "status=\"" + status + "\"";
+            }
+            return labelName + "=\"" + escape(labelValue) + "\",status=\"" + status + "\"";
+        }
+
+        private static String escape(String labelValue) {
+            return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.swisspush.redisques.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations with fixed buckets. Recording is lock free and does not allocate.
+ */
+class Histogram {
+
+    static final String[] BUCKET_LABELS = {"0.0005", "0.001", "0.0025", "0.005", "0.01", "0.025", "0.05", "0.1",
+            "0.25", "0.5", "1", "2.5", "5", "10"};
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_LABELS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (Double.parseDouble(BUCKET_LABELS[i]) * 1_000_000_000L);
+        }
+    }
+
+    // one counter per bucket plus the +Inf bucket, not cumulative
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKET_LABELS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram() {
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    void record(long durationNanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && durationNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        bucketCounts[bucket].increment();
+        sumNanos.add(durationNanos);
+    }
+
+    /**
+     * @return the cumulative counts of the buckets, the last one being the +Inf bucket and therefore the total count
+     */
+    long[] cumulativeCounts() {
+        long[] counts = new long[bucketCounts.length];
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            count += bucketCounts[i].sum();
+            counts[i] = count;
+        }
+        return counts;
+    }
+
+    double sumSeconds() {
+        return sumNanos.sum() / 1_000_000_000d;
+    }
+}
@@ -0,0 +1,72 @@
+package org.swisspush.redisques.metrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+
+import static org.swisspush.redisques.util.RedisquesAPI.ERROR;
+import static org.swisspush.redisques.util.RedisquesAPI.STATUS;
+
+/**
+ * {@link Message} recording the duration of an operation from its creation to the reply. A reply with an error status
+ * or a failure is recorded as not successful.
+ */
+public class MetricsMessage<T> implements Message<T> {
+
+    private final Message<T> delegate;
+    private final String operation;
+    private final RedisquesMetrics metrics;
+    private final long start = System.nanoTime();
+
+    public MetricsMessage(Message<T> delegate, String operation, RedisquesMetrics metrics) {
+        this.delegate = delegate;
+        this.operation = operation;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String address() {
+        return delegate.address();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public T body() {
+        return delegate.body();
+    }
+
+    @Override
+    public String replyAddress() {
+        return delegate.replyAddress();
+    }
+
+    @Override
+    public boolean isSend() {
+        return delegate.isSend();
+    }
+
+    @Override
+    public void reply(Object message, DeliveryOptions options) {
+        record(message);
+        delegate.reply(message, options);
+    }
+
+    @Override
+    public <R> Future<Message<R>> replyAndRequest(Object message, DeliveryOptions options) {
+        record(message);
+        return delegate.replyAndRequest(message, options);
+    }
+
+    private void record(Object reply) {
+        boolean success = !(reply instanceof ReplyException)
+                && !(reply instanceof JsonObject && ERROR.equals(((JsonObject) reply).getString(STATUS)));
+        metrics.recordOperation(operation, success, System.nanoTime() - start);
+    }
+}
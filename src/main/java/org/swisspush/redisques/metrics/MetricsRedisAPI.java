@@ -0,0 +1,33 @@
+package org.swisspush.redisques.metrics;
+
+import io.vertx.core.Future;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Response;
+
+/**
+ * {@link RedisAPI} recording the duration of every command. All the command methods of {@link RedisAPI} delegate to
+ * {@link #send(Command, String...)}, so every command is recorded.
+ */
+public class MetricsRedisAPI implements RedisAPI {
+
+    private final RedisAPI delegate;
+    private final RedisquesMetrics metrics;
+
+    public MetricsRedisAPI(RedisAPI delegate, RedisquesMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Future<Response> send(Command command, String... args) {
+        final long start = System.nanoTime();
+        return delegate.send(command, args).onComplete(result ->
+                metrics.recordRedisCommand(command.toString(), result.succeeded(), System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,37 @@
+package org.swisspush.redisques.metrics;
+
+/**
+ * Records the durations of the redisques operations, the redis commands and the processor round trips.
+ * <p>
+ * The record methods are called on the event loop for every operation, command and processed message, so
+ * implementations must not block and should be cheap. A custom implementation can be passed to
+ * {@link org.swisspush.redisques.RedisQues#RedisQues(RedisquesMetrics)}, otherwise {@link DefaultRedisquesMetrics} is
+ * used when the metrics are enabled by the configuration.
+ */
+public interface RedisquesMetrics {
+
+    /**
+     * @param operation     the name of the {@link org.swisspush.redisques.util.RedisquesAPI.QueueOperation}
+     * @param success       <code>false</code> when the operation replied with an error
+     * @param durationNanos the duration from receiving the operation request to the reply
+     */
+    void recordOperation(String operation, boolean success, long durationNanos);
+
+    /**
+     * @param command       the name of the redis command
+     * @param success       <code>false</code> when the command failed
+     * @param durationNanos the duration from sending the command to the response
+     */
+    void recordRedisCommand(String command, boolean success, long durationNanos);
+
+    /**
+     * @param success       <code>false</code> when the processor did not reply with "ok" in time
+     * @param durationNanos the duration from sending a message to the processor to the reply
+     */
+    void recordProcessorRoundTrip(boolean success, long durationNanos);
+
+    /**
+     * @return the recorded metrics in the Prometheus text exposition format
+     */
+    String scrape();
+}
@@ -0,0 +1,86 @@
+package org.swisspush.redisques.storage;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.swisspush.redisques.lua.LuaScriptManager;
+import org.swisspush.redisques.util.PayloadCompression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the items of a queue in a redis list. This is the default storage.
+ */
+public class ListQueueStorage implements QueueStorage {
+
+    private final RedisConnection redis;
+    private final RedisAPI redisAPI;
+    private final LuaScriptManager luaScriptManager;
+
+    public ListQueueStorage(RedisConnection redis, RedisAPI redisAPI, LuaScriptManager luaScriptManager) {
+        this.redis = redis;
+        this.redisAPI = redisAPI;
+        this.luaScriptManager = luaScriptManager;
+    }
+
+    @Override
+    public void push(String queueKey, List<String> messages, Handler<AsyncResult<Response>> handler) {
+        List<String> args = new ArrayList<>(messages.size() + 1);
+        args.add(queueKey);
+        args.addAll(messages);
+        redisAPI.rpush(args, handler);
+    }
+
+    @Override
+    public void pushBinary(String queueKey, List<Buffer> payloads, Handler<AsyncResult<Response>> handler) {
+        Request request = Request.cmd(Command.RPUSH).arg(queueKey);
+        for (Buffer payload : payloads) {
+            request.arg(payload);
+        }
+        redis.send(request, handler);
+    }
+
+    @Override
+    public void read(String queueKey, int count, Handler<AsyncResult<List<QueueItem>>> handler) {
+        redisAPI.lrange(queueKey, "0", String.valueOf(count - 1), answer -> {
+            if (answer.failed() || answer.result() == null) {
+                handler.handle(Future.failedFuture(answer.failed() ? answer.cause()
+                        : new IllegalStateException("no lrange result")));
+                return;
+            }
+            List<QueueItem> items = new ArrayList<>(answer.result().size());
+            for (Response item : answer.result()) {
+                items.add(new QueueItem(null, PayloadCompression.decompress(item.toBuffer())));
+            }
+            handler.handle(Future.succeededFuture(items));
+        });
+    }
+
+    @Override
+    public void remove(String queueKey, List<QueueItem> items, Handler<AsyncResult<Response>> handler) {
+        // the processed items are the head of the list
+        luaScriptManager.handleDequeuePop(queueKey, items.size(), handler);
+    }
+
+    @Override
+    public void length(String queueKey, Handler<AsyncResult<Response>> handler) {
+        redisAPI.llen(queueKey, handler);
+    }
+
+    @Override
+    public void range(String queueKey, int count, Handler<AsyncResult<Response>> handler) {
+        redisAPI.lrange(queueKey, "0", String.valueOf(count - 1), handler);
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
+    }
+}
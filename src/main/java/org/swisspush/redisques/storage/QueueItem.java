@@ -0,0 +1,43 @@
+package org.swisspush.redisques.storage;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * An item read from the head of a queue.
+ */
+public class QueueItem {
+
+    private final String id;
+    private final Buffer payload;
+
+    public QueueItem(String id, String payload) {
+        this(id, Buffer.buffer(payload));
+    }
+
+    public QueueItem(String id, Buffer payload) {
+        this.id = id;
+        this.payload = payload;
+    }
+
+    /**
+     * @return the id of the item in the storage, <code>null</code> when the storage identifies the items by their
+     * position
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the payload decoded as UTF-8 string
+     */
+    public String getPayload() {
+        return payload.toString();
+    }
+
+    /**
+     * @return the payload as stored in redis, without decoding
+     */
+    public Buffer getPayloadBuffer() {
+        return payload;
+    }
+}
@@ -0,0 +1,62 @@
+package org.swisspush.redisques.storage;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Response;
+
+import java.util.List;
+
+/**
+ * Stores the items of the queues.
+ * <p>
+ * The items of a queue are read from its head and removed once they have been processed. Reading does not remove
+ * the items, so items of a failed processing (or of a crashed consumer) are read again. The replies are shaped like
+ * the replies of the corresponding redis list commands.
+ */
+public interface QueueStorage {
+
+    /**
+     * Appends the messages to the tail of the queue.
+     *
+     * @param handler receives an integer reply containing the length of the queue after the push
+     */
+    void push(String queueKey, List<String> messages, Handler<AsyncResult<Response>> handler);
+
+    /**
+     * Same as {@link #push(String, List, Handler)} but the payloads are written as they are, without string encoding.
+     */
+    void pushBinary(String queueKey, List<Buffer> payloads, Handler<AsyncResult<Response>> handler);
+
+    /**
+     * Reads up to <code>count</code> items from the head of the queue, without removing them.
+     *
+     * @param handler receives the items, an empty list when the queue is empty
+     */
+    void read(String queueKey, int count, Handler<AsyncResult<List<QueueItem>>> handler);
+
+    /**
+     * Removes the given processed items, previously read from the head of the queue.
+     *
+     * @param handler receives an integer reply containing the remaining length of the queue
+     */
+    void remove(String queueKey, List<QueueItem> items, Handler<AsyncResult<Response>> handler);
+
+    /**
+     * @param handler receives an integer reply containing the length of the queue
+     */
+    void length(String queueKey, Handler<AsyncResult<Response>> handler);
+
+    /**
+     * Lists the payloads of the first <code>count</code> items of the queue. Unlike {@link #read(String, int, Handler)}
+     * the items are not handed to a consumer.
+     *
+     * @param handler receives a multi bulk reply of the payloads
+     */
+    void range(String queueKey, int count, Handler<AsyncResult<Response>> handler);
+
+    /**
+     * @return whether single items can be accessed, replaced and deleted by their index
+     */
+    boolean isIndexed();
+}
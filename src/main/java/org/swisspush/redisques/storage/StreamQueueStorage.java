@@ -0,0 +1,107 @@
+package org.swisspush.redisques.storage;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.swisspush.redisques.lua.LuaScriptManager;
+import org.swisspush.redisques.util.PayloadCompression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the items of a queue in a redis stream.
+ * <p>
+ * The items are read by a consumer group, so redis tracks the items delivered to the processor but not acknowledged
+ * yet. These pending items are claimed and read again by the next read, also when the previous consumer of the
+ * queue crashed. Processed items are acknowledged and deleted, so the length of the stream is the length of the queue.
+ */
+public class StreamQueueStorage implements QueueStorage {
+
+    public static final String GROUP = "redisques";
+
+    private final RedisConnection redis;
+    private final RedisAPI redisAPI;
+    private final LuaScriptManager luaScriptManager;
+    private final String consumer;
+
+    /**
+     * @param consumer the name of the consumer within the consumer group, i.e. the uid of the redisques instance
+     */
+    public StreamQueueStorage(RedisConnection redis, RedisAPI redisAPI, LuaScriptManager luaScriptManager, String consumer) {
+        this.redis = redis;
+        this.redisAPI = redisAPI;
+        this.luaScriptManager = luaScriptManager;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void push(String queueKey, List<String> messages, Handler<AsyncResult<Response>> handler) {
+        luaScriptManager.handleStreamPush(queueKey, messages, handler);
+    }
+
+    @Override
+    public void pushBinary(String queueKey, List<Buffer> payloads, Handler<AsyncResult<Response>> handler) {
+        // the entries are appended and the length is read by a single batch
+        List<Request> requests = new ArrayList<>(payloads.size() + 1);
+        for (Buffer payload : payloads) {
+            requests.add(Request.cmd(Command.XADD).arg(queueKey).arg("*").arg("payload").arg(payload));
+        }
+        requests.add(Request.cmd(Command.XLEN).arg(queueKey));
+        redis.batch(requests, answer -> {
+            if (answer.failed()) {
+                handler.handle(Future.failedFuture(answer.cause()));
+            } else {
+                handler.handle(Future.succeededFuture(answer.result().get(payloads.size())));
+            }
+        });
+    }
+
+    @Override
+    public void read(String queueKey, int count, Handler<AsyncResult<List<QueueItem>>> handler) {
+        luaScriptManager.handleStreamRead(queueKey, GROUP, consumer, count, answer -> {
+            if (answer.failed() || answer.result() == null) {
+                handler.handle(Future.failedFuture(answer.failed() ? answer.cause()
+                        : new IllegalStateException("no stream read result")));
+                return;
+            }
+            Response entries = answer.result();
+            List<QueueItem> items = new ArrayList<>(entries.size() / 2);
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                items.add(new QueueItem(entries.get(i).toString(),
+                        PayloadCompression.decompress(entries.get(i + 1).toBuffer())));
+            }
+            handler.handle(Future.succeededFuture(items));
+        });
+    }
+
+    @Override
+    public void remove(String queueKey, List<QueueItem> items, Handler<AsyncResult<Response>> handler) {
+        List<String> ids = new ArrayList<>(items.size());
+        for (QueueItem item : items) {
+            ids.add(item.getId());
+        }
+        luaScriptManager.handleStreamAck(queueKey, GROUP, ids, handler);
+    }
+
+    @Override
+    public void length(String queueKey, Handler<AsyncResult<Response>> handler) {
+        redisAPI.xlen(queueKey, handler);
+    }
+
+    @Override
+    public void range(String queueKey, int count, Handler<AsyncResult<Response>> handler) {
+        luaScriptManager.handleStreamRange(queueKey, count, handler);
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package org.swisspush.redisques.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring mapping queue names to the redisques instances owning them.
+ * <p>
+ * Every member is placed on the ring multiple times (virtual nodes) to spread the queues evenly. When a member
+ * joins or leaves, only the queues of the ring segments next to its virtual nodes change their owner.
+ * <p>
+ * Instances of this class are immutable. Create a new ring when the members change.
+ */
+public class ConsistentHashRing {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private static final long FNV_64_INIT = 0xcbf29ce484222325L;
+    private static final long FNV_64_PRIME = 0x100000001b3L;
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> members;
+
+    public ConsistentHashRing(Collection<String> members) {
+        this(members, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be >=1 but is " + virtualNodes);
+        }
+        this.members = Collections.unmodifiableSet(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * @param key the queue name
+     * @return the member owning the given key or <code>null</code> when the ring has no members
+     */
+    public String owner(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        if (entry == null) {
+            // wrap around
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    public boolean isOwner(String member, String key) {
+        return member.equals(owner(key));
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the UTF-8 bytes of the given value. FNV-1a alone spreads similar short values (like the
+     * virtual node names) badly over the ring, so the result is passed through the murmur3 finalizer.
+     */
+    static long hash(String value) {
+        long hash = FNV_64_INIT;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_64_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
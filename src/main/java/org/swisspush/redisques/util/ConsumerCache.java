@@ -0,0 +1,104 @@
+package org.swisspush.redisques.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the registered consumer of queues.
+ * <p>
+ * Entries expire after a fixed time to live. When the cache is full, the least recently used entry is evicted.
+ * The cache is not thread safe and is meant to be used from the event loop of a single verticle.
+ */
+public class ConsumerCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+
+    public ConsumerCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    ConsumerCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be >=1 but is " + maxSize);
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttlMillis must be >=1 but is " + ttlMillis);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ConsumerCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param queueName the queue name
+     * @return the cached consumer of the queue or <code>null</code> when not cached or expired
+     */
+    public String get(String queueName) {
+        Entry entry = entries.get(queueName);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(queueName);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.consumer;
+    }
+
+    /**
+     * Caches the consumer of a queue. A <code>null</code> consumer removes the entry.
+     */
+    public void put(String queueName, String consumer) {
+        if (consumer == null) {
+            invalidate(queueName);
+            return;
+        }
+        entries.put(queueName, new Entry(consumer, clock.getAsLong() + ttlMillis));
+    }
+
+    public void invalidate(String queueName) {
+        entries.remove(queueName);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private static class Entry {
+        private final String consumer;
+        private final long expiresAt;
+
+        private Entry(String consumer, long expiresAt) {
+            this.consumer = consumer;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.swisspush.redisques.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the redis cluster hash slot of keys.
+ * <p>
+ * The slot is the CRC16 (XMODEM) of the key modulo 16384. When the key contains a hash tag, i.e. a non-empty
+ * substring between the first <code>{</code> and the next <code>}</code>, only the hash tag is hashed. Keys with the
+ * same hash tag are therefore stored in the same slot.
+ */
+public final class HashSlot {
+
+    public static final int SLOT_COUNT = 16384;
+
+    private static final int[] CRC16_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            CRC16_TABLE[i] = crc & 0xffff;
+        }
+    }
+
+    private HashSlot() {}
+
+    /**
+     * @return the hash slot of the given key
+     */
+    public static int of(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int end = bytes.length;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '{') {
+                for (int j = i + 1; j < bytes.length; j++) {
+                    if (bytes[j] == '}') {
+                        if (j > i + 1) {
+                            start = i + 1;
+                            end = j;
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        return crc16(bytes, start, end) & (SLOT_COUNT - 1);
+    }
+
+    /**
+     * Wraps the given name in a hash tag, so all keys containing the tagged name are stored in the same slot.
+     */
+    public static String tag(String name) {
+        return "{" + name + "}";
+    }
+
+    /**
+     * Groups the given keys by their hash slot. The keys of a group keep their order, the groups are ordered by the
+     * first occurrence of their slot.
+     */
+    public static Map<Integer, List<String>> partition(Collection<String> keys) {
+        Map<Integer, List<String>> partitions = new LinkedHashMap<>();
+        for (String key : keys) {
+            partitions.computeIfAbsent(of(key), slot -> new ArrayList<>()).add(key);
+        }
+        return partitions;
+    }
+
+    static int crc16(byte[] bytes, int start, int end) {
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ bytes[i]) & 0xff]) & 0xffff;
+        }
+        return crc;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static org.swisspush.redisques.util.RedisquesAPI.FILTER;
+import static org.swisspush.redisques.util.RedisquesAPI.LIMIT;
 import static org.swisspush.redisques.util.RedisquesAPI.PAYLOAD;
 
 /**
@@ -34,4 +35,21 @@ public class MessageUtil {
             return Result.err("Error while compile regex pattern. Cause: " + ex.getMessage());
         }
     }
+
+    /**
+     * Extracts the page limit of a paginated operation.
+     *
+     * @return the limit or an empty optional when the operation is not paginated
+     */
+    public static Result<Optional<Integer>, String> extractPageLimit(Message<JsonObject> event) {
+        JsonObject payload = event.body().getJsonObject(PAYLOAD);
+        if (payload == null || payload.getValue(LIMIT) == null) {
+            return Result.ok(Optional.empty());
+        }
+        Object limit = payload.getValue(LIMIT);
+        if (!(limit instanceof Integer) || (Integer) limit < 1) {
+            return Result.err("Limit must be a positive integer value");
+        }
+        return Result.ok(Optional.of((Integer) limit));
+    }
 }
@@ -0,0 +1,42 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Extracts the partition key of queue items from their JSON payload. See
+ * {@link QueueConfiguration#getPartitionKey()}.
+ */
+public final class PartitionKey {
+
+    private PartitionKey() {}
+
+    /**
+     * @param payload the JSON payload of the queue item
+     * @param path    the dot separated path of the field holding the key, e.g. <code>headers.x-partition</code>
+     * @return the value of the field as string or <code>null</code> when the payload is not a JSON object or does
+     * not contain the field
+     */
+    public static String of(String payload, String path) {
+        JsonObject object;
+        try {
+            object = new JsonObject(payload);
+        } catch (DecodeException | ClassCastException e) {
+            return null;
+        }
+        int start = 0;
+        while (true) {
+            int end = path.indexOf('.', start);
+            if (end < 0) {
+                Object value = object.getValue(path.substring(start));
+                return value != null ? value.toString() : null;
+            }
+            Object value = object.getValue(path.substring(start, end));
+            if (!(value instanceof JsonObject)) {
+                return null;
+            }
+            object = (JsonObject) value;
+            start = end + 1;
+        }
+    }
+}
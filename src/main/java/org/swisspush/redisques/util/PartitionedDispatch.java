@@ -0,0 +1,94 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.Handler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatches the items read from the head of a queue by their partition key. The items of a partition are
+ * dispatched one after the other in queue order, the items of different partitions concurrently, at most
+ * <code>concurrency</code> items at a time. Once an item failed, no further items are dispatched.
+ * <p>
+ * The dispatch is not thread safe and is meant to be used from the event loop of a single verticle.
+ */
+public class PartitionedDispatch {
+
+    private static final int PENDING = 0;
+    private static final int IN_FLIGHT = 1;
+    private static final int DONE = 2;
+
+    private final List<String> partitions;
+    private final int concurrency;
+    private final BiConsumer<Integer, Handler<Boolean>> sender;
+    private final Handler<Integer> handler;
+    private final int[] states;
+    private final boolean[] results;
+    private int inFlight = 0;
+    private int done = 0;
+    private boolean failed = false;
+    private boolean finished = false;
+
+    /**
+     * @param partitions  the partition keys of the items, in queue order. <code>null</code> is a valid key.
+     * @param concurrency maximum number of items in flight
+     * @param sender      sends the item at the given position and reports its success
+     * @param handler     called once all dispatched items completed, with the number of items, counted from the
+     *                    head of the queue, which succeeded
+     */
+    public PartitionedDispatch(List<String> partitions, int concurrency, BiConsumer<Integer, Handler<Boolean>> sender,
+                               Handler<Integer> handler) {
+        this.partitions = partitions;
+        this.concurrency = Math.max(1, concurrency);
+        this.sender = sender;
+        this.handler = handler;
+        this.states = new int[partitions.size()];
+        this.results = new boolean[partitions.size()];
+    }
+
+    public void start() {
+        if (partitions.isEmpty()) {
+            handler.handle(0);
+            return;
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        // partitions with an item in flight or an earlier item still pending
+        Set<String> blocked = new HashSet<>();
+        for (int i = 0; i < states.length && inFlight < concurrency && !failed; i++) {
+            if (states[i] == DONE) {
+                continue;
+            }
+            String partition = partitions.get(i);
+            if (blocked.add(partition) && states[i] == PENDING) {
+                states[i] = IN_FLIGHT;
+                inFlight++;
+                final int position = i;
+                sender.accept(position, success -> completed(position, success));
+            }
+        }
+    }
+
+    private void completed(int position, boolean success) {
+        states[position] = DONE;
+        results[position] = success;
+        inFlight--;
+        done++;
+        if (!success) {
+            failed = true;
+        }
+        dispatch();
+        if (!finished && inFlight == 0 && (failed || done == states.length)) {
+            finished = true;
+            int acked = 0;
+            while (acked < results.length && results[acked]) {
+                acked++;
+            }
+            handler.handle(acked);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the payloads of queue items before they are stored in redis.
+ * <p>
+ * A compressed payload starts with a header: the marker bytes <code>0x00 'R' 'Q' 'Z'</code>, the id of the codec and
+ * the length of the uncompressed payload (4 bytes, big endian). Payloads without this header are not compressed, so
+ * items stored before the compression was enabled are still readable. The length in the header is only accepted up
+ * to the maximal deflate ratio of the compressed bytes.
+ */
+public final class PayloadCompression {
+
+    public static final String DEFLATE = "DEFLATE";
+
+    private static final byte[] MARKER = {0, 'R', 'Q', 'Z'};
+    private static final byte DEFLATE_ID = 1;
+    private static final int HEADER_LENGTH = MARKER.length + 1 + 4;
+    private static final int CHUNK_LENGTH = 4096;
+    // deflate can not compress by more than about 1032:1
+    private static final long MAX_DEFLATE_RATIO = 1032;
+
+    private PayloadCompression() {}
+
+    /**
+     * @return <code>true</code> when the given compression is supported, <code>null</code> means no compression
+     */
+    public static boolean isSupported(String compression) {
+        return compression == null || DEFLATE.equals(compression);
+    }
+
+    /**
+     * Compresses the payload with the given compression. The payload is returned unchanged when the compression is
+     * <code>null</code> or when the compressed payload would not be smaller.
+     */
+    public static Buffer compress(Buffer payload, String compression) {
+        if (compression == null) {
+            return payload;
+        }
+        if (!DEFLATE.equals(compression)) {
+            throw new IllegalArgumentException("Unsupported compression " + compression);
+        }
+        byte[] bytes = payload.getBytes();
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+            out.write(MARKER, 0, MARKER.length);
+            out.write(DEFLATE_ID);
+            out.write(bytes.length >>> 24);
+            out.write(bytes.length >>> 16);
+            out.write(bytes.length >>> 8);
+            out.write(bytes.length);
+            byte[] chunk = new byte[CHUNK_LENGTH];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+                if (out.size() >= bytes.length) {
+                    return payload;
+                }
+            }
+            return Buffer.buffer(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses the payload. Payloads without the compression header are returned unchanged.
+     */
+    public static Buffer decompress(Buffer payload) {
+        if (!isCompressed(payload)) {
+            return payload;
+        }
+        int length = payload.getInt(MARKER.length + 1);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload.getBytes(HEADER_LENGTH, payload.length()));
+            // the header length is not trusted, the output grows with the inflated bytes only
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(length, CHUNK_LENGTH));
+            byte[] chunk = new byte[CHUNK_LENGTH];
+            while (out.size() <= length && !inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(chunk, 0, count);
+            }
+            if (out.size() != length || !inflater.finished()) {
+                // not our header after all, keep the payload as it is
+                return payload;
+            }
+            return Buffer.buffer(out.toByteArray());
+        } catch (DataFormatException e) {
+            return payload;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @return <code>true</code> when the payload starts with the header of a supported compression
+     */
+    public static boolean isCompressed(Buffer payload) {
+        if (payload.length() < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MARKER.length; i++) {
+            if (payload.getByte(i) != MARKER[i]) {
+                return false;
+            }
+        }
+        int length = payload.getInt(MARKER.length + 1);
+        return payload.getByte(MARKER.length) == DEFLATE_ID && length >= 0
+                && length <= (payload.length() - HEADER_LENGTH) * MAX_DEFLATE_RATIO;
+    }
+}
@@ -37,6 +37,44 @@ public class QueueConfiguration {
      */
     private int enqueueMaxDelayMillis = 0;
 
+    /**
+     * Number of queue items read from the head of the queue and handed to the processor at once. The items
+     * are removed from the queue when the processor acknowledged them.
+     *
+     * default "0" means: turn of this feature (one item at a time)
+     */
+    private int prefetchCount = 0;
+
+    /**
+     * When prefetching ({@link #prefetchCount}) the items are sent to the processor as one single message
+     * containing all payloads. Otherwise every item is sent as its own message, in queue order.
+     */
+    private boolean prefetchBatch = false;
+
+    /**
+     * When prefetching ({@link #prefetchCount}) without batch, the items are partitioned by this field of their
+     * JSON payload (a dot separated path for nested fields). Items of the same partition are sent one after the
+     * other in queue order, items of different partitions concurrently. Items without the field share a partition.
+     *
+     * default "null" means: all items are sent at once
+     */
+    private String partitionKey = null;
+
+    /**
+     * Maximum number of partitioned items ({@link #partitionKey}) sent to the processor at the same time.
+     *
+     * default "0" means: up to {@link #prefetchCount} items
+     */
+    private int partitionConcurrency = 0;
+
+    /**
+     * Compression of the payloads stored in redis, see {@link PayloadCompression}. The payloads are decompressed
+     * when read, items stored without compression are read as they are.
+     *
+     * default "null" means: no compression
+     */
+    private String compression = null;
+
     public String getPattern() {
         return pattern.pattern();
     }
@@ -63,6 +101,26 @@ public class QueueConfiguration {
         return enqueueMaxDelayMillis;
     }
 
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    public boolean getPrefetchBatch() {
+        return prefetchBatch;
+    }
+
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+
+    public int getPartitionConcurrency() {
+        return partitionConcurrency;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
     public JsonObject asJsonObject() {
         return JsonObject.mapFrom(this);
     }
@@ -102,4 +160,41 @@ public class QueueConfiguration {
         this.enqueueMaxDelayMillis = enqueueMaxDelayMillis;
         return this;
     }
+
+    public QueueConfiguration withPrefetchCount(int prefetchCount) {
+        if (prefetchCount < 0) {
+            throw new IllegalArgumentException("prefetchCount must be >=0 but is " + prefetchCount);
+        }
+        this.prefetchCount = prefetchCount;
+        return this;
+    }
+
+    public QueueConfiguration withPrefetchBatch(boolean prefetchBatch) {
+        this.prefetchBatch = prefetchBatch;
+        return this;
+    }
+
+    public QueueConfiguration withPartitionKey(String partitionKey) {
+        if (partitionKey != null && partitionKey.isEmpty()) {
+            throw new IllegalArgumentException("partitionKey must not be empty");
+        }
+        this.partitionKey = partitionKey;
+        return this;
+    }
+
+    public QueueConfiguration withPartitionConcurrency(int partitionConcurrency) {
+        if (partitionConcurrency < 0) {
+            throw new IllegalArgumentException("partitionConcurrency must be >=0 but is " + partitionConcurrency);
+        }
+        this.partitionConcurrency = partitionConcurrency;
+        return this;
+    }
+
+    public QueueConfiguration withCompression(String compression) {
+        if (!PayloadCompression.isSupported(compression)) {
+            throw new IllegalArgumentException("compression must be null or " + PayloadCompression.DEFLATE + " but is " + compression);
+        }
+        this.compression = compression;
+        return this;
+    }
 }
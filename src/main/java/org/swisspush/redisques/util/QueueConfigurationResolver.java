@@ -0,0 +1,157 @@
+package org.swisspush.redisques.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the {@link QueueConfiguration} of a queue, i.e. the first configuration whose pattern matches the queue
+ * name.
+ * <p>
+ * The resolved configurations are kept in a bounded cache, when the cache is full the least recently used entry is
+ * evicted. Patterns which are a plain literal or a literal followed by <code>.*</code> are matched by a string
+ * comparison instead of the regex. The resolver is not thread safe and is meant to be used from the event loop of a
+ * single verticle.
+ */
+public class QueueConfigurationResolver {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final List<Matcher> matchers;
+    private final int cacheSize;
+    private final Map<String, Resolved> cache;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param cacheSize the maximum number of cached queue names, <code>0</code> disables the cache
+     */
+    public QueueConfigurationResolver(List<QueueConfiguration> queueConfigurations, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must be >=0 but is " + cacheSize);
+        }
+        this.matchers = new ArrayList<>(queueConfigurations.size());
+        for (QueueConfiguration queueConfiguration : queueConfigurations) {
+            matchers.add(new Matcher(queueConfiguration));
+        }
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<String, Resolved>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Resolved> eldest) {
+                return size() > QueueConfigurationResolver.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @return the configuration of the queue or <code>null</code> when no pattern matches
+     */
+    public QueueConfiguration resolve(String queueName) {
+        if (cacheSize == 0) {
+            return match(queueName);
+        }
+        Resolved resolved = cache.get(queueName);
+        if (resolved != null) {
+            hits++;
+            return resolved.queueConfiguration;
+        }
+        misses++;
+        QueueConfiguration queueConfiguration = match(queueName);
+        cache.put(queueName, new Resolved(queueConfiguration));
+        return queueConfiguration;
+    }
+
+    /**
+     * Drops all cached queue names, e.g. after the configuration changed.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private QueueConfiguration match(String queueName) {
+        for (Matcher matcher : matchers) {
+            if (matcher.matches(queueName)) {
+                return matcher.queueConfiguration;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasLineTerminator(String value, int from) {
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (META_CHARACTERS.indexOf(value.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the queue names against the pattern of a configuration, without the regex when possible.
+     */
+    private static class Matcher {
+
+        private final QueueConfiguration queueConfiguration;
+        private final String literal;
+        private final boolean prefix;
+
+        Matcher(QueueConfiguration queueConfiguration) {
+            this.queueConfiguration = queueConfiguration;
+            String pattern = queueConfiguration.compiledPattern().flags() == 0 ? queueConfiguration.getPattern() : null;
+            if (pattern != null && isLiteral(pattern)) {
+                literal = pattern;
+                prefix = false;
+            } else if (pattern != null && pattern.endsWith(".*") && isLiteral(pattern.substring(0, pattern.length() - 2))) {
+                literal = pattern.substring(0, pattern.length() - 2);
+                prefix = true;
+            } else {
+                literal = null;
+                prefix = false;
+            }
+        }
+
+        boolean matches(String queueName) {
+            if (literal == null) {
+                return queueConfiguration.compiledPattern().matcher(queueName).matches();
+            }
+            if (!prefix) {
+                return literal.equals(queueName);
+            }
+            // '.' does not match line terminators
+            return queueName.startsWith(literal) && !hasLineTerminator(queueName, literal.length());
+        }
+    }
+
+    private static class Resolved {
+
+        private final QueueConfiguration queueConfiguration;
+
+        Resolved(QueueConfiguration queueConfiguration) {
+            this.queueConfiguration = queueConfiguration;
+        }
+    }
+}
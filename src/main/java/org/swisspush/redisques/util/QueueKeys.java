@@ -0,0 +1,57 @@
+package org.swisspush.redisques.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds the redis keys of the queues.
+ * <p>
+ * When hash tagged, the queue name is wrapped in a hash tag, e.g. <code>redisques:queues:{my-queue}</code>. The
+ * items and the consumer of a queue are then stored in the same redis cluster slot.
+ */
+public class QueueKeys {
+
+    private final String queuesPrefix;
+    private final String consumersPrefix;
+    private final boolean hashTagged;
+
+    public QueueKeys(String queuesPrefix, String consumersPrefix, boolean hashTagged) {
+        this.queuesPrefix = queuesPrefix;
+        this.consumersPrefix = consumersPrefix;
+        this.hashTagged = hashTagged;
+    }
+
+    /**
+     * @return the key of the list holding the items of the queue
+     */
+    public String queueKey(String queueName) {
+        return queuesPrefix + keyName(queueName);
+    }
+
+    /**
+     * @return the keys of the lists holding the items of the queues, in the order of the queue names
+     */
+    public List<String> queueKeys(Collection<String> queueNames) {
+        List<String> keys = new ArrayList<>(queueNames.size());
+        for (String queueName : queueNames) {
+            keys.add(queueKey(queueName));
+        }
+        return keys;
+    }
+
+    /**
+     * @return the key holding the uid of the registered consumer of the queue
+     */
+    public String consumerKey(String queueName) {
+        return consumersPrefix + keyName(queueName);
+    }
+
+    public boolean isHashTagged() {
+        return hashTagged;
+    }
+
+    private String keyName(String queueName) {
+        return hashTagged ? HashSlot.tag(queueName) : queueName;
+    }
+}
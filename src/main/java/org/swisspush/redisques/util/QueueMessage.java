@@ -0,0 +1,49 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary queue message exchanged on the event bus when binary payloads are enabled. Used to enqueue payloads into a
+ * queue and to hand the payloads of a queue to the processor. The payloads are passed as they are stored in redis,
+ * without string or JSON encoding.
+ * <p>
+ * Within the same vert.x instance, the message is delivered by reference, see {@link QueueMessageCodec}. So the
+ * payloads must not be modified once the message is sent.
+ */
+public class QueueMessage {
+
+    private final String queue;
+    private final List<Buffer> payloads;
+
+    public QueueMessage(String queue, Buffer payload) {
+        this(queue, Collections.singletonList(payload));
+    }
+
+    public QueueMessage(String queue, List<Buffer> payloads) {
+        this.queue = queue;
+        this.payloads = payloads;
+    }
+
+    public String getQueue() {
+        return queue;
+    }
+
+    /**
+     * @return the first payload, the only one unless the message is a prefetch batch
+     */
+    public Buffer getPayload() {
+        return payloads.get(0);
+    }
+
+    public List<Buffer> getPayloads() {
+        return payloads;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueMessage{queue=" + queue + ", payloads=" + payloads.size() + "}";
+    }
+}
@@ -0,0 +1,60 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event bus codec of {@link QueueMessage}. Local deliveries pass the message itself, so the payloads are neither
+ * copied nor encoded. Over the wire, the queue name and the payloads are written length prefixed.
+ */
+public class QueueMessageCodec implements MessageCodec<QueueMessage, QueueMessage> {
+
+    public static final String NAME = "redisques-queue-message";
+
+    @Override
+    public void encodeToWire(Buffer buffer, QueueMessage message) {
+        byte[] queue = message.getQueue().getBytes(StandardCharsets.UTF_8);
+        buffer.appendInt(queue.length).appendBytes(queue);
+        buffer.appendInt(message.getPayloads().size());
+        for (Buffer payload : message.getPayloads()) {
+            buffer.appendInt(payload.length()).appendBuffer(payload);
+        }
+    }
+
+    @Override
+    public QueueMessage decodeFromWire(int pos, Buffer buffer) {
+        int queueLength = buffer.getInt(pos);
+        pos += 4;
+        String queue = buffer.getString(pos, pos + queueLength, StandardCharsets.UTF_8.name());
+        pos += queueLength;
+        int count = buffer.getInt(pos);
+        pos += 4;
+        List<Buffer> payloads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(pos);
+            pos += 4;
+            payloads.add(buffer.getBuffer(pos, pos + length));
+            pos += length;
+        }
+        return new QueueMessage(queue, payloads);
+    }
+
+    @Override
+    public QueueMessage transform(QueueMessage message) {
+        return message;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -9,8 +9,11 @@ import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_BACKPRES
 import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_FAILURES;
 import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_SLOWDOWN;
 import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_SPEED;
+import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_SPEEDS;
 import static org.swisspush.redisques.util.RedisquesAPI.STATUS;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonArray;
@@ -23,12 +26,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
 import org.swisspush.redisques.lua.LuaScriptManager;
 
 /**
@@ -45,33 +49,76 @@ import org.swisspush.redisques.lua.LuaScriptManager;
  * involved). Therefore, we must write the statistics values as well to redis and retrieve them from
  * there once needed. Note that the statistics is written asynch and only in the case of queue
  * failures, therefore it shouldn't happen too often.
+ * <p>
+ * With a flush interval, the changed queues are only marked as dirty and written to redis once per interval by a
+ * single HSET and HDEL for all of them. The redis writes then depend on the number of changed queues instead of the
+ * number of changes, the statistics read from redis lag behind by up to one interval.
+ * <p>
+ * The statistics of a queue are held in a single {@link QueueStats} record. The records are stored in a concurrent
+ * map and updated without locks, so counting a processed message doesn't allocate and the collector may be used
+ * from several event loops.
+ * <p>
+ * With speed windows, the enqueued and the dequeued messages of every queue are counted in {@link SpeedWindows}.
+ * Once a second the counts of the past second are added to redis, to the current bucket of every resolution (1s, 10s,
+ * 1m and 5m). All instances add to the same buckets, so the last complete buckets hold the cluster wide speeds, read
+ * by {@link #getQueuesSpeed(Message, List)} without asking the other instances.
  */
 public class QueueStatisticsCollector {
 
     private static final Logger log = LoggerFactory.getLogger(QueueStatisticsCollector.class);
 
-    private static final String STATSKEY = "redisques:stats";
+    public static final String STATSKEY = "redisques:stats";
     private final static String QUEUE_FAILURES = "failures";
     private final static String QUEUE_BACKPRESSURE = "backpressureTime";
     private final static String QUEUE_SLOWDOWNTIME = "slowdownTime";
+    private final static int FLUSH_CHUNK_SIZE = 1000;
+    private final static String SPEED_ENQUEUED = "enqueued";
+    private final static String SPEED_DEQUEUED = "dequeued";
 
-    private final Map<String, AtomicLong> queueFailureCount = new HashMap<>();
-    private final Map<String, Long> queueBackpressureTime = new HashMap<>();
-    private final Map<String, Long> queueSlowDownTime = new HashMap<>();
-    private final ConcurrentMap<String, AtomicLong> queueMessageSpeedCtr = new ConcurrentHashMap<>();
-    private volatile Map<String, Long> queueMessageSpeed = new HashMap<>();
+    private final ConcurrentMap<String, QueueStats> queueStats = new ConcurrentHashMap<>();
+    private final boolean speedEnabled;
+    private final Set<String> dirtyQueues = ConcurrentHashMap.newKeySet();
+    private final boolean flushDeferred;
+    private final String speedKeyPrefix;
     private final RedisAPI redisAPI;
     private final LuaScriptManager luaScriptManager;
-    private final String queuePrefix;
+    private final QueueKeys queueKeys;
     private final Vertx vertx;
 
     public QueueStatisticsCollector(RedisAPI redisAPI, LuaScriptManager luaScriptManager,
-            String queuePrefix, Vertx vertx, int speedIntervalSec) {
+            QueueKeys queueKeys, Vertx vertx, int speedIntervalSec) {
+        this(redisAPI, luaScriptManager, queueKeys, vertx, speedIntervalSec, 0);
+    }
+
+    /**
+     * @param flushIntervalMs the interval of writing the changed statistics to redis, <code>0</code> writes every
+     *                        change immediately
+     */
+    public QueueStatisticsCollector(RedisAPI redisAPI, LuaScriptManager luaScriptManager,
+            QueueKeys queueKeys, Vertx vertx, int speedIntervalSec, long flushIntervalMs) {
+        this(redisAPI, luaScriptManager, queueKeys, vertx, speedIntervalSec, flushIntervalMs, null);
+    }
+
+    /**
+     * @param speedKeyPrefix the prefix of the redis keys of the speed buckets, <code>null</code> disables the speed
+     *                       windows
+     */
+    public QueueStatisticsCollector(RedisAPI redisAPI, LuaScriptManager luaScriptManager,
+            QueueKeys queueKeys, Vertx vertx, int speedIntervalSec, long flushIntervalMs, String speedKeyPrefix) {
         this.redisAPI = redisAPI;
         this.luaScriptManager = luaScriptManager;
-        this.queuePrefix = queuePrefix;
+        this.queueKeys = queueKeys;
         this.vertx = vertx;
+        this.speedEnabled = speedIntervalSec > 0;
+        this.flushDeferred = flushIntervalMs > 0;
         speedStatisticsScheduler(speedIntervalSec);
+        if (flushDeferred) {
+            vertx.setPeriodic(flushIntervalMs, timerId -> flush());
+        }
+        this.speedKeyPrefix = speedKeyPrefix;
+        if (speedKeyPrefix != null) {
+            vertx.setPeriodic(1000, timerId -> tickSpeedWindows());
+        }
     }
 
     /**
@@ -94,23 +141,15 @@ public class QueueStatisticsCollector {
         vertx.setPeriodic(speedIntervalSec * 1000, timerId -> {
             log.debug("Schedule statistics queue speed collection");
             // remember the accumulated message counter as speed value for the previous
-            // speed measurement interval
-            Map<String, Long> newQueueMessageSpeed = new HashMap<>();
-            Iterator<Entry<String,AtomicLong>> itr = queueMessageSpeedCtr.entrySet().iterator();
-            while(itr.hasNext()){
-                Entry<String, AtomicLong> entry = itr.next();
-                if (entry.getValue().longValue() > 0) {
-                    // The ctr was incremented within the previous speed measurement interval.
-                    // Add the value to the speed map for later retrieval
-                    newQueueMessageSpeed.put(entry.getKey(), entry.getValue().longValue());
+            // speed measurement interval and start again from scratch for the next one
+            for (Entry<String, QueueStats> entry : queueStats.entrySet()) {
+                QueueStats stats = entry.getValue();
+                stats.speed = stats.messages.sumThenReset();
+                if (stats.speed == 0 && stats.isEmpty() && stats.isSpeedWindowsIdle()) {
+                    // idle queue, a message counted concurrently with the removal is lost for the speed
+                    removeIfClean(entry.getKey(), stats);
                 }
-                // Clear the speed message counter in order to start again from scratch
-                // for next interval.
-                itr.remove();
             }
-            // now we exchange the list to the new one and make the new speed values available
-            // for speed retrievals about the previous measurement interval
-            queueMessageSpeed = newQueueMessageSpeed;
             // Note: if we want to have this map persistently available over multiple redisques
             // instances, we would have to store it here after each interval on Redis in an appropriate
             // structure (map of queue-speed). Be aware of the fact that in a real world system the
@@ -131,10 +170,15 @@ public class QueueStatisticsCollector {
      * @param queueName The queue name for which the statistic values must be reset.
      */
     public void resetQueueFailureStatistics(String queueName) {
-        AtomicLong failureCount = queueFailureCount.remove(queueName);
-        queueSlowDownTime.remove(queueName);
-        queueBackpressureTime.remove(queueName);
-        if (failureCount != null && failureCount.get()>0) {
+        QueueStats stats = queueStats.get(queueName);
+        if (stats == null) {
+            return;
+        }
+        long failureCount = stats.clearFailures();
+        if (!speedEnabled && speedKeyPrefix == null) {
+            removeIfClean(queueName, stats);
+        }
+        if (failureCount > 0) {
           // there was a real failure before, therefore we will execute this
           // cleanup as well on Redis itself as we would like to do redis operations
           // only if necessary of course.
@@ -142,6 +186,19 @@ public class QueueStatisticsCollector {
         }
     }
 
+    /**
+     * Does reset the failure statistics values of the given queue in memory only. Used when the
+     * persisted statistics entry is removed together with the queue itself.
+     *
+     * @param queueName The queue name for which the statistic values must be reset.
+     */
+    public void clearQueueFailureStatistics(String queueName) {
+        QueueStats stats = queueStats.get(queueName);
+        if (stats != null) {
+            stats.clearFailures();
+        }
+    }
+
     /**
      * Does reset all failure statistics values of all given queues. In memory but as well the persisted
      * ones in redis.
@@ -165,15 +222,95 @@ public class QueueStatisticsCollector {
      * @param queueName The name of the queue for which success must be processed.
      */
     public void queueMessageSuccess(String queueName) {
+        queueMessageSuccess(queueName, 1);
+    }
+
+    /**
+     * Signals the successful distribution of several messages on the given queue.
+     * Note: Increments the message counter for the given queue by the given count.
+     *
+     * @param queueName The name of the queue for which success must be processed.
+     * @param count The number of messages successfully distributed.
+     */
+    public void queueMessageSuccess(String queueName, int count) {
         // count the number of messages per queue for interval speed evaluation.
-        AtomicLong messageCtr = queueMessageSpeedCtr.putIfAbsent(queueName, new AtomicLong(1));
-        if (messageCtr != null) {
-            messageCtr.incrementAndGet();
+        if (speedEnabled) {
+            stats(queueName).messages.add(count);
+        }
+        if (speedKeyPrefix != null) {
+            stats(queueName).dequeued().add(count);
         }
         // whenever there is a message successfully sent, our failure statistics could be reset as well
         resetQueueFailureStatistics(queueName);
     }
 
+    /**
+     * Signals messages enqueued into the given queue. The messages are counted by the speed windows only.
+     *
+     * @param queueName The name of the queue
+     * @param count The number of enqueued messages
+     */
+    public void queueMessageEnqueued(String queueName, int count) {
+        if (speedKeyPrefix != null) {
+            stats(queueName).enqueued().add(count);
+        }
+    }
+
+    /**
+     * Closes the current second of the speed windows of all queues and adds the counts to the current redis
+     * buckets. The records of idle queues are removed.
+     */
+    private void tickSpeedWindows() {
+        long now = System.currentTimeMillis() / 1000;
+        List<String> bucketKeys = new ArrayList<>(SpeedWindows.Resolution.values().length);
+        List<String> ttls = new ArrayList<>(SpeedWindows.Resolution.values().length);
+        for (SpeedWindows.Resolution resolution : SpeedWindows.Resolution.values()) {
+            bucketKeys.add(speedBucketKey(resolution, now / resolution.getSeconds()));
+            // the bucket is read until the end of the following bucket
+            ttls.add(String.valueOf(3 * resolution.getSeconds() + 5));
+        }
+        List<String> counts = new ArrayList<>();
+        for (Entry<String, QueueStats> entry : queueStats.entrySet()) {
+            QueueStats stats = entry.getValue();
+            if (stats.enqueued == null) {
+                continue;
+            }
+            long enqueued = stats.enqueued.tick();
+            long dequeued = stats.dequeued.tick();
+            if (enqueued > 0) {
+                counts.add("e:" + entry.getKey());
+                counts.add(String.valueOf(enqueued));
+            }
+            if (dequeued > 0) {
+                counts.add("d:" + entry.getKey());
+                counts.add(String.valueOf(dequeued));
+            }
+            if (counts.size() >= 2 * FLUSH_CHUNK_SIZE) {
+                mergeSpeedCounts(bucketKeys, ttls, counts);
+                counts = new ArrayList<>();
+            }
+            if (stats.isSpeedWindowsIdle() && stats.isEmpty() && stats.speed == 0 && stats.messages.sum() == 0) {
+                // a message counted concurrently with the removal is lost for the speed
+                removeIfClean(entry.getKey(), stats);
+            }
+        }
+        if (!counts.isEmpty()) {
+            mergeSpeedCounts(bucketKeys, ttls, counts);
+        }
+    }
+
+    private void mergeSpeedCounts(List<String> bucketKeys, List<String> ttls, List<String> counts) {
+        luaScriptManager.handleSpeedMerge(bucketKeys, ttls, counts, result -> {
+            if (result.failed()) {
+                log.warn("Failed to merge the speed of {} queues into redis", counts.size() / 2, result.cause());
+            }
+        });
+    }
+
+    private String speedBucketKey(SpeedWindows.Resolution resolution, long bucket) {
+        return speedKeyPrefix + resolution.getSeconds() + ":" + bucket;
+    }
+
     /**
      * Retrieves the current queue speed in msg/time-unit for the requested queue
      *
@@ -185,11 +322,8 @@ public class QueueStatisticsCollector {
      * @return The latest queue speed (msg/ time-unit) for the given queue name
      */
     private long getQueueSpeed(String queueName) {
-        Long speed = queueMessageSpeed.get(queueName);
-        if (speed != null) {
-            return speed;
-        }
-        return 0;
+        QueueStats stats = queueStats.get(queueName);
+        return stats != null ? stats.speed : 0;
     }
 
     /**
@@ -204,11 +338,7 @@ public class QueueStatisticsCollector {
      * @return The new value of the counter after the incrementation.
      */
     public long queueMessageFailed(String queueName) {
-        long newFailureCount = 1;
-        AtomicLong failureCount = queueFailureCount.putIfAbsent(queueName, new AtomicLong(newFailureCount));
-        if (failureCount != null) {
-            newFailureCount = failureCount.addAndGet(1);
-        }
+        long newFailureCount = update(queueName, stats -> QueueStats.FAILURES.incrementAndGet(stats));
         updateStatisticsInRedis(queueName);
         return newFailureCount;
     }
@@ -225,11 +355,8 @@ public class QueueStatisticsCollector {
      * @return The evaluated failure count for the given queue name
      */
     public long getQueueFailureCount(String queueName) {
-        AtomicLong count = queueFailureCount.get(queueName);
-        if (count != null) {
-            return count.longValue();
-        }
-        return 0;
+        QueueStats stats = queueStats.get(queueName);
+        return stats != null ? stats.failures : 0;
     }
 
     /**
@@ -240,11 +367,20 @@ public class QueueStatisticsCollector {
      */
     public void setQueueBackPressureTime(String queueName, long time) {
         if (time > 0) {
-            queueBackpressureTime.put(queueName, time);
-            updateStatisticsInRedis(queueName);
+            long changed = update(queueName, stats -> {
+                if (stats.backpressureTime == time) {
+                    return 0;
+                }
+                stats.backpressureTime = time;
+                return 1;
+            });
+            if (changed > 0) {
+                updateStatisticsInRedis(queueName);
+            }
         } else {
-            Long lastTime = queueBackpressureTime.remove(queueName);
-            if (lastTime!=null){
+            QueueStats stats = queueStats.get(queueName);
+            if (stats != null && stats.backpressureTime > 0) {
+                stats.backpressureTime = 0;
                 updateStatisticsInRedis(queueName);
             }
         }
@@ -261,7 +397,8 @@ public class QueueStatisticsCollector {
      * @return The evaluated failure count for the given queue name
      */
     private long getQueueBackPressureTime(String queueName) {
-        return queueBackpressureTime.getOrDefault(queueName, 0L);
+        QueueStats stats = queueStats.get(queueName);
+        return stats != null ? stats.backpressureTime : 0;
     }
 
     /**
@@ -272,11 +409,20 @@ public class QueueStatisticsCollector {
      */
     public void setQueueSlowDownTime(String queueName, long time) {
         if (time > 0) {
-            queueSlowDownTime.put(queueName, time);
-            updateStatisticsInRedis(queueName);
+            long changed = update(queueName, stats -> {
+                if (stats.slowdownTime == time) {
+                    return 0;
+                }
+                stats.slowdownTime = time;
+                return 1;
+            });
+            if (changed > 0) {
+                updateStatisticsInRedis(queueName);
+            }
         } else {
-            Long lastTime = queueSlowDownTime.remove(queueName);
-            if (lastTime!=null){
+            QueueStats stats = queueStats.get(queueName);
+            if (stats != null && stats.slowdownTime > 0) {
+                stats.slowdownTime = 0;
                 updateStatisticsInRedis(queueName);
             }
         }
@@ -293,16 +439,128 @@ public class QueueStatisticsCollector {
      * @return The evaluated failure count for the given queue name
      */
     private long getQueueSlowDownTime(String queueName) {
-        return queueSlowDownTime.getOrDefault(queueName, 0L);
+        QueueStats stats = queueStats.get(queueName);
+        return stats != null ? stats.slowdownTime : 0;
+    }
+
+    /**
+     * @return the statistics record of the queue, created when the queue has none yet
+     */
+    private QueueStats stats(String queueName) {
+        QueueStats stats = queueStats.get(queueName);
+        if (stats == null) {
+            stats = queueStats.computeIfAbsent(queueName, name -> new QueueStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Applies a failure, backpressure or slowdown update to the record of the queue. The update is done while the
+     * map holds the record, so it can not be lost by a concurrent {@link #removeIfClean(String, QueueStats)}.
+     *
+     * @return the result of the update
+     */
+    private long update(String queueName, ToLongFunction<QueueStats> update) {
+        long[] result = new long[1];
+        queueStats.compute(queueName, (name, stats) -> {
+            QueueStats current = stats != null ? stats : new QueueStats();
+            result[0] = update.applyAsLong(current);
+            return current;
+        });
+        return result[0];
+    }
+
+    /**
+     * Removes the record of the queue, but only when it is still the given record and holds no failure statistics.
+     */
+    private void removeIfClean(String queueName, QueueStats stats) {
+        queueStats.computeIfPresent(queueName, (name, current) -> current == stats && current.isEmpty() ? null : current);
     }
 
     /**
      * Write all the collected failure statistics for the given Queue to
      * redis for later usage if somebody requests the queue statistics.
      * If there are no valid useful data available eg. all 0, the corresponding
-     * statistics entry is removed from redis
+     * statistics entry is removed from redis.
+     * With a flush interval, the queue is only marked to be written by the next {@link #flush()}.
      */
     private void updateStatisticsInRedis(String queueName) {
+        if (flushDeferred) {
+            dirtyQueues.add(queueName);
+            return;
+        }
+        String statistics = statisticsValue(queueName);
+        if (statistics != null) {
+            redisAPI.hset(List.of(STATSKEY, queueName, statistics), emptyHandler -> {
+            });
+        } else {
+            redisAPI.hdel(List.of(STATSKEY, queueName), emptyHandler -> {
+            });
+        }
+    }
+
+    /**
+     * Writes the statistics of all queues changed since the last flush to redis, by one HSET for the queues with
+     * statistics and one HDEL for the queues without (per chunk of queues).
+     */
+    public void flush() {
+        if (dirtyQueues.isEmpty()) {
+            return;
+        }
+        List<String> hsetArgs = new ArrayList<>();
+        List<String> hdelArgs = new ArrayList<>();
+        Iterator<String> itr = dirtyQueues.iterator();
+        while (itr.hasNext()) {
+            String queueName = itr.next();
+            // removed before reading the values, a concurrent change marks the queue again for the next flush
+            itr.remove();
+            String statistics = statisticsValue(queueName);
+            if (statistics != null) {
+                if (hsetArgs.isEmpty()) {
+                    hsetArgs.add(STATSKEY);
+                }
+                hsetArgs.add(queueName);
+                hsetArgs.add(statistics);
+                if (hsetArgs.size() > 2 * FLUSH_CHUNK_SIZE) {
+                    sendFlush(hsetArgs, true);
+                    hsetArgs = new ArrayList<>();
+                }
+            } else {
+                if (hdelArgs.isEmpty()) {
+                    hdelArgs.add(STATSKEY);
+                }
+                hdelArgs.add(queueName);
+                if (hdelArgs.size() > FLUSH_CHUNK_SIZE) {
+                    sendFlush(hdelArgs, false);
+                    hdelArgs = new ArrayList<>();
+                }
+            }
+        }
+        sendFlush(hsetArgs, true);
+        sendFlush(hdelArgs, false);
+    }
+
+    private void sendFlush(List<String> args, boolean hset) {
+        if (args.isEmpty()) {
+            return;
+        }
+        Handler<AsyncResult<Response>> handler = result -> {
+            if (result.failed()) {
+                log.warn("Failed to write the statistics of {} queues to redis", hset ? (args.size() - 1) / 2
+                        : args.size() - 1, result.cause());
+            }
+        };
+        if (hset) {
+            redisAPI.hset(args, handler);
+        } else {
+            redisAPI.hdel(args, handler);
+        }
+    }
+
+    /**
+     * @return the statistics of the queue as stored in redis, <code>null</code> when there are none
+     */
+    private String statisticsValue(String queueName) {
         long failures = getQueueFailureCount(queueName);
         long slowDownTime = getQueueSlowDownTime(queueName);
         long backpressureTime = getQueueBackPressureTime(queueName);
@@ -312,11 +570,70 @@ public class QueueStatisticsCollector {
             obj.put(QUEUE_FAILURES, failures);
             obj.put(QUEUE_SLOWDOWNTIME, slowDownTime);
             obj.put(QUEUE_BACKPRESSURE, backpressureTime);
-            redisAPI.hset(List.of(STATSKEY, queueName, obj.toString()), emptyHandler -> {
-            });
-        } else {
-            redisAPI.hdel(List.of(STATSKEY, queueName), emptyHandler -> {
-            });
+            return obj.toString();
+        }
+        return null;
+    }
+
+    /**
+     * The statistics of a queue collected by this instance.
+     */
+    private static final class QueueStats {
+
+        private static final AtomicLongFieldUpdater<QueueStats> FAILURES =
+                AtomicLongFieldUpdater.newUpdater(QueueStats.class, "failures");
+
+        private final LongAdder messages = new LongAdder();
+        private volatile SpeedWindows enqueued;
+        private volatile SpeedWindows dequeued;
+        private volatile long speed;
+        private volatile long failures;
+        private volatile long backpressureTime;
+        private volatile long slowdownTime;
+
+        /**
+         * Resets the failure statistics.
+         *
+         * @return the failure count before the reset
+         */
+        long clearFailures() {
+            long failureCount = failures == 0 ? 0 : FAILURES.getAndSet(this, 0);
+            if (backpressureTime != 0) {
+                backpressureTime = 0;
+            }
+            if (slowdownTime != 0) {
+                slowdownTime = 0;
+            }
+            return failureCount;
+        }
+
+        boolean isEmpty() {
+            return failures == 0 && backpressureTime == 0 && slowdownTime == 0;
+        }
+
+        SpeedWindows enqueued() {
+            if (enqueued == null) {
+                createSpeedWindows();
+            }
+            return enqueued;
+        }
+
+        SpeedWindows dequeued() {
+            if (dequeued == null) {
+                createSpeedWindows();
+            }
+            return dequeued;
+        }
+
+        private synchronized void createSpeedWindows() {
+            if (enqueued == null) {
+                dequeued = new SpeedWindows();
+                enqueued = new SpeedWindows();
+            }
+        }
+
+        boolean isSpeedWindowsIdle() {
+            return enqueued == null || (enqueued.isIdle() && dequeued.isIdle());
         }
     }
 
@@ -408,17 +725,15 @@ public class QueueStatisticsCollector {
         // Note: If a queue doesn't exists, it will anyway return 0 for the same, therefore
         //       the size of the returned queues must be equal in any case and has the same
         //       order as the requested queues.
-        List<String> queueKeys = queues.stream().map(queue -> queuePrefix + queue).collect(
-            Collectors.toList());
-        luaScriptManager.handleMultiListLength(queueKeys, queueListLength -> {
+        luaScriptManager.handleMultiListLength(queueKeys.queueKeys(queues), queueListLength -> {
             if (queueListLength == null) {
                 log.error("Unexepected queue MultiListLength result null");
                 event.reply(new JsonObject().put(STATUS, ERROR));
                 return;
             }
-            if (queueListLength.size() != queues.size()) {
+            if (queueListLength.length != queues.size()) {
                 log.error("Unexpected queue MultiListLength result with unequal size {} : {}",
-                    queues.size(), queueListLength.size());
+                    queues.size(), queueListLength.length);
                 event.reply(new JsonObject().put(STATUS, ERROR));
                 return;
             }
@@ -426,7 +741,7 @@ public class QueueStatisticsCollector {
             final HashMap<String, QueueStatistic> statisticsMap = new HashMap<>();
             for (int i = 0; i < queues.size(); i++) {
                 QueueStatistic qs = new QueueStatistic(queues.get(i));
-                qs.setSize(queueListLength.get(i));
+                qs.setSize(queueListLength[i]);
                 qs.setMessageSpeed(getQueueSpeed(qs.queueName));
                 statisticsMap.put(qs.queueName, qs);
             }
@@ -479,7 +794,11 @@ public class QueueStatisticsCollector {
     public void getQueuesSpeed(Message<JsonObject> event, final List<String> queues) {
         if (queues == null || queues.isEmpty()) {
             log.debug("No matching filtered queues given");
-            event.reply(new JsonObject().put(STATUS, OK).put(STATISTIC_QUEUE_SPEED, 0L));
+            JsonObject reply = new JsonObject().put(STATUS, OK).put(STATISTIC_QUEUE_SPEED, 0L);
+            if (speedKeyPrefix != null) {
+                reply.put(STATISTIC_QUEUE_SPEEDS, speedsAsJsonObject(new long[2 * SpeedWindows.Resolution.values().length]));
+            }
+            event.reply(reply);
             return;
         }
         // loop over all queues and summarize the currently available speed values
@@ -487,7 +806,78 @@ public class QueueStatisticsCollector {
         for (String queue: queues) {
             speed = speed + getQueueSpeed(queue);
         }
-        event.reply(new JsonObject().put(STATUS, OK).put(STATISTIC_QUEUE_SPEED, speed));
+        JsonObject reply = new JsonObject().put(STATUS, OK).put(STATISTIC_QUEUE_SPEED, speed);
+        if (speedKeyPrefix == null) {
+            event.reply(reply);
+            return;
+        }
+        readSpeedWindows(queues, speeds -> event.reply(reply.put(STATISTIC_QUEUE_SPEEDS, speedsAsJsonObject(speeds))));
+    }
+
+    /**
+     * Reads the cluster wide speeds of the given queues from the last complete redis bucket of every resolution.
+     * When redis can't be read, the speeds counted by this instance are used instead.
+     *
+     * @param handler gets the enqueued and the dequeued count of every resolution
+     */
+    private void readSpeedWindows(List<String> queues, Handler<long[]> handler) {
+        SpeedWindows.Resolution[] resolutions = SpeedWindows.Resolution.values();
+        long now = System.currentTimeMillis() / 1000;
+        List<String> bucketKeys = new ArrayList<>(resolutions.length);
+        for (SpeedWindows.Resolution resolution : resolutions) {
+            bucketKeys.add(speedBucketKey(resolution, now / resolution.getSeconds() - 1));
+        }
+        final long[] speeds = new long[2 * resolutions.length];
+        final int[] pending = {(queues.size() + FLUSH_CHUNK_SIZE - 1) / FLUSH_CHUNK_SIZE};
+        final boolean[] failed = {false};
+        for (int from = 0; from < queues.size(); from += FLUSH_CHUNK_SIZE) {
+            List<String> fields = new ArrayList<>();
+            for (String queue : queues.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, queues.size()))) {
+                fields.add("e:" + queue);
+                fields.add("d:" + queue);
+            }
+            luaScriptManager.handleSpeedRead(bucketKeys, fields, result -> {
+                if (result.succeeded() && result.result() != null) {
+                    for (int i = 0; i < speeds.length && i < result.result().size(); i++) {
+                        speeds[i] += result.result().get(i).toLong();
+                    }
+                } else {
+                    log.warn("Failed to read the speed of the queues from redis, using the local speed",
+                            result.cause());
+                    failed[0] = true;
+                }
+                if (--pending[0] == 0) {
+                    handler.handle(failed[0] ? localSpeeds(queues) : speeds);
+                }
+            });
+        }
+    }
+
+    private long[] localSpeeds(List<String> queues) {
+        SpeedWindows.Resolution[] resolutions = SpeedWindows.Resolution.values();
+        long[] speeds = new long[2 * resolutions.length];
+        for (String queue : queues) {
+            QueueStats stats = queueStats.get(queue);
+            if (stats == null || stats.enqueued == null) {
+                continue;
+            }
+            for (int i = 0; i < resolutions.length; i++) {
+                speeds[2 * i] += stats.enqueued.get(resolutions[i]);
+                speeds[2 * i + 1] += stats.dequeued.get(resolutions[i]);
+            }
+        }
+        return speeds;
+    }
+
+    private static JsonObject speedsAsJsonObject(long[] speeds) {
+        JsonObject enqueued = new JsonObject();
+        JsonObject dequeued = new JsonObject();
+        SpeedWindows.Resolution[] resolutions = SpeedWindows.Resolution.values();
+        for (int i = 0; i < resolutions.length; i++) {
+            enqueued.put(resolutions[i].getLabel(), speeds[2 * i]);
+            dequeued.put(resolutions[i].getLabel(), speeds[2 * i + 1]);
+        }
+        return new JsonObject().put(SPEED_ENQUEUED, enqueued).put(SPEED_DEQUEUED, dequeued);
     }
 
 }
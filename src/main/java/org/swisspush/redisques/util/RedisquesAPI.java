@@ -15,6 +15,7 @@ public class RedisquesAPI {
     public static final String INFO = "info";
     public static final String INDEX = "index";
     public static final String LIMIT = "limit";
+    public static final String CURSOR = "cursor";
     public static final String VALUE = "value";
     public static final String ERROR = "error";
     public static final String ERROR_TYPE = "errorType";
@@ -22,7 +23,9 @@ public class RedisquesAPI {
     public static final String BUFFER = "buffer";
     public static final String STATUS = "status";
     public static final String MESSAGE = "message";
+    public static final String MESSAGES = "messages";
     public static final String PAYLOAD = "payload";
+    public static final String PAYLOADS = "payloads";
     public static final String QUEUENAME = "queuename";
     public static final String FILTER = "filter";
     public static final String COUNT = "count";
@@ -42,6 +45,7 @@ public class RedisquesAPI {
     public static final String STATISTIC_QUEUE_BACKPRESSURE = "backpressureTime";
     public static final String STATISTIC_QUEUE_SLOWDOWN = "slowdownTime";
     public static final String STATISTIC_QUEUE_SPEED = "speed";
+    public static final String STATISTIC_QUEUE_SPEEDS = "speeds";
     public static final String STATISTIC_QUEUE_SPEED_INTERVAL_UNIT= "unitSec";
 
     private static Logger log = LoggerFactory.getLogger(RedisquesAPI.class);
@@ -49,6 +53,7 @@ public class RedisquesAPI {
     public enum QueueOperation {
         enqueue(null),
         lockedEnqueue(null),
+        bulkEnqueue(null),
         getConfiguration(null),
         setConfiguration(null),
         check(null),
@@ -72,6 +77,7 @@ public class RedisquesAPI {
         getQueuesCount(null),
         getQueueItemsCount(null),
         getQueuesItemsCount(null),
+        getLargestQueues(null),
         getQueuesStatistics(null),
         getQueuesSpeed(null);
 
@@ -132,6 +138,17 @@ public class RedisquesAPI {
         return operation;
     }
 
+    /**
+     * @param messages array of json objects having a <code>queuename</code> and a <code>message</code> property
+     */
+    public static JsonObject buildBulkEnqueueOperation(JsonArray messages){
+        return buildOperation(QueueOperation.bulkEnqueue, new JsonObject().put(MESSAGES, messages));
+    }
+
+    public static JsonObject buildBulkEnqueueMessage(String queueName, String message){
+        return new JsonObject().put(QUEUENAME, queueName).put(MESSAGE, message);
+    }
+
     public static JsonObject buildGetQueueItemsOperation(String queueName, String limit){
         return buildOperation(QueueOperation.getQueueItems, new JsonObject().put(QUEUENAME, queueName).put(LIMIT, limit));
     }
@@ -180,6 +197,20 @@ public class RedisquesAPI {
         }
     }
 
+    /**
+     * Lists a page of the queues matching the optional given filter pattern.
+     *
+     * @param filterPattern
+     *      Filter pattern. Method handles {@code null} gracefully.
+     * @param limit
+     *      Number of queues to scan for the page. The page may contain more or less queues.
+     * @param cursor
+     *      Cursor returned with the previous page or {@code null} to get the first page.
+     */
+    public static JsonObject buildGetQueuesOperation(String filterPattern, int limit, String cursor) {
+        return buildOperation(QueueOperation.getQueues, buildPagePayload(filterPattern, limit, cursor));
+    }
+
     /**
      * Evaluate the size of all queues matching the optional given filter pattern.
      */
@@ -217,6 +248,39 @@ public class RedisquesAPI {
         return buildOperation(QueueOperation.getQueuesItemsCount, new JsonObject().put(FILTER, filter));
     }
 
+    /**
+     * Evaluate the size of a page of the queues according to the given filter
+     *
+     * @see #buildGetQueuesOperation(String, int, String)
+     */
+    public static JsonObject buildGetQueuesItemsCountOperation(String filter, int limit, String cursor){
+        return buildOperation(QueueOperation.getQueuesItemsCount, buildPagePayload(filter, limit, cursor));
+    }
+
+    /**
+     * Evaluate the largest not empty queues with their size, the largest queue first. Requires the queue size index
+     * to be enabled.
+     *
+     * @param limit the maximum number of queues to return, <code>0</code> for all not empty queues
+     */
+    public static JsonObject buildGetLargestQueuesOperation(int limit){
+        if (limit > 0) {
+            return buildOperation(QueueOperation.getLargestQueues, new JsonObject().put(LIMIT, limit));
+        }
+        return buildOperation(QueueOperation.getLargestQueues);
+    }
+
+    private static JsonObject buildPagePayload(String filter, int limit, String cursor) {
+        JsonObject payload = new JsonObject().put(LIMIT, limit);
+        if (filter != null) {
+            payload.put(FILTER, filter);
+        }
+        if (cursor != null) {
+            payload.put(CURSOR, cursor);
+        }
+        return payload;
+    }
+
      public static JsonObject buildGetLockOperation(String queueName){
         return buildOperation(QueueOperation.getLock, new JsonObject().put(QUEUENAME, queueName));
     }
@@ -36,6 +36,27 @@ public class RedisquesConfiguration {
     private int maxPoolSize;
     private int maxWaitSize;
     private int queueSpeedIntervalSec;
+    private boolean atomicDequeueEnabled;
+    private boolean consistentHashOwnershipEnabled;
+    private boolean fusedEnqueueEnabled;
+    private int consumerCacheSize;
+    private boolean leaseRenewalEnabled;
+    private int leaseRenewalChunkSize = DEFAULT_LEASE_RENEWAL_CHUNK_SIZE;
+    private boolean incrementalCheckEnabled;
+    private int checkPageSize = DEFAULT_CHECK_PAGE_SIZE;
+    private int multiListLengthChunkSize = DEFAULT_MULTI_LIST_LENGTH_CHUNK_SIZE;
+    private int multiListLengthConcurrency = DEFAULT_MULTI_LIST_LENGTH_CONCURRENCY;
+    private boolean queueSizeIndexEnabled;
+    private boolean metricsEnabled;
+    private boolean consumerIndexEnabled;
+    private boolean lazyDeleteEnabled;
+    private int lazyDeleteChunkSize = DEFAULT_LAZY_DELETE_CHUNK_SIZE;
+    private String redisClientType = DEFAULT_REDIS_CLIENT_TYPE;
+    private String queueStorage = DEFAULT_QUEUE_STORAGE;
+    private boolean binaryPayloadsEnabled;
+    private int queueConfigurationCacheSize = DEFAULT_QUEUE_CONFIGURATION_CACHE_SIZE;
+    private int statisticsFlushIntervalMs = DEFAULT_STATISTICS_FLUSH_INTERVAL_MS;
+    private boolean queueSpeedWindowsEnabled;
 
     private static final int DEFAULT_CHECK_INTERVAL = 60; // 60s
     private static final long DEFAULT_PROCESSOR_DELAY_MAX = 0;
@@ -48,6 +69,15 @@ public class RedisquesConfiguration {
     // - https://stackoverflow.com/questions/59692663/vertx-java-httpclient-how-to-derive-maxpoolsize-and-maxwaitqueuesize-values-and
     private static final int DEFAULT_REDIS_MAX_WAIT_SIZE = -1;
     private static final int DEFAULT_QUEUE_SPEED_INTERVAL_SEC = 60;
+    private static final int DEFAULT_LEASE_RENEWAL_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_CHECK_PAGE_SIZE = 1000;
+    private static final int DEFAULT_MULTI_LIST_LENGTH_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_MULTI_LIST_LENGTH_CONCURRENCY = 4;
+    private static final int DEFAULT_LAZY_DELETE_CHUNK_SIZE = 1000;
+    private static final String DEFAULT_REDIS_CLIENT_TYPE = "STANDALONE";
+    private static final String DEFAULT_QUEUE_STORAGE = "LIST";
+    private static final int DEFAULT_QUEUE_CONFIGURATION_CACHE_SIZE = 10000;
+    private static final int DEFAULT_STATISTICS_FLUSH_INTERVAL_MS = 1000;
 
     public static final String PROP_ADDRESS = "address";
     public static final String PROP_CONFIGURATION_UPDATED_ADDRESS = "configuration-updated-address";
@@ -69,6 +99,27 @@ public class RedisquesConfiguration {
     public static final String PROP_ENABLE_QUEUE_NAME_DECODING = "enableQueueNameDecoding";
     public static final String PROP_REDIS_MAX_POOL_SIZE = "maxPoolSize";
     public static final String PROP_QUEUE_SPEED_INTERVAL_SEC = "queueSpeedIntervalSec";
+    public static final String PROP_ATOMIC_DEQUEUE_ENABLED = "atomicDequeueEnabled";
+    public static final String PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED = "consistentHashOwnershipEnabled";
+    public static final String PROP_FUSED_ENQUEUE_ENABLED = "fusedEnqueueEnabled";
+    public static final String PROP_CONSUMER_CACHE_SIZE = "consumerCacheSize";
+    public static final String PROP_LEASE_RENEWAL_ENABLED = "leaseRenewalEnabled";
+    public static final String PROP_LEASE_RENEWAL_CHUNK_SIZE = "leaseRenewalChunkSize";
+    public static final String PROP_INCREMENTAL_CHECK_ENABLED = "incrementalCheckEnabled";
+    public static final String PROP_CHECK_PAGE_SIZE = "checkPageSize";
+    public static final String PROP_MULTI_LIST_LENGTH_CHUNK_SIZE = "multiListLengthChunkSize";
+    public static final String PROP_MULTI_LIST_LENGTH_CONCURRENCY = "multiListLengthConcurrency";
+    public static final String PROP_QUEUE_SIZE_INDEX_ENABLED = "queueSizeIndexEnabled";
+    public static final String PROP_METRICS_ENABLED = "metricsEnabled";
+    public static final String PROP_CONSUMER_INDEX_ENABLED = "consumerIndexEnabled";
+    public static final String PROP_LAZY_DELETE_ENABLED = "lazyDeleteEnabled";
+    public static final String PROP_LAZY_DELETE_CHUNK_SIZE = "lazyDeleteChunkSize";
+    public static final String PROP_REDIS_CLIENT_TYPE = "redisClientType";
+    public static final String PROP_QUEUE_STORAGE = "queueStorage";
+    public static final String PROP_BINARY_PAYLOADS_ENABLED = "binaryPayloadsEnabled";
+    public static final String PROP_QUEUE_CONFIGURATION_CACHE_SIZE = "queueConfigurationCacheSize";
+    public static final String PROP_STATISTICS_FLUSH_INTERVAL_MS = "statisticsFlushIntervalMs";
+    public static final String PROP_QUEUE_SPEED_WINDOWS_ENABLED = "queueSpeedWindowsEnabled";
 
     /**
      * Constructor with default values. Use the {@link RedisquesConfigurationBuilder} class
@@ -151,6 +202,27 @@ public class RedisquesConfiguration {
             builder.httpRequestHandlerUserHeader, builder.queueConfigurations,
             builder.enableQueueNameDecoding, builder.maxPoolSize, builder.maxWaitSize,
             builder.queueSpeedIntervalSec);
+        this.atomicDequeueEnabled = builder.atomicDequeueEnabled;
+        this.consistentHashOwnershipEnabled = builder.consistentHashOwnershipEnabled;
+        this.fusedEnqueueEnabled = builder.fusedEnqueueEnabled;
+        this.consumerCacheSize = builder.consumerCacheSize;
+        this.leaseRenewalEnabled = builder.leaseRenewalEnabled;
+        this.leaseRenewalChunkSize = builder.leaseRenewalChunkSize;
+        this.incrementalCheckEnabled = builder.incrementalCheckEnabled;
+        this.checkPageSize = builder.checkPageSize;
+        this.multiListLengthChunkSize = builder.multiListLengthChunkSize;
+        this.multiListLengthConcurrency = builder.multiListLengthConcurrency;
+        this.queueSizeIndexEnabled = builder.queueSizeIndexEnabled;
+        this.metricsEnabled = builder.metricsEnabled;
+        this.consumerIndexEnabled = builder.consumerIndexEnabled;
+        this.lazyDeleteEnabled = builder.lazyDeleteEnabled;
+        this.lazyDeleteChunkSize = builder.lazyDeleteChunkSize;
+        this.redisClientType = builder.redisClientType;
+        this.queueStorage = builder.queueStorage;
+        this.binaryPayloadsEnabled = builder.binaryPayloadsEnabled;
+        this.queueConfigurationCacheSize = builder.queueConfigurationCacheSize;
+        this.statisticsFlushIntervalMs = builder.statisticsFlushIntervalMs;
+        this.queueSpeedWindowsEnabled = builder.queueSpeedWindowsEnabled;
     }
 
     public JsonObject asJsonObject() {
@@ -175,6 +247,27 @@ public class RedisquesConfiguration {
         obj.put(PROP_ENABLE_QUEUE_NAME_DECODING, getEnableQueueNameDecoding());
         obj.put(PROP_REDIS_MAX_POOL_SIZE, getMaxPoolSize());
         obj.put(PROP_QUEUE_SPEED_INTERVAL_SEC, getQueueSpeedIntervalSec());
+        obj.put(PROP_ATOMIC_DEQUEUE_ENABLED, getAtomicDequeueEnabled());
+        obj.put(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED, getConsistentHashOwnershipEnabled());
+        obj.put(PROP_FUSED_ENQUEUE_ENABLED, getFusedEnqueueEnabled());
+        obj.put(PROP_CONSUMER_CACHE_SIZE, getConsumerCacheSize());
+        obj.put(PROP_LEASE_RENEWAL_ENABLED, getLeaseRenewalEnabled());
+        obj.put(PROP_LEASE_RENEWAL_CHUNK_SIZE, getLeaseRenewalChunkSize());
+        obj.put(PROP_INCREMENTAL_CHECK_ENABLED, getIncrementalCheckEnabled());
+        obj.put(PROP_CHECK_PAGE_SIZE, getCheckPageSize());
+        obj.put(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE, getMultiListLengthChunkSize());
+        obj.put(PROP_MULTI_LIST_LENGTH_CONCURRENCY, getMultiListLengthConcurrency());
+        obj.put(PROP_QUEUE_SIZE_INDEX_ENABLED, getQueueSizeIndexEnabled());
+        obj.put(PROP_METRICS_ENABLED, getMetricsEnabled());
+        obj.put(PROP_CONSUMER_INDEX_ENABLED, getConsumerIndexEnabled());
+        obj.put(PROP_LAZY_DELETE_ENABLED, getLazyDeleteEnabled());
+        obj.put(PROP_LAZY_DELETE_CHUNK_SIZE, getLazyDeleteChunkSize());
+        obj.put(PROP_REDIS_CLIENT_TYPE, getRedisClientType());
+        obj.put(PROP_QUEUE_STORAGE, getQueueStorage());
+        obj.put(PROP_BINARY_PAYLOADS_ENABLED, getBinaryPayloadsEnabled());
+        obj.put(PROP_QUEUE_CONFIGURATION_CACHE_SIZE, getQueueConfigurationCacheSize());
+        obj.put(PROP_STATISTICS_FLUSH_INTERVAL_MS, getStatisticsFlushIntervalMs());
+        obj.put(PROP_QUEUE_SPEED_WINDOWS_ENABLED, getQueueSpeedWindowsEnabled());
         return obj;
     }
 
@@ -243,6 +336,69 @@ public class RedisquesConfiguration {
         if (json.containsKey(PROP_QUEUE_SPEED_INTERVAL_SEC)) {
             builder.queueSpeedIntervalSec(json.getInteger(PROP_QUEUE_SPEED_INTERVAL_SEC));
         }
+        if (json.containsKey(PROP_ATOMIC_DEQUEUE_ENABLED)) {
+            builder.atomicDequeueEnabled(json.getBoolean(PROP_ATOMIC_DEQUEUE_ENABLED));
+        }
+        if (json.containsKey(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED)) {
+            builder.consistentHashOwnershipEnabled(json.getBoolean(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED));
+        }
+        if (json.containsKey(PROP_FUSED_ENQUEUE_ENABLED)) {
+            builder.fusedEnqueueEnabled(json.getBoolean(PROP_FUSED_ENQUEUE_ENABLED));
+        }
+        if (json.containsKey(PROP_CONSUMER_CACHE_SIZE)) {
+            builder.consumerCacheSize(json.getInteger(PROP_CONSUMER_CACHE_SIZE));
+        }
+        if (json.containsKey(PROP_LEASE_RENEWAL_ENABLED)) {
+            builder.leaseRenewalEnabled(json.getBoolean(PROP_LEASE_RENEWAL_ENABLED));
+        }
+        if (json.containsKey(PROP_LEASE_RENEWAL_CHUNK_SIZE)) {
+            builder.leaseRenewalChunkSize(json.getInteger(PROP_LEASE_RENEWAL_CHUNK_SIZE));
+        }
+        if (json.containsKey(PROP_INCREMENTAL_CHECK_ENABLED)) {
+            builder.incrementalCheckEnabled(json.getBoolean(PROP_INCREMENTAL_CHECK_ENABLED));
+        }
+        if (json.containsKey(PROP_CHECK_PAGE_SIZE)) {
+            builder.checkPageSize(json.getInteger(PROP_CHECK_PAGE_SIZE));
+        }
+        if (json.containsKey(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE)) {
+            builder.multiListLengthChunkSize(json.getInteger(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE));
+        }
+        if (json.containsKey(PROP_MULTI_LIST_LENGTH_CONCURRENCY)) {
+            builder.multiListLengthConcurrency(json.getInteger(PROP_MULTI_LIST_LENGTH_CONCURRENCY));
+        }
+        if (json.containsKey(PROP_QUEUE_SIZE_INDEX_ENABLED)) {
+            builder.queueSizeIndexEnabled(json.getBoolean(PROP_QUEUE_SIZE_INDEX_ENABLED));
+        }
+        if (json.containsKey(PROP_METRICS_ENABLED)) {
+            builder.metricsEnabled(json.getBoolean(PROP_METRICS_ENABLED));
+        }
+        if (json.containsKey(PROP_CONSUMER_INDEX_ENABLED)) {
+            builder.consumerIndexEnabled(json.getBoolean(PROP_CONSUMER_INDEX_ENABLED));
+        }
+        if (json.containsKey(PROP_LAZY_DELETE_ENABLED)) {
+            builder.lazyDeleteEnabled(json.getBoolean(PROP_LAZY_DELETE_ENABLED));
+        }
+        if (json.containsKey(PROP_LAZY_DELETE_CHUNK_SIZE)) {
+            builder.lazyDeleteChunkSize(json.getInteger(PROP_LAZY_DELETE_CHUNK_SIZE));
+        }
+        if (json.containsKey(PROP_REDIS_CLIENT_TYPE)) {
+            builder.redisClientType(json.getString(PROP_REDIS_CLIENT_TYPE));
+        }
+        if (json.containsKey(PROP_QUEUE_STORAGE)) {
+            builder.queueStorage(json.getString(PROP_QUEUE_STORAGE));
+        }
+        if (json.containsKey(PROP_BINARY_PAYLOADS_ENABLED)) {
+            builder.binaryPayloadsEnabled(json.getBoolean(PROP_BINARY_PAYLOADS_ENABLED));
+        }
+        if (json.containsKey(PROP_QUEUE_CONFIGURATION_CACHE_SIZE)) {
+            builder.queueConfigurationCacheSize(json.getInteger(PROP_QUEUE_CONFIGURATION_CACHE_SIZE));
+        }
+        if (json.containsKey(PROP_STATISTICS_FLUSH_INTERVAL_MS)) {
+            builder.statisticsFlushIntervalMs(json.getInteger(PROP_STATISTICS_FLUSH_INTERVAL_MS));
+        }
+        if (json.containsKey(PROP_QUEUE_SPEED_WINDOWS_ENABLED)) {
+            builder.queueSpeedWindowsEnabled(json.getBoolean(PROP_QUEUE_SPEED_WINDOWS_ENABLED));
+        }
         return builder.build();
     }
 
@@ -344,6 +500,188 @@ public class RedisquesConfiguration {
         return queueSpeedIntervalSec;
     }
 
+    /**
+     * Whether queue items are dequeued by the atomic peek / pop lua scripts instead of the
+     * separate lock, consumer and list commands.
+     *
+     * @return true when the lua script based dequeue is enabled
+     */
+    public boolean getAtomicDequeueEnabled() {
+        return atomicDequeueEnabled;
+    }
+
+    /**
+     * Whether queue ownership is derived from a consistent hash ring over the live redisques instances instead of
+     * broadcasting registration requests to any instance.
+     */
+    public boolean getConsistentHashOwnershipEnabled() {
+        return consistentHashOwnershipEnabled;
+    }
+
+    /**
+     * Whether the enqueue operation updates the queue timestamp, pushes the message and looks up the queue consumer
+     * in a single lua script call instead of three separate commands.
+     */
+    public boolean getFusedEnqueueEnabled() {
+        return fusedEnqueueEnabled;
+    }
+
+    /**
+     * Maximum number of queue consumers cached locally to avoid looking up the consumer of a queue in redis
+     * on every notification. Cached consumers expire after the refresh period. 0 disables the cache.
+     */
+    public int getConsumerCacheSize() {
+        return consumerCacheSize;
+    }
+
+    /**
+     * Whether the registrations of the consumed queues are periodically renewed by a lua script handling
+     * a chunk of queues per call instead of separate commands per queue.
+     */
+    public boolean getLeaseRenewalEnabled() {
+        return leaseRenewalEnabled;
+    }
+
+    /**
+     * Maximum number of queues renewed by a single lua script call when {@link #getLeaseRenewalEnabled()} is set.
+     */
+    public int getLeaseRenewalChunkSize() {
+        return leaseRenewalChunkSize;
+    }
+
+    /**
+     * Whether the queue check walks the inactive queues in pages of {@link #getCheckPageSize()} queues, each page
+     * checked by a single lua script call. The pages are spread over half of the check interval.
+     */
+    public boolean getIncrementalCheckEnabled() {
+        return incrementalCheckEnabled;
+    }
+
+    /**
+     * Maximum number of queues checked by a single lua script call when {@link #getIncrementalCheckEnabled()} is set.
+     */
+    public int getCheckPageSize() {
+        return checkPageSize;
+    }
+
+    /**
+     * Maximum number of queues whose length is evaluated by a single lua script call (e.g. for the monitor
+     * information and the queue statistics).
+     */
+    public int getMultiListLengthChunkSize() {
+        return multiListLengthChunkSize;
+    }
+
+    /**
+     * Maximum number of lua script calls evaluating the length of the queues of a single request at the same time.
+     */
+    public int getMultiListLengthConcurrency() {
+        return multiListLengthConcurrency;
+    }
+
+    /**
+     * Maintain a sorted set of the sizes of the non-empty queues on enqueue and dequeue.
+     * Top-N and non-empty-only monitor queries are answered from this sorted set.
+     */
+    public boolean getQueueSizeIndexEnabled() {
+        return queueSizeIndexEnabled;
+    }
+
+    /**
+     * Record the durations of the operations, the redis commands and the processor round trips.
+     * The metrics are exported on the metrics endpoint of the http request handler.
+     */
+    public boolean getMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Gets whether the names of the registered queues are kept in the set <i>consumers-index</i>, so the reset of the
+     * consumers walks this set instead of scanning the whole keyspace
+     *
+     * @return true when the consumer index is maintained
+     */
+    public boolean getConsumerIndexEnabled() {
+        return consumerIndexEnabled;
+    }
+
+    /**
+     * Gets whether the queues are deleted by UNLINK, so redis reclaims their memory in the background
+     *
+     * @return true when the queues are deleted lazily
+     */
+    public boolean getLazyDeleteEnabled() {
+        return lazyDeleteEnabled;
+    }
+
+    /**
+     * Gets the maximum number of queues unlinked by a single lua script call when the lazy delete is enabled
+     *
+     * @return the maximum number of queues per chunk
+     */
+    public int getLazyDeleteChunkSize() {
+        return lazyDeleteChunkSize;
+    }
+
+    /**
+     * Gets the type of the redis client, STANDALONE or CLUSTER. In cluster mode, the configured redis host and port
+     * are used to discover the cluster nodes
+     *
+     * @return the redis client type
+     */
+    public String getRedisClientType() {
+        return redisClientType;
+    }
+
+    /**
+     * Gets the storage of the queue items, LIST or STREAM. STREAM stores the items in redis streams consumed by
+     * a consumer group
+     *
+     * @return the queue storage
+     */
+    public String getQueueStorage() {
+        return queueStorage;
+    }
+
+    /**
+     * Gets the value for the binary payloads feature. When enabled, the processor receives QueueMessage objects
+     * with the payloads as buffers and binary payloads can be enqueued by QueueMessage objects
+     *
+     * @return true when binary payloads are enabled
+     */
+    public boolean getBinaryPayloadsEnabled() {
+        return binaryPayloadsEnabled;
+    }
+
+    /**
+     * Gets the maximum number of queue names whose resolved queue configuration is cached. 0 disables the cache
+     *
+     * @return the queue configuration cache size
+     */
+    public int getQueueConfigurationCacheSize() {
+        return queueConfigurationCacheSize;
+    }
+
+    /**
+     * Gets the interval [ms] of writing the changed queue statistics to redis in one batch. 0 writes every change
+     * immediately
+     *
+     * @return the statistics flush interval
+     */
+    public int getStatisticsFlushIntervalMs() {
+        return statisticsFlushIntervalMs;
+    }
+
+    /**
+     * Gets the value for the queue speed windows feature. When enabled, the enqueued and dequeued messages are
+     * counted in windows of 1s, 10s, 1m and 5m and merged in redis over all instances
+     *
+     * @return true when the queue speed windows are enabled
+     */
+    public boolean getQueueSpeedWindowsEnabled() {
+        return queueSpeedWindowsEnabled;
+    }
+
     @Override
     public String toString() {
         return asJsonObject().toString();
@@ -382,6 +720,27 @@ public class RedisquesConfiguration {
         private int maxPoolSize;
         private int maxWaitSize;
         private int queueSpeedIntervalSec;
+        private boolean atomicDequeueEnabled;
+        private boolean consistentHashOwnershipEnabled;
+        private boolean fusedEnqueueEnabled;
+        private int consumerCacheSize;
+        private boolean leaseRenewalEnabled;
+        private int leaseRenewalChunkSize;
+        private boolean incrementalCheckEnabled;
+        private int checkPageSize;
+        private int multiListLengthChunkSize;
+        private int multiListLengthConcurrency;
+        private boolean queueSizeIndexEnabled;
+        private boolean metricsEnabled;
+        private boolean consumerIndexEnabled;
+        private boolean lazyDeleteEnabled;
+        private int lazyDeleteChunkSize;
+        private String redisClientType;
+        private String queueStorage;
+        private boolean binaryPayloadsEnabled;
+        private int queueConfigurationCacheSize;
+        private int statisticsFlushIntervalMs;
+        private boolean queueSpeedWindowsEnabled;
 
         public RedisquesConfigurationBuilder() {
             this.address = "redisques";
@@ -404,6 +763,27 @@ public class RedisquesConfiguration {
             this.maxPoolSize = DEFAULT_REDIS_MAX_POOL_SIZE;
             this.maxWaitSize = DEFAULT_REDIS_MAX_WAIT_SIZE;
             this.queueSpeedIntervalSec = DEFAULT_QUEUE_SPEED_INTERVAL_SEC;
+            this.atomicDequeueEnabled = false;
+            this.consistentHashOwnershipEnabled = false;
+            this.fusedEnqueueEnabled = false;
+            this.consumerCacheSize = 0;
+            this.leaseRenewalEnabled = false;
+            this.leaseRenewalChunkSize = DEFAULT_LEASE_RENEWAL_CHUNK_SIZE;
+            this.incrementalCheckEnabled = false;
+            this.checkPageSize = DEFAULT_CHECK_PAGE_SIZE;
+            this.multiListLengthChunkSize = DEFAULT_MULTI_LIST_LENGTH_CHUNK_SIZE;
+            this.multiListLengthConcurrency = DEFAULT_MULTI_LIST_LENGTH_CONCURRENCY;
+            this.queueSizeIndexEnabled = false;
+            this.metricsEnabled = false;
+            this.consumerIndexEnabled = false;
+            this.lazyDeleteEnabled = false;
+            this.lazyDeleteChunkSize = DEFAULT_LAZY_DELETE_CHUNK_SIZE;
+            this.redisClientType = DEFAULT_REDIS_CLIENT_TYPE;
+            this.queueStorage = DEFAULT_QUEUE_STORAGE;
+            this.binaryPayloadsEnabled = false;
+            this.queueConfigurationCacheSize = DEFAULT_QUEUE_CONFIGURATION_CACHE_SIZE;
+            this.statisticsFlushIntervalMs = DEFAULT_STATISTICS_FLUSH_INTERVAL_MS;
+            this.queueSpeedWindowsEnabled = false;
         }
 
         public RedisquesConfigurationBuilder address(String address) {
@@ -511,6 +891,111 @@ public class RedisquesConfiguration {
             return this;
         }
 
+        public RedisquesConfigurationBuilder atomicDequeueEnabled(boolean atomicDequeueEnabled) {
+            this.atomicDequeueEnabled = atomicDequeueEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder consistentHashOwnershipEnabled(boolean consistentHashOwnershipEnabled) {
+            this.consistentHashOwnershipEnabled = consistentHashOwnershipEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder fusedEnqueueEnabled(boolean fusedEnqueueEnabled) {
+            this.fusedEnqueueEnabled = fusedEnqueueEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder consumerCacheSize(int consumerCacheSize) {
+            this.consumerCacheSize = consumerCacheSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder leaseRenewalEnabled(boolean leaseRenewalEnabled) {
+            this.leaseRenewalEnabled = leaseRenewalEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder leaseRenewalChunkSize(int leaseRenewalChunkSize) {
+            this.leaseRenewalChunkSize = leaseRenewalChunkSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder incrementalCheckEnabled(boolean incrementalCheckEnabled) {
+            this.incrementalCheckEnabled = incrementalCheckEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder checkPageSize(int checkPageSize) {
+            this.checkPageSize = checkPageSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder multiListLengthChunkSize(int multiListLengthChunkSize) {
+            this.multiListLengthChunkSize = multiListLengthChunkSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder multiListLengthConcurrency(int multiListLengthConcurrency) {
+            this.multiListLengthConcurrency = multiListLengthConcurrency;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder queueSizeIndexEnabled(boolean queueSizeIndexEnabled) {
+            this.queueSizeIndexEnabled = queueSizeIndexEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder metricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder consumerIndexEnabled(boolean consumerIndexEnabled) {
+            this.consumerIndexEnabled = consumerIndexEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder lazyDeleteEnabled(boolean lazyDeleteEnabled) {
+            this.lazyDeleteEnabled = lazyDeleteEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder lazyDeleteChunkSize(int lazyDeleteChunkSize) {
+            this.lazyDeleteChunkSize = lazyDeleteChunkSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder redisClientType(String redisClientType) {
+            this.redisClientType = redisClientType;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder queueStorage(String queueStorage) {
+            this.queueStorage = queueStorage;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder binaryPayloadsEnabled(boolean binaryPayloadsEnabled) {
+            this.binaryPayloadsEnabled = binaryPayloadsEnabled;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder queueConfigurationCacheSize(int queueConfigurationCacheSize) {
+            this.queueConfigurationCacheSize = queueConfigurationCacheSize;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder statisticsFlushIntervalMs(int statisticsFlushIntervalMs) {
+            this.statisticsFlushIntervalMs = statisticsFlushIntervalMs;
+            return this;
+        }
+
+        public RedisquesConfigurationBuilder queueSpeedWindowsEnabled(boolean queueSpeedWindowsEnabled) {
+            this.queueSpeedWindowsEnabled = queueSpeedWindowsEnabled;
+            return this;
+        }
+
         public RedisquesConfiguration build() {
             return new RedisquesConfiguration(this);
         }
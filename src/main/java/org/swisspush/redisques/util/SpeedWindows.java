@@ -0,0 +1,110 @@
+package org.swisspush.redisques.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts messages in sliding windows of several resolutions: the last second, the last 10 seconds, the last minute
+ * and the last 5 minutes.
+ * <p>
+ * The messages are counted by {@link #add(long)} from any thread. Once a second {@link #tick()} moves the count into
+ * ring buffers: ten 1 second buckets, six 10 second buckets and five 1 minute buckets. A window therefore slides by
+ * the resolution of its buckets, e.g. the 5 minute window by one minute. The ticks and the reads of the windows are
+ * meant to be done by a single thread.
+ */
+public final class SpeedWindows {
+
+    /**
+     * The resolutions of the windows.
+     */
+    public enum Resolution {
+        SECOND(1, "1s"),
+        TEN_SECONDS(10, "10s"),
+        MINUTE(60, "1m"),
+        FIVE_MINUTES(300, "5m");
+
+        private final int seconds;
+        private final String label;
+
+        Resolution(int seconds, String label) {
+            this.seconds = seconds;
+            this.label = label;
+        }
+
+        public int getSeconds() {
+            return seconds;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final LongAdder current = new LongAdder();
+    private final long[] seconds = new long[10];
+    private final long[] tenSeconds = new long[6];
+    private final long[] minutes = new long[5];
+    private long pendingTenSeconds;
+    private long pendingMinute;
+    private long ticks;
+
+    /**
+     * Counts messages of the current second.
+     */
+    public void add(long count) {
+        current.add(count);
+    }
+
+    /**
+     * Closes the current second.
+     *
+     * @return the number of messages counted in the closed second
+     */
+    public long tick() {
+        long count = current.sumThenReset();
+        seconds[(int) (ticks % seconds.length)] = count;
+        pendingTenSeconds += count;
+        ticks++;
+        if (ticks % 10 == 0) {
+            tenSeconds[(int) ((ticks / 10 - 1) % tenSeconds.length)] = pendingTenSeconds;
+            pendingMinute += pendingTenSeconds;
+            pendingTenSeconds = 0;
+        }
+        if (ticks % 60 == 0) {
+            minutes[(int) ((ticks / 60 - 1) % minutes.length)] = pendingMinute;
+            pendingMinute = 0;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of messages counted in the window of the given resolution
+     */
+    public long get(Resolution resolution) {
+        switch (resolution) {
+            case SECOND:
+                return ticks == 0 ? 0 : seconds[(int) ((ticks - 1) % seconds.length)];
+            case TEN_SECONDS:
+                return sum(seconds);
+            case MINUTE:
+                return sum(tenSeconds);
+            default:
+                return sum(minutes);
+        }
+    }
+
+    /**
+     * @return <code>true</code> when no message was counted within the last 5 minutes
+     */
+    public boolean isIdle() {
+        return current.sum() == 0 && sum(seconds) == 0 && pendingTenSeconds == 0 && pendingMinute == 0
+                && sum(tenSeconds) == 0 && sum(minutes) == 0;
+    }
+
+    private static long sum(long[] buckets) {
+        long sum = 0;
+        for (long bucket : buckets) {
+            sum += bucket;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,22 @@
+local queuesKey = KEYS[1]
+local queuesPrefix = ARGV[1]
+local consumersPrefix = ARGV[2]
+local limit = ARGV[3]
+local pageSize = tonumber(ARGV[4])
+local consumerLockTime = ARGV[5]
+local timestamp = ARGV[6]
+
+local notEmpty = {}
+local removed = {}
+local queues = redis.call('zrangebyscore', queuesKey, '-inf', limit, 'LIMIT', 0, pageSize)
+for _, queueName in ipairs(queues) do
+    if redis.call('exists', queuesPrefix .. queueName) == 1 then
+        redis.call('zadd', queuesKey, timestamp, queueName)
+        redis.call('expire', consumersPrefix .. queueName, consumerLockTime)
+        table.insert(notEmpty, queueName)
+    else
+        redis.call('zrem', queuesKey, queueName)
+        table.insert(removed, queueName)
+    end
+end
+return {notEmpty, removed}
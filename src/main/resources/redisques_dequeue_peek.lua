@@ -0,0 +1,31 @@
+local locksKey = KEYS[1]
+local consumerKey = KEYS[2]
+local queueKey = KEYS[3]
+local queuesKey = KEYS[4]
+local queueName = ARGV[1]
+local uid = ARGV[2]
+local consumerLockTime = ARGV[3]
+local timestamp = ARGV[4]
+local count = tonumber(ARGV[5]) or 1
+
+local consumer = redis.call('get', consumerKey)
+if consumer ~= uid then
+    if consumer then
+        return {'notowner', consumer}
+    end
+    return {'notowner'}
+end
+redis.call('expire', consumerKey, consumerLockTime)
+
+if redis.call('hexists', locksKey, queueName) == 1 then
+    return {'locked'}
+end
+
+local items = redis.call('lrange', queueKey, 0, count - 1)
+if #items == 0 then
+    return {'empty'}
+end
+
+redis.call('zadd', queuesKey, timestamp, queueName)
+table.insert(items, 1, 'ok')
+return items
@@ -0,0 +1,5 @@
+local queueKey = KEYS[1]
+local count = tonumber(ARGV[1])
+
+redis.call('ltrim', queueKey, count, -1)
+return redis.call('llen', queueKey)
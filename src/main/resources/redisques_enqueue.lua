@@ -0,0 +1,14 @@
+local queuesKey = KEYS[1]
+local queueKey = KEYS[2]
+local consumerKey = KEYS[3]
+local queueName = ARGV[1]
+local timestamp = ARGV[2]
+local message = ARGV[3]
+
+redis.call('zadd', queuesKey, timestamp, queueName)
+local length = redis.call('rpush', queueKey, message)
+local consumer = redis.call('get', consumerKey)
+if consumer then
+    return {length, consumer}
+end
+return {length}
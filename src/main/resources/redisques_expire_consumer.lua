@@ -0,0 +1,9 @@
+local consumerKey = KEYS[1]
+local uid = ARGV[1]
+local consumerLockTime = ARGV[2]
+
+if redis.call('get', consumerKey) == uid then
+    return redis.call('expire', consumerKey, consumerLockTime)
+else
+    return 0
+end
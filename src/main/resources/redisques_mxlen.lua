@@ -0,0 +1,5 @@
+local result={ }
+for i=1, #KEYS, 1 do
+    result[i] = redis.call("xlen",KEYS[i])
+end
+return result
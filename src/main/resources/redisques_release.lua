@@ -0,0 +1,7 @@
+local consumerKey = KEYS[1]
+local uid = ARGV[1]
+
+if redis.call('get', consumerKey) == uid then
+    return redis.call('del', consumerKey)
+end
+return 0
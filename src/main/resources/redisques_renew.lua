@@ -0,0 +1,16 @@
+local queuesKey = KEYS[1]
+local uid = ARGV[1]
+local consumerLockTime = ARGV[2]
+local timestamp = ARGV[3]
+
+local lost = {}
+for i = 2, #KEYS do
+    local queueName = ARGV[i + 2]
+    if redis.call('get', KEYS[i]) == uid then
+        redis.call('expire', KEYS[i], consumerLockTime)
+        redis.call('zadd', queuesKey, timestamp, queueName)
+    else
+        table.insert(lost, queueName)
+    end
+end
+return lost
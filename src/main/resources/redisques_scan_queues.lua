@@ -0,0 +1,19 @@
+local queuesKey = KEYS[1]
+local cursor = ARGV[1]
+local count = ARGV[2]
+local minScore = tonumber(ARGV[3])
+local queuesPrefix = ARGV[4]
+
+local scan = redis.call('zscan', queuesKey, cursor, 'COUNT', count)
+local entries = scan[2]
+local names = {}
+local sizes = {}
+for i = 1, #entries, 2 do
+    if tonumber(entries[i + 1]) >= minScore then
+        table.insert(names, entries[i])
+        if queuesPrefix ~= '' then
+            table.insert(sizes, redis.call('llen', queuesPrefix .. entries[i]))
+        end
+    end
+end
+return {scan[1], names, sizes}
@@ -0,0 +1,10 @@
+local keyCount = #KEYS
+
+for k = 1, keyCount do
+    local key = KEYS[k]
+    for i = keyCount + 1, #ARGV, 2 do
+        redis.call('hincrby', key, ARGV[i], ARGV[i + 1])
+    end
+    redis.call('expire', key, ARGV[k])
+end
+return (#ARGV - keyCount) / 2
@@ -0,0 +1,19 @@
+local result = {}
+
+for k = 1, #KEYS do
+    local enqueued = 0
+    local dequeued = 0
+    local values = redis.call('hmget', KEYS[k], unpack(ARGV))
+    for i = 1, #ARGV do
+        if values[i] then
+            if string.sub(ARGV[i], 1, 2) == 'e:' then
+                enqueued = enqueued + tonumber(values[i])
+            else
+                dequeued = dequeued + tonumber(values[i])
+            end
+        end
+    end
+    result[2 * k - 1] = enqueued
+    result[2 * k] = dequeued
+end
+return result
@@ -0,0 +1,13 @@
+local streamKey = KEYS[1]
+local group = ARGV[1]
+
+for i = 2, #ARGV do
+    redis.call('xack', streamKey, group, ARGV[i])
+    redis.call('xdel', streamKey, ARGV[i])
+end
+local length = redis.call('xlen', streamKey)
+if length == 0 then
+    -- unlike a list, an empty stream is not removed by redis
+    redis.call('del', streamKey)
+end
+return length
@@ -0,0 +1,6 @@
+local streamKey = KEYS[1]
+
+for i = 1, #ARGV do
+    redis.call('xadd', streamKey, '*', 'payload', ARGV[i])
+end
+return redis.call('xlen', streamKey)
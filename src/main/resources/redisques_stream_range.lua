@@ -0,0 +1,8 @@
+local streamKey = KEYS[1]
+local count = tonumber(ARGV[1])
+
+local result = {}
+for _, entry in ipairs(redis.call('xrange', streamKey, '-', '+', 'COUNT', count)) do
+    table.insert(result, entry[2][2])
+end
+return result
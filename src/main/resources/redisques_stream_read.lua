@@ -0,0 +1,29 @@
+local streamKey = KEYS[1]
+local group = ARGV[1]
+local consumer = ARGV[2]
+local count = tonumber(ARGV[3])
+
+if redis.call('exists', streamKey) == 0 then
+    return {}
+end
+-- the group already exists for all but the first read of a stream
+redis.pcall('xgroup', 'create', streamKey, group, '0')
+
+-- entries delivered before but not acknowledged, e.g. by a crashed consumer, are read again first
+local entries = redis.call('xautoclaim', streamKey, group, consumer, 0, '0-0', 'COUNT', count)[2]
+if #entries == 0 then
+    local streams = redis.call('xreadgroup', 'GROUP', group, consumer, 'COUNT', count, 'STREAMS', streamKey, '>')
+    if streams then
+        entries = streams[1][2]
+    end
+end
+
+local result = {}
+for _, entry in ipairs(entries) do
+    -- entries deleted while pending have no fields
+    if entry[2] then
+        table.insert(result, entry[1])
+        table.insert(result, entry[2][2])
+    end
+end
+return result
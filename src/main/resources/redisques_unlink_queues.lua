@@ -0,0 +1,12 @@
+local statsKey = KEYS[1]
+local sizesKey = KEYS[2]
+
+local unlinked = 0
+for i = 3, #KEYS do
+    unlinked = unlinked + redis.call('unlink', KEYS[i])
+end
+for i = 1, #ARGV do
+    redis.call('hdel', statsKey, ARGV[i])
+    redis.call('zrem', sizesKey, ARGV[i])
+end
+return unlinked
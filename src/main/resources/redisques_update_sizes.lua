@@ -0,0 +1,13 @@
+local sizesKey = KEYS[1]
+local queuesPrefix = ARGV[1]
+
+for i = 2, #ARGV do
+    local queueName = ARGV[i]
+    local size = redis.call('llen', queuesPrefix .. queueName)
+    if size > 0 then
+        redis.call('zadd', sizesKey, size, queueName)
+    else
+        redis.call('zrem', sizesKey, queueName)
+    end
+end
+return #ARGV - 1
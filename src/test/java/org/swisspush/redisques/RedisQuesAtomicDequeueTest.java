@@ -0,0 +1,153 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue processing with the atomic dequeue lua scripts enabled.
+ */
+public class RedisQuesAtomicDequeueTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .atomicDequeueEnabled(true)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void enqueueWithQueueProcessorKeepsOrder(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        queueProcessor.handler(message -> {
+            context.assertEquals("check-queue", message.body().getString("queue"));
+            // the message is still in the queue while being processed
+            context.assertEquals(message.body().getString("payload"),
+                    jedis.lindex(getQueuesRedisKeyPrefix() + "check-queue", 0));
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < 10; i++) {
+            eventBusSend(buildEnqueueOperation("check-queue", "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(10));
+        for (int i = 0; i < 10; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + "check-queue"), equalTo(false));
+        async.complete();
+    }
+
+    @Test
+    public void enqueueWithQueueProcessorFirstProcessFails(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final AtomicInteger queueProcessorCounter = new AtomicInteger(0);
+
+        queueProcessor.handler(message -> {
+            context.assertEquals("hello", message.body().getString("payload"));
+            if (queueProcessorCounter.incrementAndGet() == 1) {
+                message.reply(new JsonObject().put(STATUS, ERROR));
+            } else {
+                message.reply(new JsonObject().put(STATUS, OK));
+            }
+        });
+
+        eventBusSend(buildEnqueueOperation("check-queue", "hello"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(queueProcessorCounter::get, equalTo(2));
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + "check-queue"), equalTo(false));
+        async.complete();
+    }
+
+    @Test
+    public void queueProcessorShouldNotBeNotifiedWithLockedQueue(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final AtomicBoolean processorCalled = new AtomicBoolean(false);
+
+        lockQueue("queue1");
+        queueProcessor.handler(event -> processorCalled.set(true));
+
+        eventBusSend(buildEnqueueOperation("queue1", "hello"), reply -> {
+            context.assertEquals(OK, reply.result().body().getString(STATUS));
+            vertx.setTimer(3000, timer -> {
+                context.assertFalse(processorCalled.get(), "QueueProcessor should not have been called after enqueue into a locked queue");
+                context.assertEquals(1L, jedis.llen(getQueuesRedisKeyPrefix() + "queue1"));
+                async.complete();
+            });
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package org.swisspush.redisques;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.QueueMessage;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the binary payloads.
+ */
+public class RedisQuesBinaryPayloadTest extends AbstractTestCase {
+
+    private static MessageConsumer<QueueMessage> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    // not valid UTF-8
+    private static final Buffer BINARY_PAYLOAD = Buffer.buffer(new byte[]{0, (byte) 0xff, (byte) 0xfe, 1, '"', '\\'});
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(30);
+
+    @Before
+    public void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .binaryPayloadsEnabled(true)
+                .queueConfigurations(Collections.singletonList(
+                        new QueueConfiguration().withPattern("batch-.*").withPrefetchCount(5).withPrefetchBatch(true)
+                ))
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void enqueueAndProcessBinaryPayload(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "binary-queue";
+        queueProcessor.handler(message -> {
+            context.assertEquals(queue, message.body().getQueue());
+            context.assertEquals(BINARY_PAYLOAD, message.body().getPayload());
+            message.reply(new JsonObject().put(STATUS, OK));
+            async.complete();
+        });
+
+        vertx.eventBus().<JsonObject>request(getRedisquesAddress() + "-binary", new QueueMessage(queue, BINARY_PAYLOAD),
+                reply -> {
+                    context.assertEquals(OK, reply.result().body().getString(STATUS));
+                    context.assertEquals(1, reply.result().body().getInteger(VALUE));
+                });
+    }
+
+    @Test
+    public void processTextPayloadAsBuffer(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "text-queue";
+        queueProcessor.handler(message -> {
+            context.assertEquals("{\"text\":\"äöü\"}", message.body().getPayload().toString());
+            message.reply(new JsonObject().put(STATUS, OK));
+            async.complete();
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, "{\"text\":\"äöü\"}"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+    }
+
+    @Test
+    public void processBinaryBatch(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "batch-binary-queue";
+        final Buffer other = Buffer.buffer(new byte[]{(byte) 0x80});
+        lockQueue(queue);
+        queueProcessor.handler(message -> {
+            context.assertEquals(Arrays.asList(BINARY_PAYLOAD, other, BINARY_PAYLOAD), message.body().getPayloads());
+            message.reply(new JsonObject().put(STATUS, OK));
+            async.complete();
+        });
+
+        vertx.eventBus().<JsonObject>request(getRedisquesAddress() + "-binary",
+                new QueueMessage(queue, Arrays.asList(BINARY_PAYLOAD, other, BINARY_PAYLOAD)), reply -> {
+                    context.assertEquals(OK, reply.result().body().getString(STATUS));
+                    context.assertEquals(3L, jedis.llen(getQueuesRedisKeyPrefix() + queue));
+                    eventBusSend(buildDeleteLockOperation(queue),
+                            unlock -> context.assertEquals(OK, unlock.result().body().getString(STATUS)));
+                });
+    }
+}
@@ -0,0 +1,160 @@
+package org.swisspush.redisques;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.PayloadCompression;
+import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the compression of the stored queue items.
+ */
+public class RedisQuesCompressionTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(30);
+
+    @Before
+    public void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .queueConfigurations(Collections.singletonList(
+                        new QueueConfiguration().withPattern("compressed-.*").withCompression(PayloadCompression.DEFLATE)
+                ))
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    private static String largePayload(int number) {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < 300; i++) {
+            items.add(new JsonObject().put("id", i).put("text", "a repeated text of the item"));
+        }
+        return new JsonObject().put("number", number).put("items", items).encode();
+    }
+
+    private byte[] storedItem(String queue, int index) {
+        return jedis.lindex((getQueuesRedisKeyPrefix() + queue).getBytes(StandardCharsets.UTF_8), index);
+    }
+
+    @Test
+    public void enqueueCompressedAndReadItems(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "compressed-queue";
+        lockQueue(queue);
+        // stored before the compression was enabled
+        jedis.rpush(getQueuesRedisKeyPrefix() + queue, largePayload(0));
+
+        eventBusSend(buildEnqueueOperation(queue, largePayload(1)), enqueued -> {
+            context.assertEquals(OK, enqueued.result().body().getString(STATUS));
+            eventBusSend(buildAddQueueItemOperation(queue, largePayload(2)), added -> {
+                context.assertEquals(OK, added.result().body().getString(STATUS));
+                context.assertEquals(largePayload(0).length(), storedItem(queue, 0).length);
+                context.assertTrue(storedItem(queue, 1).length < largePayload(1).length() / 4);
+                context.assertTrue(storedItem(queue, 2).length < largePayload(2).length() / 4);
+
+                eventBusSend(buildGetQueueItemsOperation(queue, null), items -> {
+                    JsonArray values = items.result().body().getJsonArray(VALUE);
+                    context.assertEquals(new JsonArray().add(largePayload(0)).add(largePayload(1)).add(largePayload(2)), values);
+                    eventBusSend(buildGetQueueItemOperation(queue, 1), item -> {
+                        context.assertEquals(largePayload(1), item.result().body().getString(VALUE));
+                        async.complete();
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void replaceCompressedItem(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "compressed-queue";
+        lockQueue(queue);
+        eventBusSend(buildEnqueueOperation(queue, largePayload(1)), enqueued -> {
+            eventBusSend(buildReplaceQueueItemOperation(queue, 0, largePayload(2)), replaced -> {
+                context.assertEquals(OK, replaced.result().body().getString(STATUS));
+                context.assertTrue(storedItem(queue, 0).length < largePayload(2).length() / 4);
+                eventBusSend(buildGetQueueItemOperation(queue, 0), item -> {
+                    context.assertEquals(largePayload(2), item.result().body().getString(VALUE));
+                    async.complete();
+                });
+            });
+        });
+    }
+
+    @Test
+    public void processCompressedItems(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "compressed-queue";
+        final List<String> received = new ArrayList<>();
+        queueProcessor.handler(message -> {
+            received.add(message.body().getString(PAYLOAD));
+            message.reply(new JsonObject().put(STATUS, OK));
+            if (received.size() == 3) {
+                context.assertEquals(largePayload(0), received.get(0));
+                context.assertEquals(largePayload(1), received.get(1));
+                context.assertEquals("{\"small\":true}", received.get(2));
+                async.complete();
+            }
+        });
+
+        JsonArray messages = new JsonArray()
+                .add(new JsonObject().put(QUEUENAME, queue).put(MESSAGE, largePayload(0)))
+                .add(new JsonObject().put(QUEUENAME, queue).put(MESSAGE, largePayload(1)))
+                .add(new JsonObject().put(QUEUENAME, queue).put(MESSAGE, "{\"small\":true}"));
+        eventBusSend(buildBulkEnqueueOperation(messages),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+    }
+}
@@ -0,0 +1,110 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.ConsistentHashRing;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue ownership by the consistent hash ring over several redisques instances.
+ */
+public class RedisQuesConsistentHashOwnershipTest extends AbstractTestCase {
+
+    private static final int NUM_QUEUES = 20;
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        jedis = new Jedis("localhost", 6379, 5000);
+        flushAll();
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .consistentHashOwnershipEnabled(true)
+                .build()
+                .asJsonObject();
+        vertx.deployVerticle(RedisQues.class.getName(), new DeploymentOptions().setConfig(config).setInstances(2),
+                context.asyncAssertSuccess(event -> deploymentId = event));
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void queuesAreRegisteredByTheirRingOwner(TestContext context) {
+        Async async = context.async();
+        final String instancesKey = getRedisPrefix() + "instances";
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zcard(instancesKey), equalTo(2L));
+        // wait for the next heartbeat, so the first instance knows about the second one as well
+        sleep(2500);
+
+        final Set<String> processed = ConcurrentHashMap.newKeySet();
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("queue"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < NUM_QUEUES; i++) {
+            eventBusSend(buildEnqueueOperation("queue-" + i, "hello"),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(NUM_QUEUES));
+
+        ConsistentHashRing ring = new ConsistentHashRing(jedis.zrange(instancesKey, 0, -1));
+        for (int i = 0; i < NUM_QUEUES; i++) {
+            String queue = "queue-" + i;
+            context.assertEquals(ring.owner(queue), jedis.get(getConsumersRedisKeyPrefix() + queue));
+        }
+        async.complete();
+    }
+
+    private void sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("can not handle interrups on sleeps");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue consuming with the consumer cache enabled.
+ */
+public class RedisQuesConsumerCacheTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .consumerCacheSize(1000)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void enqueueWithQueueProcessor(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            eventBusSend(buildEnqueueOperation("check-queue", "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(5));
+        for (int i = 0; i < 5; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        async.complete();
+    }
+
+    @Test
+    public void enqueueAfterRegistrationLost(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        eventBusSend(buildEnqueueOperation("check-queue", "hello-0"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(1));
+
+        // the cached consumer is stale now, the message must be processed nevertheless
+        jedis.del(getRedisPrefix() + "consumers:check-queue");
+
+        eventBusSend(buildEnqueueOperation("check-queue", "hello-1"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(2));
+        context.assertEquals("hello-1", processed.get(1));
+        context.assertNotNull(jedis.get(getRedisPrefix() + "consumers:check-queue"));
+        async.complete();
+    }
+
+    @Test
+    public void stopConsumingAfterRegistrationTakenOver(TestContext context) throws InterruptedException {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        final List<String> foreignNotifications = Collections.synchronizedList(new ArrayList<>());
+
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+        vertx.eventBus().<String>consumer("foreign-uid", message -> foreignNotifications.add(message.body()));
+
+        eventBusSend(buildEnqueueOperation("check-queue", "hello-0"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(1));
+
+        // another instance registered itself after a reset, while the cache still names this instance
+        String consumerKey = getRedisPrefix() + "consumers:check-queue";
+        jedis.set(consumerKey, "foreign-uid");
+
+        eventBusSend(buildEnqueueOperation("check-queue", "hello-1"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(foreignNotifications::size, equalTo(1));
+        context.assertEquals("check-queue", foreignNotifications.get(0));
+
+        Thread.sleep(500);
+        context.assertEquals(1, processed.size());
+        context.assertEquals("foreign-uid", jedis.get(consumerKey));
+        // the registration of the other instance is not extended by this one
+        context.assertEquals(-1L, jedis.ttl(consumerKey));
+        async.complete();
+    }
+}
@@ -0,0 +1,117 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the enqueue operation with the fused enqueue lua script enabled.
+ */
+public class RedisQuesFusedEnqueueTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .fusedEnqueueEnabled(true)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void enqueueIntoLockedQueue(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        lockQueue("queue1");
+        eventBusSend(buildEnqueueOperation("queue1", "hello"), reply -> {
+            context.assertEquals(OK, reply.result().body().getString(STATUS));
+            context.assertEquals("enqueued", reply.result().body().getString(MESSAGE));
+            assertQueueItemsCount(context, "queue1", 1);
+            context.assertNotNull(jedis.zscore(getRedisPrefix() + "queues", "queue1"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void enqueueWithQueueProcessor(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        // the first enqueue requests a registration, the following ones notify the registered consumer
+        for (int i = 0; i < 5; i++) {
+            eventBusSend(buildEnqueueOperation("check-queue", "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(5));
+        for (int i = 0; i < 5; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        async.complete();
+    }
+}
@@ -0,0 +1,117 @@
+package org.swisspush.redisques;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.QueueStatisticsCollector;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the deletion of the queues by UNLINK.
+ */
+public class RedisQuesLazyDeleteTest extends AbstractTestCase {
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(30);
+
+    @Before
+    public void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .queueSizeIndexEnabled(true)
+                .lazyDeleteEnabled(true)
+                .lazyDeleteChunkSize(2)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    private void createQueue(String queue, int size) {
+        for (int i = 0; i < size; i++) {
+            jedis.rpush(getQueuesRedisKeyPrefix() + queue, "item-" + i);
+        }
+        jedis.zadd(getRedisPrefix() + "sizes", size, queue);
+        jedis.hset(QueueStatisticsCollector.STATSKEY, queue, "{}");
+    }
+
+    @Test
+    public void bulkDeleteQueuesInChunks(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        for (int i = 0; i < 5; i++) {
+            createQueue("queue-" + i, i + 1);
+        }
+        createQueue("other-queue", 1);
+
+        JsonArray queues = new JsonArray().add("queue-0").add("queue-1").add("queue-2").add("queue-3").add("queue-4")
+                .add("unknown-queue");
+        eventBusSend(buildBulkDeleteQueuesOperation(queues), reply -> {
+            context.assertEquals(OK, reply.result().body().getString(STATUS));
+            context.assertEquals(5L, reply.result().body().getLong(VALUE));
+            for (int i = 0; i < 5; i++) {
+                context.assertFalse(jedis.exists(getQueuesRedisKeyPrefix() + "queue-" + i));
+                context.assertFalse(jedis.hexists(QueueStatisticsCollector.STATSKEY, "queue-" + i));
+                context.assertNull(jedis.zscore(getRedisPrefix() + "sizes", "queue-" + i));
+            }
+            assertQueueItemsCount(context, "other-queue", 1);
+            context.assertTrue(jedis.hexists(QueueStatisticsCollector.STATSKEY, "other-queue"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void deleteAllQueueItems(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        createQueue("queue-0", 3);
+        jedis.hset(getLocksRedisKey(), "queue-0", "{}");
+
+        eventBusSend(buildDeleteAllQueueItemsOperation("queue-0", true), reply -> {
+            context.assertEquals(OK, reply.result().body().getString(STATUS));
+            context.assertEquals(1L, reply.result().body().getLong(VALUE));
+            context.assertFalse(jedis.exists(getQueuesRedisKeyPrefix() + "queue-0"));
+            context.assertFalse(jedis.hexists(QueueStatisticsCollector.STATSKEY, "queue-0"));
+            context.assertNull(jedis.zscore(getRedisPrefix() + "sizes", "queue-0"));
+            context.assertFalse(jedis.hexists(getLocksRedisKey(), "queue-0"));
+            async.complete();
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue consuming with the batched lease renewal enabled.
+ */
+public class RedisQuesLeaseRenewalTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(1)
+                .processorTimeout(10)
+                .leaseRenewalEnabled(true)
+                .leaseRenewalChunkSize(2)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void registrationIsRenewedWhileConsuming(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        // hold the messages longer than the registration lifetime of 2 seconds
+        queueProcessor.handler(message -> vertx.setTimer(3000, timer -> {
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        }));
+
+        for (int i = 0; i < 3; i++) {
+            eventBusSend(buildEnqueueOperation("queue-" + i, "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(2)).until(
+                () -> jedis.keys(getRedisPrefix() + "consumers:*").size(), equalTo(3));
+        String consumer = jedis.get(getRedisPrefix() + "consumers:queue-0");
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(processed::size, equalTo(3));
+        for (int i = 0; i < 3; i++) {
+            context.assertEquals(consumer, jedis.get(getRedisPrefix() + "consumers:queue-" + i));
+        }
+        async.complete();
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the metrics of the operations, redis commands and processor round trips.
+ */
+public class RedisQuesMetricsTest extends AbstractTestCase {
+
+    private static final int HTTP_PORT = 7071;
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .httpRequestHandlerEnabled(true)
+                .httpRequestHandlerPort(HTTP_PORT)
+                .metricsEnabled(true)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void metricsEndpoint(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final AtomicInteger processed = new AtomicInteger();
+        queueProcessor.handler(message -> {
+            processed.incrementAndGet();
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        Async enqueued = context.async();
+        eventBusSend(buildEnqueueOperation("queue1", "hello"), reply -> {
+            context.assertEquals(OK, reply.result().body().getString(STATUS));
+            enqueued.complete();
+        });
+        enqueued.awaitSuccess();
+
+        Async notFound = context.async();
+        eventBusSend(buildGetQueueItemOperation("missing-queue", 0), reply -> {
+            context.assertEquals(ERROR, reply.result().body().getString(STATUS));
+            notFound.complete();
+        });
+        notFound.awaitSuccess();
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::get, equalTo(1));
+        // the round trip is recorded when the reply of the processor arrived
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> given().port(HTTP_PORT).get("/queuing/metrics").asString(),
+                containsString("redisques_processor_seconds_count{status=\"ok\"} 1\n"));
+
+        given().port(HTTP_PORT).when().get("/queuing/metrics").then().assertThat()
+                .statusCode(200)
+                .contentType(containsString("text/plain"))
+                .body(containsString("redisques_operation_seconds_count{operation=\"enqueue\",status=\"ok\"} 1\n"))
+                .body(containsString("redisques_operation_seconds_count{operation=\"getQueueItem\",status=\"error\"} 1\n"))
+                .body(containsString("redisques_redis_command_seconds_count{command=\"rpush\",status=\"ok\"} 1\n"));
+        async.complete();
+    }
+}
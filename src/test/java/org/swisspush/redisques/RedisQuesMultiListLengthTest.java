@@ -0,0 +1,133 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the evaluation of the queue lengths split into multiple chunks.
+ */
+public class RedisQuesMultiListLengthTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .multiListLengthChunkSize(7)
+                .multiListLengthConcurrency(2)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void getQueuesItemsCount(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 50; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue" + i);
+            for (int j = 0; j < i % 4; j++) {
+                jedis.rpush(getQueuesRedisKeyPrefix() + "queue" + i, "item");
+            }
+        }
+
+        eventBusSend(buildGetQueuesItemsCountOperation(null), message -> {
+            context.assertEquals(OK, message.result().body().getString(STATUS));
+            JsonArray queues = message.result().body().getJsonArray(QUEUES);
+            context.assertEquals(50, queues.size());
+            for (int i = 0; i < queues.size(); i++) {
+                JsonObject queue = queues.getJsonObject(i);
+                String name = queue.getString(MONITOR_QUEUE_NAME);
+                int index = Integer.parseInt(name.substring("queue".length()));
+                context.assertEquals((long) (index % 4), queue.getLong(MONITOR_QUEUE_SIZE), name);
+            }
+            async.complete();
+        });
+    }
+
+    @Test
+    public void getQueuesStatistics(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue" + i);
+            for (int j = 0; j < i; j++) {
+                jedis.rpush(getQueuesRedisKeyPrefix() + "queue" + i, "item");
+            }
+        }
+
+        eventBusSend(buildGetQueuesStatisticsOperation(), message -> {
+            context.assertEquals(OK, message.result().body().getString(STATUS));
+            JsonArray queues = message.result().body().getJsonArray(QUEUES);
+            context.assertEquals(20, queues.size());
+            for (int i = 0; i < queues.size(); i++) {
+                JsonObject queue = queues.getJsonObject(i);
+                int index = Integer.parseInt(queue.getString(MONITOR_QUEUE_NAME).substring("queue".length()));
+                context.assertEquals((long) index, queue.getLong(MONITOR_QUEUE_SIZE));
+            }
+            async.complete();
+        });
+    }
+
+}
@@ -0,0 +1,234 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue processing of queues configured with a prefetch window.
+ */
+public class RedisQuesPrefetchTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(1000)
+                .queueConfigurations(Arrays.asList(
+                        new QueueConfiguration().withPattern("batch-.*").withPrefetchCount(5).withPrefetchBatch(true),
+                        new QueueConfiguration().withPattern("ordered-.*").withPrefetchCount(5).withRetryIntervals(1),
+                        new QueueConfiguration().withPattern("partitioned-.*").withPrefetchCount(6)
+                                .withPartitionKey("key").withPartitionConcurrency(3)
+                ))
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @Test
+    public void enqueueWithBatchPrefetch(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "batch-queue";
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 12; i++) {
+            jedis.rpush(getQueuesRedisKeyPrefix() + queue, "hello-" + i);
+        }
+
+        queueProcessor.handler(message -> {
+            context.assertEquals(queue, message.body().getString("queue"));
+            JsonArray payloads = message.body().getJsonArray(PAYLOADS);
+            context.assertNotNull(payloads);
+            context.assertTrue(payloads.size() <= 5, "batch must not exceed the prefetch count");
+            for (Object payload : payloads) {
+                processed.add((String) payload);
+            }
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, "hello-12"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(13));
+        for (int i = 0; i < 13; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + queue), equalTo(false));
+        async.complete();
+    }
+
+    @Test
+    public void enqueueWithOrderedPrefetch(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "ordered-queue";
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 12; i++) {
+            jedis.rpush(getQueuesRedisKeyPrefix() + queue, "hello-" + i);
+        }
+
+        queueProcessor.handler(message -> {
+            context.assertEquals(queue, message.body().getString("queue"));
+            processed.add(message.body().getString("payload"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, "hello-12"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(13));
+        for (int i = 0; i < 13; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + queue), equalTo(false));
+        async.complete();
+    }
+
+    @Test
+    public void orderedPrefetchKeepsUnacknowledgedMessages(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "ordered-queue";
+        final AtomicInteger failures = new AtomicInteger(0);
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 4; i++) {
+            jedis.rpush(getQueuesRedisKeyPrefix() + queue, "hello-" + i);
+        }
+
+        queueProcessor.handler(message -> {
+            String payload = message.body().getString("payload");
+            if ("hello-2".equals(payload) && failures.compareAndSet(0, 1)) {
+                message.reply(new JsonObject().put(STATUS, ERROR));
+                return;
+            }
+            processed.add(payload);
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, "hello-4"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        // the first window acknowledged hello-0 and hello-1 only, so hello-2 and its successors are retried
+        Awaitility.await().atMost(Duration.ofSeconds(10))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + queue), equalTo(false));
+        context.assertEquals(Arrays.asList("hello-0", "hello-1", "hello-3", "hello-4", "hello-2", "hello-3", "hello-4"),
+                processed);
+        context.assertEquals(1, failures.get());
+        async.complete();
+    }
+
+    @Test
+    public void enqueueWithPartitionedPrefetch(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "partitioned-queue";
+        final String[] keys = {"a", "b", "a", "c", "b", "a", "d", "a"};
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> inFlightKeys = Collections.synchronizedSet(new HashSet<>());
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        for (int i = 0; i < keys.length - 1; i++) {
+            jedis.rpush(getQueuesRedisKeyPrefix() + queue, new JsonObject().put("key", keys[i]).put("seq", i).encode());
+        }
+
+        queueProcessor.handler(message -> {
+            JsonObject payload = new JsonObject(message.body().getString(PAYLOAD));
+            String key = payload.getString("key");
+            context.assertTrue(inFlightKeys.add(key), "two messages of partition " + key + " in flight");
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            // answer after the other messages of the dispatch were received
+            vertx.runOnContext(nothing -> {
+                inFlightKeys.remove(key);
+                inFlight.decrementAndGet();
+                processed.add(key + "-" + payload.getInteger("seq"));
+                message.reply(new JsonObject().put(STATUS, OK));
+            });
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, new JsonObject().put("key", "a").put("seq", 7).encode()),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(keys.length));
+        context.assertTrue(maxInFlight.get() > 1, "partitions were not processed concurrently");
+        context.assertTrue(maxInFlight.get() <= 3, "partition concurrency exceeded: " + maxInFlight.get());
+        List<String> partitionA = new ArrayList<>();
+        for (String item : processed) {
+            if (item.startsWith("a-")) {
+                partitionA.add(item);
+            }
+        }
+        context.assertEquals(Arrays.asList("a-0", "a-2", "a-5", "a-7"), partitionA);
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + queue), equalTo(false));
+        async.complete();
+    }
+}
@@ -0,0 +1,162 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the sorted set index of the queue sizes.
+ */
+public class RedisQuesQueueSizeIndexTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        vertx = Vertx.vertx();
+        deployRedisques(context);
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    protected void deployRedisques(TestContext context) {
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .queueSizeIndexEnabled(true)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    private String getSizesRedisKey() {
+        return getRedisPrefix() + "sizes";
+    }
+
+    @Test
+    public void getLargestQueues(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        // no processor handler, so the queues are not consumed
+        eventBusSend(buildBulkEnqueueOperation(new JsonArray()
+                .add(buildBulkEnqueueMessage("queue1", "a"))
+                .add(buildBulkEnqueueMessage("queue1", "b"))
+                .add(buildBulkEnqueueMessage("queue1", "c"))
+                .add(buildBulkEnqueueMessage("queue3", "a"))
+                .add(buildBulkEnqueueMessage("queue3", "b"))), bulk -> {
+            context.assertEquals(OK, bulk.result().body().getString(STATUS));
+            eventBusSend(buildEnqueueOperation("queue2", "a"), enqueue -> {
+                context.assertEquals(OK, enqueue.result().body().getString(STATUS));
+                Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zcard(getSizesRedisKey()), equalTo(3L));
+
+                eventBusSend(buildGetLargestQueuesOperation(2), largest -> {
+                    context.assertEquals(OK, largest.result().body().getString(STATUS));
+                    JsonArray queues = largest.result().body().getJsonArray(QUEUES);
+                    context.assertEquals(2, queues.size());
+                    context.assertEquals(new JsonObject().put(MONITOR_QUEUE_NAME, "queue1").put(MONITOR_QUEUE_SIZE, 3L), queues.getJsonObject(0));
+                    context.assertEquals(new JsonObject().put(MONITOR_QUEUE_NAME, "queue3").put(MONITOR_QUEUE_SIZE, 2L), queues.getJsonObject(1));
+
+                    eventBusSend(buildDeleteAllQueueItemsOperation("queue1"), delete -> {
+                        context.assertEquals(OK, delete.result().body().getString(STATUS));
+                        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zcard(getSizesRedisKey()), equalTo(2L));
+
+                        eventBusSend(buildGetLargestQueuesOperation(0), all -> {
+                            JsonArray remaining = all.result().body().getJsonArray(QUEUES);
+                            context.assertEquals(2, remaining.size());
+                            context.assertEquals("queue3", remaining.getJsonObject(0).getString(MONITOR_QUEUE_NAME));
+                            context.assertEquals("queue2", remaining.getJsonObject(1).getString(MONITOR_QUEUE_NAME));
+                            async.complete();
+                        });
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void dequeueUpdatesIndex(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final AtomicInteger processed = new AtomicInteger();
+        queueProcessor.handler(message -> {
+            processed.incrementAndGet();
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            eventBusSend(buildEnqueueOperation("queue1", "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::get, equalTo(5));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zcard(getSizesRedisKey()), equalTo(0L));
+        async.complete();
+    }
+
+    @Test
+    public void indexIsRebuiltOnStart(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        long ts = System.currentTimeMillis();
+        jedis.zadd(getRedisPrefix() + "queues", ts, "queue1");
+        jedis.rpush(getQueuesRedisKeyPrefix() + "queue1", "a", "b");
+        // stale entry of a queue emptied while the index was not maintained
+        jedis.zadd(getSizesRedisKey(), 7, "queue2");
+
+        Async undeployed = context.async();
+        vertx.undeploy(deploymentId, context.asyncAssertSuccess(event -> undeployed.complete()));
+        undeployed.awaitSuccess();
+        deployRedisques(context);
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zscore(getSizesRedisKey(), "queue1"), equalTo(2.0));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.zcard(getSizesRedisKey()), equalTo(1L));
+        async.complete();
+    }
+}
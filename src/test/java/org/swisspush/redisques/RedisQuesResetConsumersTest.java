@@ -0,0 +1,96 @@
+package org.swisspush.redisques;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesAPI;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the reset of the consumers by scanning the keyspace and by walking the consumer index.
+ */
+public class RedisQuesResetConsumersTest extends AbstractTestCase {
+
+    @Rule
+    public Timeout rule = Timeout.seconds(30);
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    private void deployRedisques(TestContext context, boolean consumerIndexEnabled) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .processorAddress("processor-address")
+                .consumerIndexEnabled(consumerIndexEnabled)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        Async deployed = context.async();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            jedis = new Jedis("localhost", 6379, 5000);
+            deployed.complete();
+        }));
+        deployed.awaitSuccess();
+        // the processor never replies, so the registrations are kept
+        vertx.eventBus().consumer("processor-address", message -> { });
+    }
+
+    private void reset() {
+        // the reset is not replied
+        vertx.eventBus().send(getRedisquesAddress(), new JsonObject().put(OPERATION, RedisquesAPI.QueueOperation.reset.name()));
+    }
+
+    @Test
+    public void resetScannedConsumers(TestContext context) {
+        deployRedisques(context, false);
+        flushAll();
+        // more keys than a single scan batch
+        for (int i = 0; i < 2500; i++) {
+            jedis.set(getConsumersRedisKeyPrefix() + "queue-" + i, "some-instance");
+        }
+        jedis.set(getRedisPrefix() + "unrelated", "value");
+
+        reset();
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(
+                () -> jedis.keys(getConsumersRedisKeyPrefix() + "*").size(), equalTo(0));
+        context.assertEquals("value", jedis.get(getRedisPrefix() + "unrelated"));
+    }
+
+    @Test
+    public void resetIndexedConsumers(TestContext context) {
+        deployRedisques(context, true);
+        flushAll();
+        String consumerIndexKey = getRedisPrefix() + "consumers-index";
+        for (int i = 0; i < 3; i++) {
+            eventBusSend(buildEnqueueOperation("queue-" + i, "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(
+                () -> jedis.scard(consumerIndexKey), equalTo(3L));
+        context.assertEquals(3, jedis.keys(getConsumersRedisKeyPrefix() + "*").size());
+
+        reset();
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(
+                () -> jedis.keys(getConsumersRedisKeyPrefix() + "*").size(), equalTo(0));
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> jedis.exists(consumerIndexKey), equalTo(false));
+    }
+}
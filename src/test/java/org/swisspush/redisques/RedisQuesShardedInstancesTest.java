@@ -0,0 +1,125 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the registration of the queues by the shards of a deployment with several instances.
+ */
+public class RedisQuesShardedInstancesTest extends AbstractTestCase {
+
+    private static final int NUM_INSTANCES = 3;
+    private static final int NUM_QUEUES = 30;
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    private JsonObject config;
+
+    @Before
+    public void createQueueProcessor(TestContext context) {
+        jedis = new Jedis("localhost", 6379, 5000);
+        flushAll();
+        vertx = Vertx.vertx();
+        config = RedisquesConfiguration.with()
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .build()
+                .asJsonObject();
+        vertx.deployVerticle(RedisQues.class.getName(), new DeploymentOptions().setConfig(config).setInstances(NUM_INSTANCES),
+                context.asyncAssertSuccess(event -> deploymentId = event));
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void queuesAreRegisteredByTheInstanceOfTheirShard(TestContext context) {
+        Async async = context.async();
+        processAndAssertShards(context, NUM_INSTANCES);
+        async.complete();
+    }
+
+    @Test
+    public void queuesOfAStoppedInstanceAreRegisteredByTheOthers(TestContext context) throws InterruptedException {
+        Async async = context.async();
+        // the stop operation is handled by one of the instances
+        vertx.eventBus().send(getRedisquesAddress(), new JsonObject().put(OPERATION, QueueOperation.stop.name()));
+        Thread.sleep(500);
+
+        processAndAssertShards(context, NUM_INSTANCES - 1);
+        async.complete();
+    }
+
+    @Test
+    public void shardsAreClaimedAgainAfterRedeploy(TestContext context) {
+        Async redeployed = context.async();
+        vertx.undeploy(deploymentId, context.asyncAssertSuccess(undeployed -> vertx.deployVerticle(
+                RedisQues.class.getName(), new DeploymentOptions().setConfig(config).setInstances(NUM_INSTANCES),
+                context.asyncAssertSuccess(event -> {
+                    deploymentId = event;
+                    redeployed.complete();
+                }))));
+        redeployed.awaitSuccess();
+        flushAll();
+
+        Async async = context.async();
+        processAndAssertShards(context, NUM_INSTANCES);
+        async.complete();
+    }
+
+    private void processAndAssertShards(TestContext context, int expectedConsumers) {
+        final Set<String> processed = ConcurrentHashMap.newKeySet();
+        queueProcessor.handler(message -> {
+            processed.add(message.body().getString("queue"));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < NUM_QUEUES; i++) {
+            eventBusSend(buildEnqueueOperation("queue-" + i, "hello"),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(NUM_QUEUES));
+
+        LocalMap<String, String> shards = vertx.sharedData().getLocalMap("redisques.shards");
+        Set<String> consumers = new HashSet<>();
+        for (int i = 0; i < NUM_QUEUES; i++) {
+            String queue = "queue-" + i;
+            String consumer = jedis.get(getConsumersRedisKeyPrefix() + queue);
+            context.assertNotNull(consumer);
+            String shardOwner = shards.get(getRedisquesAddress() + ":" + RedisQues.shardOf(queue, NUM_INSTANCES));
+            if (shardOwner != null) {
+                context.assertEquals(shardOwner, consumer, "the queues of a shard are registered by its instance");
+            }
+            consumers.add(consumer);
+        }
+        context.assertEquals(expectedConsumers, consumers.size());
+    }
+}
@@ -0,0 +1,124 @@
+package org.swisspush.redisques;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queue speed windows merged in redis.
+ */
+public class RedisQuesSpeedWindowsTest extends AbstractTestCase {
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+    private static final String SPEED_KEY_PREFIX = CUSTOM_REDIS_KEY_PREFIX + "speed:{speed}:";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(30);
+
+    @Before
+    public void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .queueSpeedWindowsEnabled(true)
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    private long storedCount(String field) {
+        // the counts of the test may be split over two 5 minute buckets
+        long bucket = System.currentTimeMillis() / 1000 / 300;
+        long count = 0;
+        for (long index = bucket - 1; index <= bucket; index++) {
+            String value = jedis.hget(SPEED_KEY_PREFIX + "300:" + index, field);
+            count += value != null ? Long.parseLong(value) : 0;
+        }
+        return count;
+    }
+
+    @Test
+    public void enqueuedAndDequeuedMessagesAreMerged(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "speed-queue";
+        final AtomicInteger processed = new AtomicInteger();
+        vertx.eventBus().<JsonObject>consumer("processor-address", message -> {
+            message.reply(new JsonObject().put(STATUS, OK));
+            if (processed.incrementAndGet() == 5) {
+                vertx.setTimer(1500, timerId -> {
+                    context.assertEquals(5L, storedCount("e:" + queue));
+                    context.assertEquals(5L, storedCount("d:" + queue));
+                    async.complete();
+                });
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            eventBusSend(buildEnqueueOperation(queue, "message-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+    }
+
+    @Test
+    public void getQueuesSpeedReturnsTheSpeedOfAllInstances(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "speed-queue";
+        lockQueue(queue);
+        eventBusSend(buildEnqueueOperation(queue, "message"), enqueued -> {
+            // counts merged by another instance, in the last complete minute (also in the current one, in case
+            // the minute is over before reading)
+            long minute = System.currentTimeMillis() / 1000 / 60;
+            jedis.hincrBy(SPEED_KEY_PREFIX + "60:" + (minute - 1), "e:" + queue, 7);
+            jedis.hincrBy(SPEED_KEY_PREFIX + "60:" + minute, "e:" + queue, 7);
+            jedis.hincrBy(SPEED_KEY_PREFIX + "60:" + (minute - 1), "d:other-queue", 3);
+
+            eventBusSend(buildGetQueuesSpeedOperation(), reply -> {
+                JsonObject body = reply.result().body();
+                context.assertEquals(OK, body.getString(STATUS));
+                JsonObject speeds = body.getJsonObject(STATISTIC_QUEUE_SPEEDS);
+                context.assertTrue(speeds.getJsonObject("enqueued").getLong("1m") >= 7L, speeds.encode());
+                context.assertEquals(0L, speeds.getJsonObject("dequeued").getLong("1m"));
+                context.assertTrue(speeds.getJsonObject("dequeued").containsKey("5m"));
+                async.complete();
+            });
+        });
+    }
+}
@@ -0,0 +1,215 @@
+package org.swisspush.redisques;
+
+import org.awaitility.Awaitility;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.swisspush.redisques.util.QueueConfiguration;
+import org.swisspush.redisques.util.RedisquesConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.swisspush.redisques.util.RedisquesAPI.*;
+
+/**
+ * Tests the queues stored in redis streams.
+ */
+public class RedisQuesStreamStorageTest extends AbstractTestCase {
+
+    private static MessageConsumer<JsonObject> queueProcessor = null;
+
+    private static final String CUSTOM_REDIS_KEY_PREFIX = "mycustomredisprefix:";
+    private static final String CUSTOM_REDISQUES_ADDRESS = "customredisques";
+
+    @Override
+    protected String getRedisPrefix() {
+        return CUSTOM_REDIS_KEY_PREFIX;
+    }
+
+    @Override
+    protected String getRedisquesAddress() {
+        return CUSTOM_REDISQUES_ADDRESS;
+    }
+
+    @Rule
+    public Timeout rule = Timeout.seconds(60);
+
+    @Before
+    public void deployRedisques(TestContext context) {
+        vertx = Vertx.vertx();
+        JsonObject config = RedisquesConfiguration.with()
+                .address(getRedisquesAddress())
+                .redisPrefix(CUSTOM_REDIS_KEY_PREFIX)
+                .processorAddress("processor-address")
+                .refreshPeriod(2)
+                .processorTimeout(10)
+                .queueStorage("STREAM")
+                .fusedEnqueueEnabled(true)
+                .queueConfigurations(Collections.singletonList(
+                        new QueueConfiguration().withPattern("batch-.*").withPrefetchCount(5).withPrefetchBatch(true)
+                ))
+                .build()
+                .asJsonObject();
+
+        RedisQues redisQues = new RedisQues();
+        vertx.deployVerticle(redisQues, new DeploymentOptions().setConfig(config), context.asyncAssertSuccess(event -> {
+            deploymentId = event;
+            log.info("vert.x Deploy - " + redisQues.getClass().getSimpleName() + " was successful.");
+            jedis = new Jedis("localhost", 6379, 5000);
+        }));
+        queueProcessor = vertx.eventBus().consumer("processor-address");
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void enqueueAndProcess(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "stream-queue";
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        queueProcessor.handler(message -> {
+            context.assertEquals(queue, message.body().getString("queue"));
+            processed.add(message.body().getString(PAYLOAD));
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            eventBusSend(buildEnqueueOperation(queue, "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(5));
+        for (int i = 0; i < 5; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        // the empty stream is deleted together with its consumer group
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.exists(getQueuesRedisKeyPrefix() + queue), equalTo(false));
+        async.complete();
+    }
+
+    @Test
+    public void retryFailedMessage(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "stream-retry-queue";
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        queueProcessor.handler(message -> {
+            String payload = message.body().getString(PAYLOAD);
+            if ("hello-0".equals(payload) && attempts.incrementAndGet() == 1) {
+                message.reply(new JsonObject().put(STATUS, ERROR));
+                return;
+            }
+            processed.add(payload);
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        eventBusSend(buildEnqueueOperation(queue, "hello-0"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        eventBusSend(buildEnqueueOperation(queue, "hello-1"),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        // the pending message is delivered again by the retry and keeps its position
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(processed::size, equalTo(2));
+        context.assertEquals(2, attempts.get());
+        context.assertEquals("hello-0", processed.get(0));
+        context.assertEquals("hello-1", processed.get(1));
+        async.complete();
+    }
+
+    @Test
+    public void processBatch(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "batch-stream-queue";
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        queueProcessor.handler(message -> {
+            JsonArray payloads = message.body().getJsonArray(PAYLOADS);
+            context.assertTrue(payloads.size() <= 5, "batch must not exceed the prefetch count");
+            for (Object payload : payloads) {
+                processed.add((String) payload);
+            }
+            message.reply(new JsonObject().put(STATUS, OK));
+        });
+
+        JsonArray messages = new JsonArray();
+        for (int i = 0; i < 12; i++) {
+            messages.add(new JsonObject().put(QUEUENAME, queue).put(MESSAGE, "hello-" + i));
+        }
+        eventBusSend(buildBulkEnqueueOperation(messages),
+                reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(processed::size, equalTo(12));
+        for (int i = 0; i < 12; i++) {
+            context.assertEquals("hello-" + i, processed.get(i));
+        }
+        async.complete();
+    }
+
+    @Test
+    public void monitorQueueItems(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        final String queue = "stream-monitor-queue";
+        lockQueue(queue);
+        for (int i = 0; i < 3; i++) {
+            eventBusSend(buildEnqueueOperation(queue, "hello-" + i),
+                    reply -> context.assertEquals(OK, reply.result().body().getString(STATUS)));
+        }
+        Awaitility.await().atMost(Duration.ofSeconds(2))
+                .until(() -> jedis.xlen(getQueuesRedisKeyPrefix() + queue), equalTo(3L));
+
+        eventBusSend(buildGetQueueItemsCountOperation(queue), countReply -> {
+            context.assertEquals(OK, countReply.result().body().getString(STATUS));
+            context.assertEquals(3L, countReply.result().body().getLong(VALUE));
+            eventBusSend(buildGetQueueItemsOperation(queue, "2"), itemsReply -> {
+                context.assertEquals(OK, itemsReply.result().body().getString(STATUS));
+                context.assertEquals(new JsonArray().add("hello-0").add("hello-1"),
+                        itemsReply.result().body().getJsonArray(VALUE));
+                context.assertEquals(new JsonArray().add(2).add(3), itemsReply.result().body().getJsonArray(INFO));
+                eventBusSend(buildGetQueuesItemsCountOperation(null), queuesCountReply -> {
+                    context.assertEquals(OK, queuesCountReply.result().body().getString(STATUS));
+                    JsonArray queues = queuesCountReply.result().body().getJsonArray(QUEUES);
+                    context.assertEquals(1, queues.size());
+                    context.assertEquals(3L, queues.getJsonObject(0).getLong(MONITOR_QUEUE_SIZE));
+                    eventBusSend(buildGetQueueItemOperation(queue, 0), itemReply -> {
+                        context.assertEquals(ERROR, itemReply.result().body().getString(STATUS));
+                        async.complete();
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void configuration(TestContext context) {
+        Async async = context.async();
+        eventBusSend(buildGetConfigurationOperation(), reply -> {
+            JsonObject configuration = reply.result().body().getJsonObject(VALUE);
+            context.assertEquals("STREAM", configuration.getString(RedisquesConfiguration.PROP_QUEUE_STORAGE));
+            // the fused enqueue script pushes to a list
+            context.assertFalse(configuration.getBoolean(RedisquesConfiguration.PROP_FUSED_ENQUEUE_ENABLED));
+            async.complete();
+        });
+    }
+}
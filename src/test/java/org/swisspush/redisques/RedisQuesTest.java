@@ -1,6 +1,7 @@
 package org.swisspush.redisques;
 
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -15,6 +16,11 @@ import org.swisspush.redisques.util.RedisquesConfiguration;
 import redis.clients.jedis.Jedis;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.swisspush.redisques.util.RedisquesAPI.*;
 
@@ -238,6 +244,98 @@ public class RedisQuesTest extends AbstractTestCase {
         });
     }
 
+    @Test
+    public void getQueuesPaged(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        // more queues than a small sorted set holds, so the queues are scanned in multiple chunks
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 300; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue" + i);
+            jedis.rpush(getQueuesRedisKeyPrefix() + "queue" + i, "testItem");
+        }
+
+        Set<String> queues = new HashSet<>();
+        AtomicInteger pages = new AtomicInteger();
+        collectQueuesPages(context, null, 50, null, queues, pages, () -> {
+            context.assertEquals(300, queues.size());
+            context.assertTrue(pages.get() > 1, "expected multiple pages but got " + pages.get());
+
+            Set<String> filteredQueues = new HashSet<>();
+            collectQueuesPages(context, "^queue1[0-9]$", 50, null, filteredQueues, new AtomicInteger(), () -> {
+                context.assertEquals(10, filteredQueues.size());
+                for (int i = 10; i < 20; i++) {
+                    context.assertTrue(filteredQueues.contains("queue" + i));
+                }
+                eventBusSend(buildGetQueuesOperation(null, 0, null), message -> {
+                    context.assertEquals(ERROR, message.result().body().getString(STATUS));
+                    context.assertEquals(BAD_INPUT, message.result().body().getString(ERROR_TYPE));
+                    async.complete();
+                });
+            });
+        });
+    }
+
+    private void collectQueuesPages(TestContext context, String filter, int limit, String cursor, Set<String> queues,
+                                    AtomicInteger pages, Runnable done) {
+        eventBusSend(buildGetQueuesOperation(filter, limit, cursor), message -> {
+            context.assertEquals(OK, message.result().body().getString(STATUS));
+            JsonObject value = message.result().body().getJsonObject(VALUE);
+            pages.incrementAndGet();
+            for (Object queue : value.getJsonArray(QUEUES)) {
+                queues.add((String) queue);
+            }
+            if (value.getString(CURSOR) == null) {
+                done.run();
+            } else {
+                collectQueuesPages(context, filter, limit, value.getString(CURSOR), queues, pages, done);
+            }
+        });
+    }
+
+    @Test
+    public void getQueuesItemsCountPaged(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 300; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue" + i);
+            for (int j = 0; j < i % 3; j++) {
+                jedis.rpush(getQueuesRedisKeyPrefix() + "queue" + i, "testItem");
+            }
+        }
+        collectQueuesItemsCountPages(context, null, null, new HashMap<>(), sizes -> {
+            context.assertEquals(300, sizes.size());
+            for (int i = 0; i < 300; i++) {
+                context.assertEquals((long) (i % 3), sizes.get("queue" + i));
+            }
+            collectQueuesItemsCountPages(context, "^queue2[0-9]$", null, new HashMap<>(), filteredSizes -> {
+                context.assertEquals(10, filteredSizes.size());
+                for (int i = 20; i < 30; i++) {
+                    context.assertEquals((long) (i % 3), filteredSizes.get("queue" + i));
+                }
+                async.complete();
+            });
+        });
+    }
+
+    private void collectQueuesItemsCountPages(TestContext context, String filter, String cursor, Map<String, Long> sizes,
+                                              Handler<Map<String, Long>> done) {
+        eventBusSend(buildGetQueuesItemsCountOperation(filter, 50, cursor), message -> {
+            JsonObject body = message.result().body();
+            context.assertEquals(OK, body.getString(STATUS));
+            for (Object queue : body.getJsonArray(QUEUES)) {
+                JsonObject queueObject = (JsonObject) queue;
+                sizes.put(queueObject.getString(MONITOR_QUEUE_NAME), queueObject.getLong(MONITOR_QUEUE_SIZE));
+            }
+            if (body.getString(CURSOR) == null) {
+                done.handle(sizes);
+            } else {
+                collectQueuesItemsCountPages(context, filter, body.getString(CURSOR), sizes, done);
+            }
+        });
+    }
+
     @Test
     public void getQueuesFiltered(TestContext context) {
         Async asyncEnqueue = context.async(20);
@@ -562,6 +660,59 @@ public class RedisQuesTest extends AbstractTestCase {
     }
 
 
+    @Test
+    public void bulkEnqueue(TestContext context) {
+        Async async = context.async();
+        flushAll();
+
+        JsonArray messages = new JsonArray()
+                .add(buildBulkEnqueueMessage("q1", "q1_message_1"))
+                .add(buildBulkEnqueueMessage("q2", "q2_message_1"))
+                .add(buildBulkEnqueueMessage("q1", "q1_message_2"));
+
+        eventBusSend(buildBulkEnqueueOperation(new JsonArray()), m1 -> {
+            context.assertEquals(OK, m1.result().body().getString(STATUS));
+            context.assertEquals(0, m1.result().body().getInteger(VALUE));
+            assertQueuesCount(context, 0);
+
+            eventBusSend(buildBulkEnqueueOperation(messages), m2 -> {
+                context.assertEquals(OK, m2.result().body().getString(STATUS));
+                context.assertEquals(3, m2.result().body().getInteger(VALUE));
+
+                assertQueuesCount(context, 2);
+                assertQueueItemsCount(context, "q1", 2);
+                assertQueueItemsCount(context, "q2", 1);
+                context.assertEquals("q1_message_1", jedis.lindex(getQueuesRedisKeyPrefix() + "q1", 0));
+                context.assertEquals("q1_message_2", jedis.lindex(getQueuesRedisKeyPrefix() + "q1", 1));
+
+                // invalid operation setup
+                JsonObject operation = buildOperation(QueueOperation.bulkEnqueue, new JsonObject().put("abc", 123));
+                eventBusSend(operation, m3 -> {
+                    context.assertEquals(ERROR, m3.result().body().getString(STATUS));
+                    context.assertEquals(BAD_INPUT, m3.result().body().getString(ERROR_TYPE));
+                    context.assertEquals("No messages to enqueue provided", m3.result().body().getString(MESSAGE));
+
+                    // not json object values
+                    eventBusSend(buildBulkEnqueueOperation(new JsonArray().add(111).add(222)), m4 -> {
+                        context.assertEquals(ERROR, m4.result().body().getString(STATUS));
+                        context.assertEquals(BAD_INPUT, m4.result().body().getString(ERROR_TYPE));
+                        context.assertEquals("Messages must be json objects", m4.result().body().getString(MESSAGE));
+
+                        // missing queuename
+                        JsonArray invalid = new JsonArray().add(new JsonObject().put(MESSAGE, "foo"));
+                        eventBusSend(buildBulkEnqueueOperation(invalid), m5 -> {
+                            context.assertEquals(ERROR, m5.result().body().getString(STATUS));
+                            context.assertEquals(BAD_INPUT, m5.result().body().getString(ERROR_TYPE));
+                            assertQueueItemsCount(context, "q1", 2);
+                            async.complete();
+                        });
+                    });
+                });
+            });
+        });
+    }
+
+
     @Test
     public void addQueueItem(TestContext context) {
         Async async = context.async();
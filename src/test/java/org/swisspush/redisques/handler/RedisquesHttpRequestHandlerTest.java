@@ -14,7 +14,9 @@ import static org.hamcrest.collection.IsEmptyCollection.emptyCollectionOf;
 import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
 import static org.swisspush.redisques.util.RedisquesAPI.BULK_DELETE;
 import static org.swisspush.redisques.util.RedisquesAPI.COUNT;
+import static org.swisspush.redisques.util.RedisquesAPI.CURSOR;
 import static org.swisspush.redisques.util.RedisquesAPI.FILTER;
+import static org.swisspush.redisques.util.RedisquesAPI.LIMIT;
 import static org.swisspush.redisques.util.RedisquesAPI.LOCKS;
 import static org.swisspush.redisques.util.RedisquesAPI.REQUESTED_BY;
 import static org.swisspush.redisques.util.RedisquesAPI.buildEnqueueOperation;
@@ -23,6 +25,7 @@ import static org.swisspush.redisques.util.RedisquesAPI.buildPutLockOperation;
 import com.sun.istack.NotNull;
 import com.sun.istack.Nullable;
 import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Handler;
@@ -36,7 +39,10 @@ import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.Timeout;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
@@ -411,6 +417,89 @@ public class RedisquesHttpRequestHandlerTest extends AbstractTestCase {
         async.awaitSuccess();
     }
 
+    @Test
+    public void listQueuesPaged(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        // more queues than a small sorted set holds, so the queues are scanned in multiple chunks
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 300; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue_" + i);
+            jedis.rpush(getQueuesRedisKeyPrefix() + "queue_" + i, "item");
+        }
+
+        Set<String> queues = new HashSet<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            JsonPath page = given().param(LIMIT, 50).param(CURSOR, cursor == null ? "0" : cursor)
+                    .when().get("/queuing/queues/")
+                    .then().assertThat()
+                    .statusCode(200)
+                    .extract().jsonPath();
+            queues.addAll(page.getList("queues"));
+            cursor = page.getString("cursor");
+            pages++;
+        } while (cursor != null);
+        context.assertEquals(300, queues.size());
+        context.assertTrue(pages > 1, "expected multiple pages but got " + pages);
+
+        // without limit all queues are streamed
+        List<String> allQueues = when().get("/queuing/queues/")
+                .then().assertThat()
+                .statusCode(200)
+                .extract().jsonPath().getList("queues");
+        context.assertEquals(300, allQueues.size());
+        context.assertEquals(queues, new HashSet<>(allQueues));
+
+        given().param(LIMIT, "abc").when().get("/queuing/queues/")
+                .then().assertThat()
+                .statusCode(400);
+        given().param(LIMIT, 0).when().get("/queuing/queues/")
+                .then().assertThat()
+                .statusCode(400);
+        async.complete();
+    }
+
+    @Test
+    public void getMonitorInformationPaged(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < 300; i++) {
+            jedis.zadd(getRedisPrefix() + "queues", ts, "queue_" + i);
+            for (int j = 0; j < i % 3; j++) {
+                jedis.rpush(getQueuesRedisKeyPrefix() + "queue_" + i, "item");
+            }
+        }
+
+        Map<String, Integer> sizes = new HashMap<>();
+        String cursor = "0";
+        do {
+            JsonPath page = given().param(LIMIT, 50).param(CURSOR, cursor)
+                    .when().get("/queuing/monitor")
+                    .then().assertThat()
+                    .statusCode(200)
+                    .extract().jsonPath();
+            List<Map<String, Object>> queues = page.getList("queues");
+            for (Map<String, Object> queue : queues) {
+                sizes.put((String) queue.get("name"), (Integer) queue.get("size"));
+            }
+            cursor = page.getString("cursor");
+        } while (cursor != null);
+
+        // empty queues are not listed
+        context.assertEquals(200, sizes.size());
+        for (int i = 0; i < 300; i++) {
+            if (i % 3 == 0) {
+                context.assertFalse(sizes.containsKey("queue_" + i));
+            } else {
+                context.assertEquals(i % 3, sizes.get("queue_" + i));
+            }
+        }
+        async.complete();
+    }
+
     @Test
     public void listQueuesFiltered(TestContext context) {
         Async async = context.async();
@@ -1176,6 +1265,57 @@ public class RedisquesHttpRequestHandlerTest extends AbstractTestCase {
         async.complete();
     }
 
+    @Test
+    public void bulkEnqueue(TestContext context) {
+        Async async = context.async();
+        flushAll();
+        assertQueuesCount(context, 0);
+
+        String body = "{\"messages\": [" +
+                "{\"queuename\": \"q1\", \"message\": " + queueItemValid + "}," +
+                "{\"queuename\": \"q2\", \"message\": " + queueItemValid2 + "}," +
+                "{\"queuename\": \"q1\", \"message\": " + queueItemValid2 + "}]}";
+
+        given().body(body).when().post("/queuing/enqueue")
+                .then().assertThat()
+                .statusCode(200)
+                .body("enqueued", equalTo(3));
+
+        assertQueuesCount(context, 2);
+        assertQueueItemsCount(context, "q1", 2);
+        assertQueueItemsCount(context, "q2", 1);
+        async.complete();
+    }
+
+    @Test
+    public void bulkEnqueueInvalidBody(TestContext context) {
+        Async async = context.async();
+        flushAll();
+
+        given().body("{\"messages\": []}").when().post("/queuing/enqueue")
+                .then().assertThat()
+                .statusCode(400)
+                .body(containsString("array 'messages' is not allowed to be empty"));
+
+        given().body("{\"messages\": [123]}").when().post("/queuing/enqueue")
+                .then().assertThat()
+                .statusCode(400)
+                .body(containsString("Messages must be json objects"));
+
+        given().body("{\"messages\": [{\"message\": " + queueItemValid + "}]}").when().post("/queuing/enqueue")
+                .then().assertThat()
+                .statusCode(400)
+                .body(containsString("Messages must have a 'queuename' and a 'message' property"));
+
+        given().body("{\"messages\": [").when().post("/queuing/enqueue")
+                .then().assertThat()
+                .statusCode(400)
+                .body(containsString("failed to parse request payload"));
+
+        assertQueuesCount(context, 0);
+        async.complete();
+    }
+
     @Test
     public void bulkDeleteQueues(TestContext context) {
         Async async = context.async();
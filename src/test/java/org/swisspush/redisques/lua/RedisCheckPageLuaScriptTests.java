@@ -0,0 +1,57 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisCheckPageLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String QUEUES_KEY = "redisques:queues";
+    private static final String QUEUES_PREFIX = "redisques:queues:";
+    private static final String CONSUMERS_PREFIX = "redisques:consumers:";
+
+    @Test
+    public void testCheckPage() {
+        jedis.zadd(QUEUES_KEY, 100, "queue1");
+        jedis.zadd(QUEUES_KEY, 200, "queue2");
+        jedis.zadd(QUEUES_KEY, 300, "queue3");
+        jedis.zadd(QUEUES_KEY, 5000, "active");
+        jedis.rpush(QUEUES_PREFIX + "queue2", "item");
+        jedis.set(CONSUMERS_PREFIX + "queue2", "my-uid");
+
+        assertThat(evalScriptCheckPage(1000, 10, 2000),
+                equalTo(Arrays.asList(Collections.singletonList("queue2"), Arrays.asList("queue1", "queue3"))));
+
+        assertThat(jedis.zrange(QUEUES_KEY, 0, -1), equalTo(new LinkedHashSet<>(Arrays.asList("queue2", "active"))));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue2"), equalTo(2000.0));
+        assertThat(jedis.ttl(CONSUMERS_PREFIX + "queue2"), equalTo(10L));
+    }
+
+    @Test
+    public void testCheckPageIsLimitedToPageSize() {
+        for (int i = 0; i < 5; i++) {
+            jedis.zadd(QUEUES_KEY, i, "queue" + i);
+        }
+
+        assertThat(evalScriptCheckPage(1000, 2, 2000),
+                equalTo(Arrays.asList(Collections.emptyList(), Arrays.asList("queue0", "queue1"))));
+        assertThat(evalScriptCheckPage(1000, 2, 2000),
+                equalTo(Arrays.asList(Collections.emptyList(), Arrays.asList("queue2", "queue3"))));
+        assertThat(evalScriptCheckPage(1000, 2, 2000),
+                equalTo(Arrays.asList(Collections.emptyList(), Collections.singletonList("queue4"))));
+        assertThat(jedis.zcard(QUEUES_KEY), equalTo(0L));
+    }
+
+    private Object evalScriptCheckPage(long limit, int pageSize, long timestamp) {
+        String script = readScript("redisques_check_page.lua");
+        List<String> arguments = Arrays.asList(QUEUES_PREFIX, CONSUMERS_PREFIX, String.valueOf(limit),
+                String.valueOf(pageSize), "10", String.valueOf(timestamp));
+        return jedis.eval(script, Collections.singletonList(QUEUES_KEY), arguments);
+    }
+}
@@ -0,0 +1,90 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisDequeueLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String LOCKS_KEY = "redisques:locks";
+    private static final String CONSUMER_KEY = "redisques:consumers:queue1";
+    private static final String QUEUE_KEY = "redisques:queues:queue1";
+    private static final String QUEUES_KEY = "redisques:queues";
+    private static final String UID = "my-uid";
+
+    @Test
+    public void testPeekNotOwner() {
+        jedis.rpush(QUEUE_KEY, "item1");
+        assertThat(evalScriptPeek(), equalTo(Collections.singletonList("notowner")));
+
+        jedis.set(CONSUMER_KEY, "other-uid");
+        assertThat(evalScriptPeek(), equalTo(Arrays.asList("notowner", "other-uid")));
+        assertThat(jedis.ttl(CONSUMER_KEY), equalTo(-1L));
+    }
+
+    @Test
+    public void testPeekLocked() {
+        jedis.set(CONSUMER_KEY, UID);
+        jedis.rpush(QUEUE_KEY, "item1");
+        jedis.hset(LOCKS_KEY, "queue1", "{}");
+        assertThat(evalScriptPeek(), equalTo(Collections.singletonList("locked")));
+        assertThat(jedis.ttl(CONSUMER_KEY), equalTo(20L));
+        assertThat(jedis.llen(QUEUE_KEY), equalTo(1L));
+    }
+
+    @Test
+    public void testPeekEmpty() {
+        jedis.set(CONSUMER_KEY, UID);
+        assertThat(evalScriptPeek(), equalTo(Collections.singletonList("empty")));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue1"), nullValue());
+    }
+
+    @Test
+    public void testPeekAndPop() {
+        jedis.set(CONSUMER_KEY, UID);
+        jedis.rpush(QUEUE_KEY, "item1", "item2", "item3");
+
+        assertThat(evalScriptPeek(), equalTo(Arrays.asList("ok", "item1")));
+        assertThat(jedis.llen(QUEUE_KEY), equalTo(3L));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue1"), notNullValue());
+
+        assertThat(evalScriptPop(1), equalTo(2L));
+        assertThat(evalScriptPeek(), equalTo(Arrays.asList("ok", "item2")));
+
+        assertThat(evalScriptPop(2), equalTo(0L));
+        assertThat(jedis.exists(QUEUE_KEY), is(false));
+        assertThat(evalScriptPeek(), equalTo(Collections.singletonList("empty")));
+    }
+
+    @Test
+    public void testPeekMultipleAndPop() {
+        jedis.set(CONSUMER_KEY, UID);
+        jedis.rpush(QUEUE_KEY, "item1", "item2", "item3");
+
+        assertThat(evalScriptPeek(2), equalTo(Arrays.asList("ok", "item1", "item2")));
+        assertThat(evalScriptPop(2), equalTo(1L));
+        assertThat(evalScriptPeek(5), equalTo(Arrays.asList("ok", "item3")));
+    }
+
+    private Object evalScriptPeek() {
+        return evalScriptPeek(1);
+    }
+
+    private Object evalScriptPeek(int count) {
+        String script = readScript("redisques_dequeue_peek.lua");
+        List<String> keys = Arrays.asList(LOCKS_KEY, CONSUMER_KEY, QUEUE_KEY, QUEUES_KEY);
+        List<String> args = Arrays.asList("queue1", UID, "20",
+                String.valueOf(System.currentTimeMillis()), String.valueOf(count));
+        return jedis.eval(script, keys, args);
+    }
+
+    private Object evalScriptPop(int count) {
+        String script = readScript("redisques_dequeue_pop.lua");
+        return jedis.eval(script, Collections.singletonList(QUEUE_KEY), Collections.singletonList(String.valueOf(count)));
+    }
+}
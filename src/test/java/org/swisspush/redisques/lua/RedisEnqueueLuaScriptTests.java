@@ -0,0 +1,37 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisEnqueueLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String QUEUES_KEY = "redisques:queues";
+    private static final String QUEUE_KEY = "redisques:queues:queue1";
+    private static final String CONSUMER_KEY = "redisques:consumers:queue1";
+
+    @Test
+    public void testEnqueueWithoutConsumer() {
+        assertThat(evalScriptEnqueue("item1", 1000), equalTo(Collections.singletonList(1L)));
+        assertThat(evalScriptEnqueue("item2", 2000), equalTo(Collections.singletonList(2L)));
+
+        assertThat(jedis.lrange(QUEUE_KEY, 0, -1), equalTo(Arrays.asList("item1", "item2")));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue1"), equalTo(2000.0));
+    }
+
+    @Test
+    public void testEnqueueWithConsumer() {
+        jedis.set(CONSUMER_KEY, "my-uid");
+        assertThat(evalScriptEnqueue("item1", 1000), equalTo(Arrays.asList(1L, "my-uid")));
+    }
+
+    private Object evalScriptEnqueue(String message, long timestamp) {
+        String script = readScript("redisques_enqueue.lua");
+        return jedis.eval(script, Arrays.asList(QUEUES_KEY, QUEUE_KEY, CONSUMER_KEY),
+                Arrays.asList("queue1", String.valueOf(timestamp), message));
+    }
+}
@@ -0,0 +1,42 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisExpireConsumerLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String CONSUMER_KEY = "redisques:consumers:queue1";
+
+    @Test
+    public void testExpireOwnRegistration() {
+        jedis.set(CONSUMER_KEY, "my-uid");
+
+        assertThat(evalScriptExpireConsumer("my-uid"), equalTo(1L));
+        assertThat(jedis.ttl(CONSUMER_KEY), equalTo(10L));
+    }
+
+    @Test
+    public void testForeignRegistrationIsNotExpired() {
+        jedis.set(CONSUMER_KEY, "other-uid");
+
+        assertThat(evalScriptExpireConsumer("my-uid"), equalTo(0L));
+        assertThat(jedis.ttl(CONSUMER_KEY), equalTo(-1L));
+        assertThat(jedis.get(CONSUMER_KEY), equalTo("other-uid"));
+    }
+
+    @Test
+    public void testMissingRegistration() {
+        assertThat(evalScriptExpireConsumer("my-uid"), equalTo(0L));
+        assertThat(jedis.exists(CONSUMER_KEY), is(false));
+    }
+
+    private Object evalScriptExpireConsumer(String uid) {
+        String script = readScript("redisques_expire_consumer.lua");
+        return jedis.eval(script, Collections.singletonList(CONSUMER_KEY), Arrays.asList(uid, "10"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisRenewLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String QUEUES_KEY = "redisques:queues";
+    private static final String CONSUMERS_PREFIX = "redisques:consumers:";
+
+    @Test
+    public void testRenewOwnedQueues() {
+        jedis.set(CONSUMERS_PREFIX + "queue1", "my-uid");
+        jedis.set(CONSUMERS_PREFIX + "queue2", "my-uid");
+
+        assertThat(evalScriptRenew(Arrays.asList("queue1", "queue2"), 1000), equalTo(Collections.emptyList()));
+
+        assertThat(jedis.ttl(CONSUMERS_PREFIX + "queue1"), equalTo(10L));
+        assertThat(jedis.ttl(CONSUMERS_PREFIX + "queue2"), equalTo(10L));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue1"), equalTo(1000.0));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue2"), equalTo(1000.0));
+    }
+
+    @Test
+    public void testRenewReportsLostQueues() {
+        jedis.set(CONSUMERS_PREFIX + "queue1", "my-uid");
+        jedis.set(CONSUMERS_PREFIX + "queue2", "other-uid");
+
+        assertThat(evalScriptRenew(Arrays.asList("queue1", "queue2", "queue3"), 1000),
+                equalTo(Arrays.asList("queue2", "queue3")));
+
+        assertThat(jedis.ttl(CONSUMERS_PREFIX + "queue1"), equalTo(10L));
+        // the registration of the other consumer is not touched
+        assertThat(jedis.ttl(CONSUMERS_PREFIX + "queue2"), equalTo(-1L));
+        assertThat(jedis.exists(CONSUMERS_PREFIX + "queue3"), is(false));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue1"), equalTo(1000.0));
+        assertThat(jedis.zscore(QUEUES_KEY, "queue2"), is(nullValue()));
+    }
+
+    private Object evalScriptRenew(List<String> queueNames, long timestamp) {
+        String script = readScript("redisques_renew.lua");
+        List<String> keys = new ArrayList<>();
+        keys.add(QUEUES_KEY);
+        List<String> arguments = new ArrayList<>(Arrays.asList("my-uid", "10", String.valueOf(timestamp)));
+        for (String queueName : queueNames) {
+            keys.add(CONSUMERS_PREFIX + queueName);
+            arguments.add(queueName);
+        }
+        return jedis.eval(script, keys, arguments);
+    }
+}
@@ -0,0 +1,75 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisScanQueuesLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String QUEUES_KEY = "redisques:queues";
+    private static final String QUEUES_PREFIX = "redisques:queues:";
+
+    @Test
+    public void testScanQueuesWithSizes() {
+        jedis.zadd(QUEUES_KEY, 1000, "queue1");
+        jedis.zadd(QUEUES_KEY, 2000, "queue2");
+        jedis.zadd(QUEUES_KEY, 100, "old");
+        jedis.rpush(QUEUES_PREFIX + "queue2", "item1", "item2");
+
+        List<Object> result = evalScriptScanQueues("0", 10, 500, QUEUES_PREFIX);
+        assertThat(result.get(0), equalTo("0"));
+        assertThat(toMap(result), equalTo(Map.of("queue1", 0L, "queue2", 2L)));
+    }
+
+    @Test
+    public void testScanQueuesWithoutSizes() {
+        jedis.zadd(QUEUES_KEY, 1000, "queue1");
+        List<Object> result = evalScriptScanQueues("0", 10, 500, "");
+        assertThat(result.get(1), equalTo(Collections.singletonList("queue1")));
+        assertThat(result.get(2), equalTo(Collections.emptyList()));
+    }
+
+    @Test
+    public void testScanQueuesInChunks() {
+        for (int i = 0; i < 500; i++) {
+            jedis.zadd(QUEUES_KEY, 1000, "queue" + i);
+        }
+        Map<String, Long> queues = new HashMap<>();
+        String cursor = "0";
+        int chunks = 0;
+        do {
+            List<Object> result = evalScriptScanQueues(cursor, 50, 500, QUEUES_PREFIX);
+            queues.putAll(toMap(result));
+            cursor = (String) result.get(0);
+            chunks++;
+        } while (!"0".equals(cursor));
+        assertThat(queues.size(), equalTo(500));
+        assertThat(chunks > 1, is(true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> toMap(List<Object> result) {
+        List<String> names = (List<String>) result.get(1);
+        List<Long> sizes = (List<Long>) result.get(2);
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            map.put(names.get(i), sizes.get(i));
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> evalScriptScanQueues(String cursor, int count, long minTimestamp, String queuesPrefix) {
+        String script = readScript("redisques_scan_queues.lua");
+        return new ArrayList<>((List<Object>) jedis.eval(script, Collections.singletonList(QUEUES_KEY),
+                Arrays.asList(cursor, String.valueOf(count), String.valueOf(minTimestamp), queuesPrefix)));
+    }
+}
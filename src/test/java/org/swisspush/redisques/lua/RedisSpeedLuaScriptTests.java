@@ -0,0 +1,55 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisSpeedLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String BUCKET_1S = "redisques:speed:{speed}:1:100";
+    private static final String BUCKET_10S = "redisques:speed:{speed}:10:10";
+
+    @Test
+    public void testMergeAddsToAllBuckets() {
+        assertThat(evalScriptMerge("e:queue1", "3", "d:queue1", "2"), equalTo(2L));
+        // a second instance
+        assertThat(evalScriptMerge("e:queue1", "4", "e:queue2", "1"), equalTo(2L));
+
+        assertThat(jedis.hget(BUCKET_1S, "e:queue1"), equalTo("7"));
+        assertThat(jedis.hget(BUCKET_1S, "d:queue1"), equalTo("2"));
+        assertThat(jedis.hget(BUCKET_10S, "e:queue2"), equalTo("1"));
+        assertThat(jedis.ttl(BUCKET_1S), equalTo(8L));
+        assertThat(jedis.ttl(BUCKET_10S), equalTo(35L));
+    }
+
+    @Test
+    public void testReadSumsEnqueuedAndDequeued() {
+        evalScriptMerge("e:queue1", "3", "d:queue1", "2", "e:queue2", "5", "d:queue3", "9");
+
+        assertThat(evalScriptRead("e:queue1", "d:queue1", "e:queue2", "d:queue2"),
+                equalTo(Arrays.asList(8L, 2L, 8L, 2L)));
+        assertThat(evalScriptRead("e:queue4", "d:queue4"), equalTo(Arrays.asList(0L, 0L, 0L, 0L)));
+    }
+
+    @Test
+    public void testReadMissingBuckets() {
+        assertThat(evalScriptRead("e:queue1", "d:queue1"), equalTo(Arrays.asList(0L, 0L, 0L, 0L)));
+    }
+
+    private Object evalScriptMerge(String... counts) {
+        String script = readScript("redisques_speed_merge.lua");
+        List<String> arguments = new ArrayList<>(Arrays.asList("8", "35"));
+        arguments.addAll(Arrays.asList(counts));
+        return jedis.eval(script, Arrays.asList(BUCKET_1S, BUCKET_10S), arguments);
+    }
+
+    private Object evalScriptRead(String... fields) {
+        String script = readScript("redisques_speed_read.lua");
+        return jedis.eval(script, Arrays.asList(BUCKET_1S, BUCKET_10S), Arrays.asList(fields));
+    }
+}
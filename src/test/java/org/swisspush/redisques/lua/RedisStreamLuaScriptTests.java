@@ -0,0 +1,106 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisStreamLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String STREAM_KEY = "redisques:queues:queue1";
+    private static final String GROUP = "redisques";
+
+    @Test
+    public void testPushReturnsLength() {
+        assertThat(evalScriptPush("a", "b"), equalTo(2L));
+        assertThat(evalScriptPush("c"), equalTo(3L));
+        assertThat(jedis.xlen(STREAM_KEY), equalTo(3L));
+    }
+
+    @Test
+    public void testReadEmptyStream() {
+        assertThat(evalScriptRead("consumer1", 10), equalTo(Collections.emptyList()));
+        assertThat(jedis.exists(STREAM_KEY), is(false));
+    }
+
+    @Test
+    public void testReadPendingEntriesFirst() {
+        evalScriptPush("a", "b", "c");
+
+        List<Object> first = evalScriptRead("consumer1", 2);
+        assertThat(payloads(first), equalTo(Arrays.asList("a", "b")));
+
+        // not acknowledged, so a crashed consumer's entries are read again by its successor
+        List<Object> second = evalScriptRead("consumer2", 5);
+        assertThat(payloads(second), equalTo(Arrays.asList("a", "b")));
+
+        assertThat(evalScriptAck(Arrays.asList((String) second.get(0), (String) second.get(2))), equalTo(1L));
+        List<Object> third = evalScriptRead("consumer2", 5);
+        assertThat(payloads(third), equalTo(Collections.singletonList("c")));
+    }
+
+    @Test
+    public void testAckDeletesEmptyStream() {
+        evalScriptPush("a");
+        List<Object> entries = evalScriptRead("consumer1", 1);
+
+        assertThat(evalScriptAck(Collections.singletonList((String) entries.get(0))), equalTo(0L));
+        assertThat(jedis.exists(STREAM_KEY), is(false));
+
+        // a new stream gets a new consumer group
+        evalScriptPush("b");
+        assertThat(payloads(evalScriptRead("consumer1", 1)), equalTo(Collections.singletonList("b")));
+    }
+
+    @Test
+    public void testRangeDoesNotDeliver() {
+        evalScriptPush("a", "b", "c");
+
+        assertThat(evalScriptRange(2), equalTo(Arrays.asList("a", "b")));
+        assertThat(payloads(evalScriptRead("consumer1", 5)), equalTo(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void testMultiStreamLength() {
+        evalScriptPush("a", "b");
+        Object lengths = jedis.eval(readScript("redisques_mxlen.lua"), Arrays.asList(STREAM_KEY, "unknown"),
+                Collections.emptyList());
+        assertThat(lengths, equalTo(Arrays.asList(2L, 0L)));
+    }
+
+    private List<String> payloads(List<Object> entries) {
+        String[] payloads = new String[entries.size() / 2];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = (String) entries.get(2 * i + 1);
+        }
+        return Arrays.asList(payloads);
+    }
+
+    private Object evalScriptPush(String... messages) {
+        return jedis.eval(readScript("redisques_stream_push.lua"), Collections.singletonList(STREAM_KEY),
+                Arrays.asList(messages));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> evalScriptRead(String consumer, int count) {
+        return (List<Object>) jedis.eval(readScript("redisques_stream_read.lua"), Collections.singletonList(STREAM_KEY),
+                Arrays.asList(GROUP, consumer, String.valueOf(count)));
+    }
+
+    private Object evalScriptAck(List<String> ids) {
+        List<String> args = new ArrayList<>();
+        args.add(GROUP);
+        args.addAll(ids);
+        return jedis.eval(readScript("redisques_stream_ack.lua"), Collections.singletonList(STREAM_KEY), args);
+    }
+
+    private Object evalScriptRange(int count) {
+        return jedis.eval(readScript("redisques_stream_range.lua"), Collections.singletonList(STREAM_KEY),
+                Collections.singletonList(String.valueOf(count)));
+    }
+}
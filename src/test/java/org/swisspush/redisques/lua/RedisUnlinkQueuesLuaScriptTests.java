@@ -0,0 +1,51 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisUnlinkQueuesLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String STATS_KEY = "redisques:stats";
+    private static final String SIZES_KEY = "redisques:sizes";
+    private static final String QUEUES_PREFIX = "redisques:queues:";
+
+    @Test
+    public void testUnlinkQueues() {
+        jedis.rpush(QUEUES_PREFIX + "queue1", "a", "b", "c");
+        jedis.rpush(QUEUES_PREFIX + "queue2", "a");
+        jedis.rpush(QUEUES_PREFIX + "queue3", "a");
+        jedis.hset(STATS_KEY, "queue1", "{}");
+        jedis.hset(STATS_KEY, "queue3", "{}");
+        jedis.zadd(SIZES_KEY, 3, "queue1");
+        jedis.zadd(SIZES_KEY, 1, "queue2");
+        jedis.zadd(SIZES_KEY, 1, "queue3");
+
+        assertThat(evalScriptUnlinkQueues(Arrays.asList("queue1", "queue2", "unknown")), equalTo(2L));
+
+        assertThat(jedis.exists(QUEUES_PREFIX + "queue1"), is(false));
+        assertThat(jedis.exists(QUEUES_PREFIX + "queue2"), is(false));
+        assertThat(jedis.llen(QUEUES_PREFIX + "queue3"), equalTo(1L));
+        assertThat(jedis.hexists(STATS_KEY, "queue1"), is(false));
+        assertThat(jedis.hexists(STATS_KEY, "queue3"), is(true));
+        assertThat(jedis.zscore(SIZES_KEY, "queue1"), is(nullValue()));
+        assertThat(jedis.zscore(SIZES_KEY, "queue2"), is(nullValue()));
+        assertThat(jedis.zscore(SIZES_KEY, "queue3"), equalTo(1.0));
+    }
+
+    private Object evalScriptUnlinkQueues(List<String> queueNames) {
+        String script = readScript("redisques_unlink_queues.lua");
+        List<String> keys = new ArrayList<>();
+        keys.add(STATS_KEY);
+        keys.add(SIZES_KEY);
+        for (String queueName : queueNames) {
+            keys.add(QUEUES_PREFIX + queueName);
+        }
+        return jedis.eval(script, keys, queueNames);
+    }
+}
@@ -0,0 +1,54 @@
+package org.swisspush.redisques.lua;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RedisUpdateSizesLuaScriptTests extends AbstractLuaScriptTest {
+
+    private static final String SIZES_KEY = "redisques:sizes";
+    private static final String QUEUES_PREFIX = "redisques:queues:";
+
+    @Test
+    public void testUpdateSizes() {
+        jedis.rpush(QUEUES_PREFIX + "queue1", "a", "b", "c");
+        jedis.rpush(QUEUES_PREFIX + "queue2", "a");
+
+        assertThat(evalScriptUpdateSizes(Arrays.asList("queue1", "queue2")), equalTo(2L));
+
+        assertThat(jedis.zscore(SIZES_KEY, "queue1"), equalTo(3.0));
+        assertThat(jedis.zscore(SIZES_KEY, "queue2"), equalTo(1.0));
+
+        jedis.lpop(QUEUES_PREFIX + "queue1");
+        evalScriptUpdateSizes(Collections.singletonList("queue1"));
+        assertThat(jedis.zscore(SIZES_KEY, "queue1"), equalTo(2.0));
+    }
+
+    @Test
+    public void testEmptyQueuesAreRemoved() {
+        jedis.zadd(SIZES_KEY, 5, "queue1");
+        jedis.zadd(SIZES_KEY, 1, "queue2");
+        jedis.rpush(QUEUES_PREFIX + "queue2", "a");
+
+        evalScriptUpdateSizes(Arrays.asList("queue1", "queue2", "queue3"));
+
+        assertThat(jedis.zscore(SIZES_KEY, "queue1"), is(nullValue()));
+        assertThat(jedis.zscore(SIZES_KEY, "queue2"), equalTo(1.0));
+        assertThat(jedis.zscore(SIZES_KEY, "queue3"), is(nullValue()));
+        assertThat(jedis.zcard(SIZES_KEY), equalTo(1L));
+    }
+
+    private Object evalScriptUpdateSizes(List<String> queueNames) {
+        String script = readScript("redisques_update_sizes.lua");
+        List<String> arguments = new ArrayList<>();
+        arguments.add(QUEUES_PREFIX);
+        arguments.addAll(queueNames);
+        return jedis.eval(script, Collections.singletonList(SIZES_KEY), arguments);
+    }
+}
@@ -0,0 +1,47 @@
+package org.swisspush.redisques.metrics;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link DefaultRedisquesMetrics} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class DefaultRedisquesMetricsTest {
+
+    @Test
+    public void testScrapeHistograms(TestContext context) {
+        DefaultRedisquesMetrics metrics = new DefaultRedisquesMetrics();
+        metrics.recordOperation("enqueue", true, TimeUnit.MICROSECONDS.toNanos(300));
+        metrics.recordOperation("enqueue", true, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordOperation("enqueue", false, TimeUnit.SECONDS.toNanos(20));
+
+        String scrape = metrics.scrape();
+        context.assertTrue(scrape.contains("# TYPE redisques_operation_seconds histogram\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_bucket{operation=\"enqueue\",status=\"ok\",le=\"0.0005\"} 1\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_bucket{operation=\"enqueue\",status=\"ok\",le=\"0.0025\"} 1\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_bucket{operation=\"enqueue\",status=\"ok\",le=\"0.005\"} 2\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_bucket{operation=\"enqueue\",status=\"ok\",le=\"+Inf\"} 2\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_sum{operation=\"enqueue\",status=\"ok\"} 0.0033\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_count{operation=\"enqueue\",status=\"ok\"} 2\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_bucket{operation=\"enqueue\",status=\"error\",le=\"10\"} 0\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_operation_seconds_count{operation=\"enqueue\",status=\"error\"} 1\n"), scrape);
+    }
+
+    @Test
+    public void testScrapeProcessorRoundTripsAndRedisCommands(TestContext context) {
+        DefaultRedisquesMetrics metrics = new DefaultRedisquesMetrics();
+        metrics.recordProcessorRoundTrip(true, TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.recordRedisCommand("rpush", true, TimeUnit.MILLISECONDS.toNanos(1));
+
+        String scrape = metrics.scrape();
+        context.assertTrue(scrape.contains("redisques_processor_seconds_bucket{status=\"ok\",le=\"0.001\"} 1\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_processor_seconds_count{status=\"ok\"} 1\n"), scrape);
+        context.assertTrue(scrape.contains("redisques_redis_command_seconds_count{command=\"rpush\",status=\"ok\"} 1\n"), scrape);
+        context.assertFalse(scrape.contains("redisques_operation_seconds_count"), scrape);
+    }
+}
@@ -0,0 +1,74 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests for {@link ConsistentHashRing} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConsistentHashRingTest {
+
+    @Test
+    public void testEmptyRing(TestContext context) {
+        ConsistentHashRing ring = new ConsistentHashRing(Collections.emptyList());
+        context.assertTrue(ring.isEmpty());
+        context.assertNull(ring.owner("queue1"));
+    }
+
+    @Test
+    public void testSingleMemberOwnsAll(TestContext context) {
+        ConsistentHashRing ring = new ConsistentHashRing(Collections.singletonList("a"));
+        for (int i = 0; i < 100; i++) {
+            context.assertEquals("a", ring.owner("queue-" + i));
+        }
+        context.assertTrue(ring.isOwner("a", "queue-1"));
+    }
+
+    @Test
+    public void testOwnerIsIndependentOfMemberOrder(TestContext context) {
+        ConsistentHashRing ring1 = new ConsistentHashRing(Arrays.asList("a", "b", "c"));
+        ConsistentHashRing ring2 = new ConsistentHashRing(Arrays.asList("c", "a", "b"));
+        for (int i = 0; i < 1000; i++) {
+            context.assertEquals(ring1.owner("queue-" + i), ring2.owner("queue-" + i));
+        }
+    }
+
+    @Test
+    public void testDistribution(TestContext context) {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("a", "b", "c", "d"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(ring.owner("queue-" + i), 1, Integer::sum);
+        }
+        context.assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            context.assertTrue(count > 1500 && count < 3500, "unbalanced distribution " + counts);
+        }
+    }
+
+    @Test
+    public void testOnlyQueuesOfLeavingMemberMove(TestContext context) {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("a", "b", "c"));
+        ConsistentHashRing after = new ConsistentHashRing(Arrays.asList("a", "b"));
+        for (int i = 0; i < 1000; i++) {
+            String queue = "queue-" + i;
+            String owner = before.owner(queue);
+            if (!"c".equals(owner)) {
+                context.assertEquals(owner, after.owner(queue));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVirtualNodes() {
+        new ConsistentHashRing(Collections.singletonList("a"), 0);
+    }
+}
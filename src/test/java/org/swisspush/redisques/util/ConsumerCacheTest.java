@@ -0,0 +1,86 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for {@link ConsumerCache} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConsumerCacheTest {
+
+    @Test
+    public void testGetPutInvalidate(TestContext context) {
+        ConsumerCache cache = new ConsumerCache(10, 1000);
+        context.assertNull(cache.get("queue1"));
+
+        cache.put("queue1", "consumer1");
+        context.assertEquals("consumer1", cache.get("queue1"));
+
+        cache.put("queue1", "consumer2");
+        context.assertEquals("consumer2", cache.get("queue1"));
+
+        cache.invalidate("queue1");
+        context.assertNull(cache.get("queue1"));
+
+        cache.put("queue1", "consumer1");
+        cache.put("queue1", null);
+        context.assertNull(cache.get("queue1"));
+        context.assertEquals(0, cache.size());
+
+        context.assertEquals(2L, cache.getHits());
+        context.assertEquals(3L, cache.getMisses());
+    }
+
+    @Test
+    public void testEntriesExpire(TestContext context) {
+        AtomicLong now = new AtomicLong(1000);
+        ConsumerCache cache = new ConsumerCache(10, 500, now::get);
+        cache.put("queue1", "consumer1");
+
+        now.set(1499);
+        context.assertEquals("consumer1", cache.get("queue1"));
+
+        now.set(1500);
+        context.assertNull(cache.get("queue1"));
+        context.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted(TestContext context) {
+        ConsumerCache cache = new ConsumerCache(2, 1000);
+        cache.put("queue1", "consumer1");
+        cache.put("queue2", "consumer2");
+        // access queue1 so queue2 becomes the least recently used entry
+        context.assertEquals("consumer1", cache.get("queue1"));
+        cache.put("queue3", "consumer3");
+
+        context.assertEquals(2, cache.size());
+        context.assertEquals("consumer1", cache.get("queue1"));
+        context.assertNull(cache.get("queue2"));
+        context.assertEquals("consumer3", cache.get("queue3"));
+
+        cache.clear();
+        context.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidArguments(TestContext context) {
+        try {
+            new ConsumerCache(0, 1000);
+            context.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new ConsumerCache(10, 0);
+            context.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link HashSlot} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class HashSlotTest {
+
+    @Test
+    public void testCrc16(TestContext context) {
+        byte[] bytes = "123456789".getBytes(StandardCharsets.UTF_8);
+        context.assertEquals(0x31C3, HashSlot.crc16(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testSlotsOfRedisCluster(TestContext context) {
+        // slots as evaluated by CLUSTER KEYSLOT
+        context.assertEquals(12182, HashSlot.of("foo"));
+        context.assertEquals(5061, HashSlot.of("bar"));
+        context.assertEquals(15495, HashSlot.of("a"));
+    }
+
+    @Test
+    public void testHashTags(TestContext context) {
+        context.assertEquals(HashSlot.of("user1000"), HashSlot.of("{user1000}.following"));
+        context.assertEquals(HashSlot.of("{user1000}.followers"), HashSlot.of("{user1000}.following"));
+        // only the first tag counts
+        context.assertEquals(HashSlot.of("bar"), HashSlot.of("foo{bar}{zap}"));
+        // an empty tag is ignored, the whole key is hashed
+        context.assertNotEquals(HashSlot.of("bar"), HashSlot.of("foo{}{bar}"));
+        context.assertEquals(HashSlot.of("{bar"), HashSlot.of("foo{{bar}}zap"));
+        context.assertEquals(HashSlot.of("foo{bar"), HashSlot.of("foo{bar"));
+    }
+
+    @Test
+    public void testPartition(TestContext context) {
+        List<String> keys = Arrays.asList("q:{a}", "c:{b}", "c:{a}", "q:{b}", "q:{c}");
+        Map<Integer, List<String>> partitions = HashSlot.partition(keys);
+        context.assertEquals(3, partitions.size());
+        context.assertEquals(Arrays.asList("q:{a}", "c:{a}"), partitions.get(HashSlot.of("a")));
+        context.assertEquals(Arrays.asList("c:{b}", "q:{b}"), partitions.get(HashSlot.of("b")));
+        context.assertEquals(Arrays.asList("q:{c}"), partitions.get(HashSlot.of("c")));
+    }
+
+    @Test
+    public void testQueueKeysOfAQueueShareTheSlot(TestContext context) {
+        QueueKeys queueKeys = new QueueKeys("redisques:queues:", "redisques:consumers:", true);
+        context.assertEquals("redisques:queues:{my-queue}", queueKeys.queueKey("my-queue"));
+        context.assertEquals("redisques:consumers:{my-queue}", queueKeys.consumerKey("my-queue"));
+        context.assertEquals(HashSlot.of(queueKeys.queueKey("my-queue")), HashSlot.of(queueKeys.consumerKey("my-queue")));
+
+        QueueKeys plainKeys = new QueueKeys("redisques:queues:", "redisques:consumers:", false);
+        context.assertEquals("redisques:queues:my-queue", plainKeys.queueKey("my-queue"));
+        context.assertEquals("redisques:consumers:my-queue", plainKeys.consumerKey("my-queue"));
+    }
+}
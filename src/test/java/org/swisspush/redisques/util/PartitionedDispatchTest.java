@@ -0,0 +1,91 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link PartitionedDispatch} and {@link PartitionKey} classes.
+ */
+@RunWith(VertxUnitRunner.class)
+public class PartitionedDispatchTest {
+
+    @Test
+    public void testPartitionKey(TestContext context) {
+        context.assertEquals("a", PartitionKey.of("{\"key\":\"a\"}", "key"));
+        context.assertEquals("42", PartitionKey.of("{\"key\":42}", "key"));
+        context.assertEquals("b", PartitionKey.of("{\"headers\":{\"key\":\"b\"}}", "headers.key"));
+        context.assertNull(PartitionKey.of("{\"headers\":\"b\"}", "headers.key"));
+        context.assertNull(PartitionKey.of("{\"other\":\"a\"}", "key"));
+        context.assertNull(PartitionKey.of("not json", "key"));
+        context.assertNull(PartitionKey.of("[1, 2]", "key"));
+    }
+
+    @Test
+    public void testPartitionsAreDispatchedInOrder(TestContext context) {
+        // positions 0..5 with the partitions a, b, a, c, b, a
+        List<String> partitions = Arrays.asList("a", "b", "a", "c", "b", "a");
+        Map<Integer, Handler<Boolean>> inFlight = new LinkedHashMap<>();
+        List<Integer> acked = new ArrayList<>();
+        PartitionedDispatch dispatch = new PartitionedDispatch(partitions, 2, inFlight::put, acked::add);
+
+        dispatch.start();
+        context.assertEquals(Arrays.asList(0, 1), new ArrayList<>(inFlight.keySet()));
+
+        // the second item of partition a waits for the first one, c is the next free partition
+        inFlight.remove(0).handle(true);
+        context.assertEquals(Arrays.asList(1, 2), new ArrayList<>(inFlight.keySet()));
+        inFlight.remove(1).handle(true);
+        context.assertEquals(Arrays.asList(2, 3), new ArrayList<>(inFlight.keySet()));
+        inFlight.remove(3).handle(true);
+        context.assertEquals(Arrays.asList(2, 4), new ArrayList<>(inFlight.keySet()));
+        inFlight.remove(2).handle(true);
+        context.assertEquals(Arrays.asList(4, 5), new ArrayList<>(inFlight.keySet()));
+        inFlight.remove(5).handle(true);
+        context.assertTrue(acked.isEmpty());
+        inFlight.remove(4).handle(true);
+        context.assertEquals(Arrays.asList(6), acked);
+    }
+
+    @Test
+    public void testFailureStopsDispatch(TestContext context) {
+        List<String> partitions = Arrays.asList("a", "b", null, "a", null);
+        Map<Integer, Handler<Boolean>> inFlight = new LinkedHashMap<>();
+        List<Integer> acked = new ArrayList<>();
+        PartitionedDispatch dispatch = new PartitionedDispatch(partitions, 10, inFlight::put, acked::add);
+
+        dispatch.start();
+        context.assertEquals(Arrays.asList(0, 1, 2), new ArrayList<>(inFlight.keySet()));
+
+        inFlight.remove(1).handle(false);
+        inFlight.remove(0).handle(true);
+        context.assertTrue(inFlight.containsKey(2));
+        context.assertFalse(inFlight.containsKey(3), "no items are dispatched after a failure");
+        context.assertTrue(acked.isEmpty());
+
+        inFlight.remove(2).handle(true);
+        context.assertEquals(Arrays.asList(1), acked);
+    }
+
+    @Test
+    public void testSynchronousSender(TestContext context) {
+        List<String> partitions = Arrays.asList("a", "a", "b");
+        List<Integer> sent = new ArrayList<>();
+        List<Integer> acked = new ArrayList<>();
+        new PartitionedDispatch(partitions, 1, (position, handler) -> {
+            sent.add(position);
+            handler.handle(true);
+        }, acked::add).start();
+
+        context.assertEquals(Arrays.asList(0, 1, 2), sent);
+        context.assertEquals(Arrays.asList(3), acked);
+    }
+}
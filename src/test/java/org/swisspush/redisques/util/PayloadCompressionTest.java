@@ -0,0 +1,82 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link PayloadCompression} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class PayloadCompressionTest {
+
+    private static Buffer largePayload() {
+        StringBuilder payload = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 500; i++) {
+            payload.append("{\"id\":").append(i).append(",\"name\":\"item-äöü-").append(i).append("\"},");
+        }
+        return Buffer.buffer(payload.append("{}]}").toString());
+    }
+
+    @Test
+    public void testRoundTrip(TestContext context) {
+        Buffer payload = largePayload();
+        Buffer compressed = PayloadCompression.compress(payload, PayloadCompression.DEFLATE);
+        context.assertTrue(PayloadCompression.isCompressed(compressed));
+        context.assertTrue(compressed.length() < payload.length() / 4);
+        context.assertEquals(payload, PayloadCompression.decompress(compressed));
+    }
+
+    @Test
+    public void testNoCompression(TestContext context) {
+        Buffer payload = largePayload();
+        context.assertTrue(payload == PayloadCompression.compress(payload, null));
+    }
+
+    @Test
+    public void testIncompressiblePayloadIsKept(TestContext context) {
+        Buffer payload = Buffer.buffer("{\"a\":1}");
+        Buffer compressed = PayloadCompression.compress(payload, PayloadCompression.DEFLATE);
+        context.assertTrue(payload == compressed);
+        context.assertFalse(PayloadCompression.isCompressed(compressed));
+    }
+
+    @Test
+    public void testUncompressedPayloadIsReadUnchanged(TestContext context) {
+        Buffer payload = Buffer.buffer("{\"legacy\":true}");
+        context.assertTrue(payload == PayloadCompression.decompress(payload));
+        context.assertEquals(0, PayloadCompression.decompress(Buffer.buffer()).length());
+    }
+
+    @Test
+    public void testForgedHeaderLengthIsReadUnchanged(TestContext context) {
+        Buffer forged = Buffer.buffer(new byte[]{0, 'R', 'Q', 'Z', 1}).appendInt(Integer.MAX_VALUE).appendString("payload");
+        context.assertFalse(PayloadCompression.isCompressed(forged));
+        context.assertTrue(forged == PayloadCompression.decompress(forged));
+
+        // a plausible length which does not match the inflated bytes
+        Buffer compressed = PayloadCompression.compress(largePayload(), PayloadCompression.DEFLATE);
+        Buffer wrongLength = compressed.copy().setInt(5, compressed.getInt(5) * 2);
+        context.assertTrue(PayloadCompression.isCompressed(wrongLength));
+        context.assertEquals(wrongLength, PayloadCompression.decompress(wrongLength));
+    }
+
+    @Test
+    public void testCorruptPayloadIsReadUnchanged(TestContext context) {
+        Buffer compressed = PayloadCompression.compress(largePayload(), PayloadCompression.DEFLATE);
+        Buffer truncated = compressed.getBuffer(0, compressed.length() / 2);
+        context.assertEquals(truncated, PayloadCompression.decompress(truncated));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedCompression() {
+        PayloadCompression.compress(Buffer.buffer("x"), "LZ4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedCompressionInQueueConfiguration() {
+        new QueueConfiguration().withCompression("LZ4");
+    }
+}
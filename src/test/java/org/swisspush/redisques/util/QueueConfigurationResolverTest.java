@@ -0,0 +1,98 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for {@link QueueConfigurationResolver} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class QueueConfigurationResolverTest {
+
+    private final QueueConfiguration literal = new QueueConfiguration().withPattern("exact-queue");
+    private final QueueConfiguration prefix = new QueueConfiguration().withPattern("prefix-.*");
+    private final QueueConfiguration regex = new QueueConfiguration().withPattern("[a-z]+-[0-9]+");
+    private final QueueConfiguration all = new QueueConfiguration().withPattern(".*");
+
+    private final List<QueueConfiguration> configurations = Arrays.asList(literal, prefix, regex, all);
+
+    @Test
+    public void testFirstMatchingConfiguration(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(configurations, 10);
+        context.assertTrue(literal == resolver.resolve("exact-queue"));
+        context.assertTrue(prefix == resolver.resolve("prefix-1"));
+        context.assertTrue(prefix == resolver.resolve("prefix-"));
+        context.assertTrue(regex == resolver.resolve("queue-1"));
+        context.assertTrue(all == resolver.resolve("exact-queue-2"));
+        context.assertTrue(all == resolver.resolve(""));
+    }
+
+    @Test
+    public void testFastPathMatchesLikeTheRegex(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(configurations, 0);
+        for (String queueName : Arrays.asList("exact-queue", "exact-queu", "prefix-a\nb", "prefix-a ", "prefix",
+                "xprefix-a", "queue-1", "queue-1\n", "\n")) {
+            QueueConfiguration expected = null;
+            for (QueueConfiguration configuration : configurations) {
+                if (configuration.compiledPattern().matcher(queueName).matches()) {
+                    expected = configuration;
+                    break;
+                }
+            }
+            context.assertTrue(expected == resolver.resolve(queueName), "wrong configuration for " + queueName);
+        }
+    }
+
+    @Test
+    public void testNoMatchIsCached(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(Collections.singletonList(prefix), 10);
+        context.assertNull(resolver.resolve("other"));
+        context.assertNull(resolver.resolve("other"));
+        context.assertEquals(1L, resolver.getHits());
+        context.assertEquals(1L, resolver.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(configurations, 2);
+        resolver.resolve("queue-1");
+        resolver.resolve("queue-2");
+        resolver.resolve("queue-1");
+        resolver.resolve("queue-3");
+        context.assertEquals(2, resolver.size());
+
+        resolver.resolve("queue-1");
+        context.assertEquals(2L, resolver.getHits());
+        resolver.resolve("queue-2");
+        context.assertEquals(2L, resolver.getHits());
+        context.assertEquals(4L, resolver.getMisses());
+    }
+
+    @Test
+    public void testClear(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(configurations, 10);
+        resolver.resolve("queue-1");
+        resolver.clear();
+        context.assertEquals(0, resolver.size());
+        context.assertTrue(regex == resolver.resolve("queue-1"));
+        context.assertEquals(2L, resolver.getMisses());
+    }
+
+    @Test
+    public void testCacheDisabled(TestContext context) {
+        QueueConfigurationResolver resolver = new QueueConfigurationResolver(configurations, 0);
+        context.assertTrue(regex == resolver.resolve("queue-1"));
+        context.assertEquals(0, resolver.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheSize() {
+        new QueueConfigurationResolver(configurations, -1);
+    }
+}
@@ -0,0 +1,36 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * Tests for {@link QueueMessageCodec} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class QueueMessageCodecTest {
+
+    private final QueueMessageCodec codec = new QueueMessageCodec();
+
+    @Test
+    public void testWireRoundTrip(TestContext context) {
+        QueueMessage message = new QueueMessage("queue-äöü",
+                Arrays.asList(Buffer.buffer(new byte[]{0, (byte) 0xff}), Buffer.buffer(), Buffer.buffer("text")));
+        Buffer wire = Buffer.buffer("prefix");
+        codec.encodeToWire(wire, message);
+
+        QueueMessage decoded = codec.decodeFromWire(6, wire);
+        context.assertEquals("queue-äöü", decoded.getQueue());
+        context.assertEquals(message.getPayloads(), decoded.getPayloads());
+    }
+
+    @Test
+    public void testLocalDeliveryPassesMessage(TestContext context) {
+        QueueMessage message = new QueueMessage("queue", Buffer.buffer("payload"));
+        context.assertTrue(message == codec.transform(message));
+    }
+}
@@ -0,0 +1,143 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.redis.client.RedisAPI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.swisspush.redisques.util.RedisquesAPI.STATISTIC_QUEUE_SPEED;
+
+/**
+ * Tests for {@link QueueStatisticsCollector} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class QueueStatisticsCollectorTest {
+
+    private Vertx vertx;
+    private List<String> redisCommands;
+    private RedisAPI redisAPI;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        redisCommands = Collections.synchronizedList(new ArrayList<>());
+        // records the commands writing the statistics to redis
+        redisAPI = (RedisAPI) Proxy.newProxyInstance(RedisAPI.class.getClassLoader(), new Class[]{RedisAPI.class},
+                (proxy, method, args) -> {
+                    redisCommands.add(method.getName() + " " + args[0]);
+                    return proxy;
+                });
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    private QueueStatisticsCollector collector(int speedIntervalSec) {
+        return collector(speedIntervalSec, 0);
+    }
+
+    private QueueStatisticsCollector collector(int speedIntervalSec, long flushIntervalMs) {
+        return new QueueStatisticsCollector(redisAPI, null, new QueueKeys("queues:", "consumers:", false), vertx,
+                speedIntervalSec, flushIntervalMs);
+    }
+
+    @Test
+    public void testFailureCount(TestContext context) {
+        QueueStatisticsCollector collector = collector(0);
+        context.assertEquals(0L, collector.getQueueFailureCount("queue"));
+        context.assertEquals(1L, collector.queueMessageFailed("queue"));
+        context.assertEquals(2L, collector.queueMessageFailed("queue"));
+        context.assertEquals(2L, collector.getQueueFailureCount("queue"));
+        context.assertEquals(2, redisCommands.size());
+
+        collector.queueMessageSuccess("queue");
+        context.assertEquals(0L, collector.getQueueFailureCount("queue"));
+        context.assertEquals("hdel [redisques:stats, queue]", redisCommands.get(2));
+
+        // nothing to reset anymore
+        collector.resetQueueFailureStatistics("queue");
+        context.assertEquals(3, redisCommands.size());
+    }
+
+    @Test
+    public void testBackPressureAndSlowDownTime(TestContext context) {
+        QueueStatisticsCollector collector = collector(0);
+        collector.setQueueBackPressureTime("queue", 0);
+        context.assertTrue(redisCommands.isEmpty());
+
+        collector.setQueueBackPressureTime("queue", 100);
+        collector.setQueueSlowDownTime("queue", 200);
+        context.assertEquals(2, redisCommands.size());
+        context.assertTrue(redisCommands.get(1).contains("\"backpressureTime\":100"));
+        context.assertTrue(redisCommands.get(1).contains("\"slowdownTime\":200"));
+
+        collector.setQueueBackPressureTime("queue", 0);
+        collector.setQueueBackPressureTime("queue", 0);
+        collector.clearQueueFailureStatistics("queue");
+        collector.setQueueSlowDownTime("queue", 0);
+        context.assertEquals(3, redisCommands.size());
+    }
+
+    @Test
+    public void testSpeedOfConcurrentlyProcessedMessages(TestContext context) throws InterruptedException {
+        Async async = context.async();
+        QueueStatisticsCollector collector = collector(1);
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    collector.queueMessageSuccess("queue-" + (i % 2));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        vertx.eventBus().<JsonObject>consumer("speed", message ->
+                collector.getQueuesSpeed(message, List.of("queue-0", "queue-1", "queue-2")));
+        vertx.setTimer(1500, timerId -> vertx.eventBus().<JsonObject>request("speed", new JsonObject(), reply -> {
+            context.assertEquals(4000L, reply.result().body().getLong(STATISTIC_QUEUE_SPEED));
+            context.assertTrue(redisCommands.isEmpty());
+            async.complete();
+        }));
+    }
+
+    @Test
+    public void testDeferredFlush(TestContext context) {
+        QueueStatisticsCollector collector = collector(0, 3600000);
+        for (int i = 0; i < 100; i++) {
+            collector.setQueueBackPressureTime("queue-a", 10 + i % 2);
+            collector.queueMessageFailed("queue-b");
+        }
+        collector.queueMessageFailed("queue-c");
+        collector.queueMessageSuccess("queue-c");
+        context.assertTrue(redisCommands.isEmpty());
+
+        collector.flush();
+        context.assertEquals(2, redisCommands.size());
+        String hset = redisCommands.get(0).startsWith("hset") ? redisCommands.get(0) : redisCommands.get(1);
+        String hdel = redisCommands.get(0).startsWith("hdel") ? redisCommands.get(0) : redisCommands.get(1);
+        context.assertTrue(hset.contains("queue-a, {\"queuename\":\"queue-a\",\"failures\":0,\"slowdownTime\":0,\"backpressureTime\":11}"), hset);
+        context.assertTrue(hset.contains("\"failures\":100"), hset);
+        context.assertEquals("hdel [redisques:stats, queue-c]", hdel);
+
+        // nothing changed since the last flush
+        collector.flush();
+        context.assertEquals(2, redisCommands.size());
+    }
+}
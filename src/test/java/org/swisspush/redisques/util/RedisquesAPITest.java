@@ -183,6 +183,18 @@ public class RedisquesAPITest {
         context.assertEquals(expected, operation);
     }
 
+    @Test
+    public void testBuildBulkEnqueueOperation(TestContext context) throws Exception {
+        JsonObject operation = RedisquesAPI.buildBulkEnqueueOperation(new JsonArray()
+                .add(RedisquesAPI.buildBulkEnqueueMessage("q_1", "m_1"))
+                .add(RedisquesAPI.buildBulkEnqueueMessage("q_2", "m_2")));
+        JsonObject expected = buildExpectedJsonObject("bulkEnqueue", new JsonObject()
+                .put(MESSAGES, new JsonArray()
+                        .add(new JsonObject().put(QUEUENAME, "q_1").put(MESSAGE, "m_1"))
+                        .add(new JsonObject().put(QUEUENAME, "q_2").put(MESSAGE, "m_2"))));
+        context.assertEquals(expected, operation);
+    }
+
     @Test
     public void testBuildGetQueuesOperation(TestContext context) throws Exception {
         JsonObject operation = RedisquesAPI.buildGetQueuesOperation();
@@ -194,6 +206,22 @@ public class RedisquesAPITest {
         context.assertEquals(expected, operation);
     }
 
+    @Test
+    public void testBuildGetQueuesPageOperation(TestContext context) throws Exception {
+        JsonObject operation = RedisquesAPI.buildGetQueuesOperation(null, 100, null);
+        context.assertEquals(buildExpectedJsonObject("getQueues", new JsonObject().put(LIMIT, 100)), operation);
+
+        operation = RedisquesAPI.buildGetQueuesOperation("abc", 100, "1234");
+        JsonObject expected = buildExpectedJsonObject("getQueues", new JsonObject()
+                .put(LIMIT, 100).put(FILTER, "abc").put(CURSOR, "1234"));
+        context.assertEquals(expected, operation);
+
+        operation = RedisquesAPI.buildGetQueuesItemsCountOperation("abc", 100, "1234");
+        expected = buildExpectedJsonObject("getQueuesItemsCount", new JsonObject()
+                .put(LIMIT, 100).put(FILTER, "abc").put(CURSOR, "1234"));
+        context.assertEquals(expected, operation);
+    }
+
     @Test
     public void testBuildGetQueuesCountOperation(TestContext context) throws Exception {
         JsonObject operation = RedisquesAPI.buildGetQueuesCountOperation();
@@ -41,6 +41,27 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(config.getHttpRequestHandlerUserHeader(), "x-rp-usr");
         testContext.assertEquals(config.getQueueConfigurations().size(), 0);
         testContext.assertEquals(config.getQueueSpeedIntervalSec(),60);
+        testContext.assertFalse(config.getAtomicDequeueEnabled());
+        testContext.assertFalse(config.getConsistentHashOwnershipEnabled());
+        testContext.assertFalse(config.getQueueSpeedWindowsEnabled());
+        testContext.assertEquals(config.getStatisticsFlushIntervalMs(), 1000);
+        testContext.assertEquals(config.getQueueConfigurationCacheSize(), 10000);
+        testContext.assertFalse(config.getBinaryPayloadsEnabled());
+        testContext.assertEquals(config.getQueueStorage(), "LIST");
+        testContext.assertEquals(config.getRedisClientType(), "STANDALONE");
+        testContext.assertEquals(config.getLazyDeleteChunkSize(), 1000);
+        testContext.assertFalse(config.getLazyDeleteEnabled());
+        testContext.assertFalse(config.getConsumerIndexEnabled());
+        testContext.assertFalse(config.getMetricsEnabled());
+        testContext.assertFalse(config.getQueueSizeIndexEnabled());
+        testContext.assertEquals(config.getMultiListLengthConcurrency(), 4);
+        testContext.assertEquals(config.getMultiListLengthChunkSize(), 1000);
+        testContext.assertEquals(config.getCheckPageSize(), 1000);
+        testContext.assertFalse(config.getIncrementalCheckEnabled());
+        testContext.assertEquals(config.getLeaseRenewalChunkSize(), 1000);
+        testContext.assertFalse(config.getLeaseRenewalEnabled());
+        testContext.assertEquals(config.getConsumerCacheSize(), 0);
+        testContext.assertFalse(config.getFusedEnqueueEnabled());
     }
 
     @Test
@@ -62,6 +83,27 @@ public class RedisquesConfigurationTest {
                         new QueueConfiguration().withPattern("vehicle-.*").withRetryIntervals(10, 20, 30, 60)
                 ))
                 .queueSpeedIntervalSec(1)
+                .atomicDequeueEnabled(true)
+                .consistentHashOwnershipEnabled(true)
+                .queueSpeedWindowsEnabled(true)
+                .statisticsFlushIntervalMs(0)
+                .queueConfigurationCacheSize(50)
+                .binaryPayloadsEnabled(true)
+                .queueStorage("STREAM")
+                .redisClientType("CLUSTER")
+                .lazyDeleteChunkSize(50)
+                .lazyDeleteEnabled(true)
+                .consumerIndexEnabled(true)
+                .metricsEnabled(true)
+                .queueSizeIndexEnabled(true)
+                .multiListLengthConcurrency(2)
+                .multiListLengthChunkSize(100)
+                .checkPageSize(50)
+                .incrementalCheckEnabled(true)
+                .leaseRenewalChunkSize(200)
+                .leaseRenewalEnabled(true)
+                .consumerCacheSize(5000)
+                .fusedEnqueueEnabled(true)
                 .build();
 
         // default values
@@ -83,6 +125,27 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(config.getHttpRequestHandlerPort(), 7171);
         testContext.assertEquals(config.getHttpRequestHandlerUserHeader(), "x-custom-user-header");
         testContext.assertEquals(config.getQueueSpeedIntervalSec(), 1);
+        testContext.assertTrue(config.getAtomicDequeueEnabled());
+        testContext.assertTrue(config.getConsistentHashOwnershipEnabled());
+        testContext.assertTrue(config.getQueueSpeedWindowsEnabled());
+        testContext.assertEquals(config.getStatisticsFlushIntervalMs(), 0);
+        testContext.assertEquals(config.getQueueConfigurationCacheSize(), 50);
+        testContext.assertTrue(config.getBinaryPayloadsEnabled());
+        testContext.assertEquals(config.getQueueStorage(), "STREAM");
+        testContext.assertEquals(config.getRedisClientType(), "CLUSTER");
+        testContext.assertEquals(config.getLazyDeleteChunkSize(), 50);
+        testContext.assertTrue(config.getLazyDeleteEnabled());
+        testContext.assertTrue(config.getConsumerIndexEnabled());
+        testContext.assertTrue(config.getMetricsEnabled());
+        testContext.assertTrue(config.getQueueSizeIndexEnabled());
+        testContext.assertEquals(config.getMultiListLengthConcurrency(), 2);
+        testContext.assertEquals(config.getMultiListLengthChunkSize(), 100);
+        testContext.assertEquals(config.getCheckPageSize(), 50);
+        testContext.assertTrue(config.getIncrementalCheckEnabled());
+        testContext.assertEquals(config.getLeaseRenewalChunkSize(), 200);
+        testContext.assertTrue(config.getLeaseRenewalEnabled());
+        testContext.assertEquals(config.getConsumerCacheSize(), 5000);
+        testContext.assertTrue(config.getFusedEnqueueEnabled());
         // queue configurations
         testContext.assertEquals(config.getQueueConfigurations().size(), 1);
         QueueConfiguration queueConfiguration = config.getQueueConfigurations().get(0);
@@ -112,6 +175,27 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(json.getString(PROP_HTTP_REQUEST_HANDLER_USER_HEADER), "x-rp-usr");
         testContext.assertEquals(json.getJsonArray(PROP_QUEUE_CONFIGURATIONS).getList().size(), 0);
         testContext.assertEquals(json.getInteger(PROP_QUEUE_SPEED_INTERVAL_SEC), 60);
+        testContext.assertFalse(json.getBoolean(PROP_ATOMIC_DEQUEUE_ENABLED));
+        testContext.assertFalse(json.getBoolean(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED));
+        testContext.assertFalse(json.getBoolean(PROP_QUEUE_SPEED_WINDOWS_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_STATISTICS_FLUSH_INTERVAL_MS), 1000);
+        testContext.assertEquals(json.getInteger(PROP_QUEUE_CONFIGURATION_CACHE_SIZE), 10000);
+        testContext.assertFalse(json.getBoolean(PROP_BINARY_PAYLOADS_ENABLED));
+        testContext.assertEquals(json.getString(PROP_QUEUE_STORAGE), "LIST");
+        testContext.assertEquals(json.getString(PROP_REDIS_CLIENT_TYPE), "STANDALONE");
+        testContext.assertEquals(json.getInteger(PROP_LAZY_DELETE_CHUNK_SIZE), 1000);
+        testContext.assertFalse(json.getBoolean(PROP_LAZY_DELETE_ENABLED));
+        testContext.assertFalse(json.getBoolean(PROP_CONSUMER_INDEX_ENABLED));
+        testContext.assertFalse(json.getBoolean(PROP_METRICS_ENABLED));
+        testContext.assertFalse(json.getBoolean(PROP_QUEUE_SIZE_INDEX_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_MULTI_LIST_LENGTH_CONCURRENCY), 4);
+        testContext.assertEquals(json.getInteger(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE), 1000);
+        testContext.assertEquals(json.getInteger(PROP_CHECK_PAGE_SIZE), 1000);
+        testContext.assertFalse(json.getBoolean(PROP_INCREMENTAL_CHECK_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_LEASE_RENEWAL_CHUNK_SIZE), 1000);
+        testContext.assertFalse(json.getBoolean(PROP_LEASE_RENEWAL_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_CONSUMER_CACHE_SIZE), 0);
+        testContext.assertFalse(json.getBoolean(PROP_FUSED_ENQUEUE_ENABLED));
     }
 
     @Test
@@ -131,6 +215,27 @@ public class RedisquesConfigurationTest {
                         new QueueConfiguration().withPattern("vehicle-.*").withRetryIntervals(10, 20, 30, 60)
                 ))
                 .queueSpeedIntervalSec(1)
+                .atomicDequeueEnabled(true)
+                .consistentHashOwnershipEnabled(true)
+                .queueSpeedWindowsEnabled(true)
+                .statisticsFlushIntervalMs(0)
+                .queueConfigurationCacheSize(50)
+                .binaryPayloadsEnabled(true)
+                .queueStorage("STREAM")
+                .redisClientType("CLUSTER")
+                .lazyDeleteChunkSize(50)
+                .lazyDeleteEnabled(true)
+                .consumerIndexEnabled(true)
+                .metricsEnabled(true)
+                .queueSizeIndexEnabled(true)
+                .multiListLengthConcurrency(2)
+                .multiListLengthChunkSize(100)
+                .checkPageSize(50)
+                .incrementalCheckEnabled(true)
+                .leaseRenewalChunkSize(200)
+                .leaseRenewalEnabled(true)
+                .consumerCacheSize(5000)
+                .fusedEnqueueEnabled(true)
                 .build();
 
         JsonObject json = config.asJsonObject();
@@ -154,6 +259,27 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(json.getInteger(PROP_HTTP_REQUEST_HANDLER_PORT), 7171);
         testContext.assertEquals(json.getString(PROP_HTTP_REQUEST_HANDLER_USER_HEADER), "x-custom-user-header");
         testContext.assertEquals(json.getInteger(PROP_QUEUE_SPEED_INTERVAL_SEC), 1);
+        testContext.assertTrue(json.getBoolean(PROP_ATOMIC_DEQUEUE_ENABLED));
+        testContext.assertTrue(json.getBoolean(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED));
+        testContext.assertTrue(json.getBoolean(PROP_QUEUE_SPEED_WINDOWS_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_STATISTICS_FLUSH_INTERVAL_MS), 0);
+        testContext.assertEquals(json.getInteger(PROP_QUEUE_CONFIGURATION_CACHE_SIZE), 50);
+        testContext.assertTrue(json.getBoolean(PROP_BINARY_PAYLOADS_ENABLED));
+        testContext.assertEquals(json.getString(PROP_QUEUE_STORAGE), "STREAM");
+        testContext.assertEquals(json.getString(PROP_REDIS_CLIENT_TYPE), "CLUSTER");
+        testContext.assertEquals(json.getInteger(PROP_LAZY_DELETE_CHUNK_SIZE), 50);
+        testContext.assertTrue(json.getBoolean(PROP_LAZY_DELETE_ENABLED));
+        testContext.assertTrue(json.getBoolean(PROP_CONSUMER_INDEX_ENABLED));
+        testContext.assertTrue(json.getBoolean(PROP_METRICS_ENABLED));
+        testContext.assertTrue(json.getBoolean(PROP_QUEUE_SIZE_INDEX_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_MULTI_LIST_LENGTH_CONCURRENCY), 2);
+        testContext.assertEquals(json.getInteger(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE), 100);
+        testContext.assertEquals(json.getInteger(PROP_CHECK_PAGE_SIZE), 50);
+        testContext.assertTrue(json.getBoolean(PROP_INCREMENTAL_CHECK_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_LEASE_RENEWAL_CHUNK_SIZE), 200);
+        testContext.assertTrue(json.getBoolean(PROP_LEASE_RENEWAL_ENABLED));
+        testContext.assertEquals(json.getInteger(PROP_CONSUMER_CACHE_SIZE), 5000);
+        testContext.assertTrue(json.getBoolean(PROP_FUSED_ENQUEUE_ENABLED));
 
         // queue configurations
         JsonArray queueConfigurationsJsonArray = json.getJsonArray(PROP_QUEUE_CONFIGURATIONS);
@@ -186,6 +312,27 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(config.getHttpRequestHandlerUserHeader(), "x-rp-usr");
         testContext.assertEquals(config.getQueueConfigurations().size(), 0);
         testContext.assertEquals(config.getQueueSpeedIntervalSec(), 60);
+        testContext.assertFalse(config.getAtomicDequeueEnabled());
+        testContext.assertFalse(config.getConsistentHashOwnershipEnabled());
+        testContext.assertFalse(config.getQueueSpeedWindowsEnabled());
+        testContext.assertEquals(config.getStatisticsFlushIntervalMs(), 1000);
+        testContext.assertEquals(config.getQueueConfigurationCacheSize(), 10000);
+        testContext.assertFalse(config.getBinaryPayloadsEnabled());
+        testContext.assertEquals(config.getQueueStorage(), "LIST");
+        testContext.assertEquals(config.getRedisClientType(), "STANDALONE");
+        testContext.assertEquals(config.getLazyDeleteChunkSize(), 1000);
+        testContext.assertFalse(config.getLazyDeleteEnabled());
+        testContext.assertFalse(config.getConsumerIndexEnabled());
+        testContext.assertFalse(config.getMetricsEnabled());
+        testContext.assertFalse(config.getQueueSizeIndexEnabled());
+        testContext.assertEquals(config.getMultiListLengthConcurrency(), 4);
+        testContext.assertEquals(config.getMultiListLengthChunkSize(), 1000);
+        testContext.assertEquals(config.getCheckPageSize(), 1000);
+        testContext.assertFalse(config.getIncrementalCheckEnabled());
+        testContext.assertEquals(config.getLeaseRenewalChunkSize(), 1000);
+        testContext.assertFalse(config.getLeaseRenewalEnabled());
+        testContext.assertEquals(config.getConsumerCacheSize(), 0);
+        testContext.assertFalse(config.getFusedEnqueueEnabled());
     }
 
     @Test
@@ -208,9 +355,32 @@ public class RedisquesConfigurationTest {
         json.put(PROP_HTTP_REQUEST_HANDLER_PORT, 7171);
         json.put(PROP_HTTP_REQUEST_HANDLER_USER_HEADER, "x-custom-user-header");
         json.put(PROP_QUEUE_SPEED_INTERVAL_SEC, 1);
+        json.put(PROP_ATOMIC_DEQUEUE_ENABLED, Boolean.TRUE);
+        json.put(PROP_CONSISTENT_HASH_OWNERSHIP_ENABLED, Boolean.TRUE);
+        json.put(PROP_QUEUE_SPEED_WINDOWS_ENABLED, Boolean.TRUE);
+        json.put(PROP_STATISTICS_FLUSH_INTERVAL_MS, 0);
+        json.put(PROP_QUEUE_CONFIGURATION_CACHE_SIZE, 50);
+        json.put(PROP_BINARY_PAYLOADS_ENABLED, Boolean.TRUE);
+        json.put(PROP_QUEUE_STORAGE, "STREAM");
+        json.put(PROP_REDIS_CLIENT_TYPE, "CLUSTER");
+        json.put(PROP_LAZY_DELETE_CHUNK_SIZE, 50);
+        json.put(PROP_LAZY_DELETE_ENABLED, Boolean.TRUE);
+        json.put(PROP_CONSUMER_INDEX_ENABLED, Boolean.TRUE);
+        json.put(PROP_METRICS_ENABLED, Boolean.TRUE);
+        json.put(PROP_QUEUE_SIZE_INDEX_ENABLED, Boolean.TRUE);
+        json.put(PROP_MULTI_LIST_LENGTH_CONCURRENCY, 2);
+        json.put(PROP_MULTI_LIST_LENGTH_CHUNK_SIZE, 100);
+        json.put(PROP_CHECK_PAGE_SIZE, 50);
+        json.put(PROP_INCREMENTAL_CHECK_ENABLED, Boolean.TRUE);
+        json.put(PROP_LEASE_RENEWAL_CHUNK_SIZE, 200);
+        json.put(PROP_LEASE_RENEWAL_ENABLED, Boolean.TRUE);
+        json.put(PROP_CONSUMER_CACHE_SIZE, 5000);
+        json.put(PROP_FUSED_ENQUEUE_ENABLED, Boolean.TRUE);
         json.put(PROP_QUEUE_CONFIGURATIONS, new JsonArray(Collections.singletonList(
                 new QueueConfiguration().withPattern("vehicle-.*")
                         .withRetryIntervals(10, 20, 30, 60)
+                        .withPrefetchCount(10)
+                        .withPrefetchBatch(true)
                         .asJsonObject()
         )));
 
@@ -231,12 +401,35 @@ public class RedisquesConfigurationTest {
         testContext.assertEquals(config.getHttpRequestHandlerPrefix(), "/queuing/test123");
         testContext.assertEquals(config.getHttpRequestHandlerUserHeader(), "x-custom-user-header");
         testContext.assertEquals(config.getQueueSpeedIntervalSec(), 1);
+        testContext.assertTrue(config.getAtomicDequeueEnabled());
+        testContext.assertTrue(config.getConsistentHashOwnershipEnabled());
+        testContext.assertTrue(config.getQueueSpeedWindowsEnabled());
+        testContext.assertEquals(config.getStatisticsFlushIntervalMs(), 0);
+        testContext.assertEquals(config.getQueueConfigurationCacheSize(), 50);
+        testContext.assertTrue(config.getBinaryPayloadsEnabled());
+        testContext.assertEquals(config.getQueueStorage(), "STREAM");
+        testContext.assertEquals(config.getRedisClientType(), "CLUSTER");
+        testContext.assertEquals(config.getLazyDeleteChunkSize(), 50);
+        testContext.assertTrue(config.getLazyDeleteEnabled());
+        testContext.assertTrue(config.getConsumerIndexEnabled());
+        testContext.assertTrue(config.getMetricsEnabled());
+        testContext.assertTrue(config.getQueueSizeIndexEnabled());
+        testContext.assertEquals(config.getMultiListLengthConcurrency(), 2);
+        testContext.assertEquals(config.getMultiListLengthChunkSize(), 100);
+        testContext.assertEquals(config.getCheckPageSize(), 50);
+        testContext.assertTrue(config.getIncrementalCheckEnabled());
+        testContext.assertEquals(config.getLeaseRenewalChunkSize(), 200);
+        testContext.assertTrue(config.getLeaseRenewalEnabled());
+        testContext.assertEquals(config.getConsumerCacheSize(), 5000);
+        testContext.assertTrue(config.getFusedEnqueueEnabled());
 
         // queue configurations
         testContext.assertEquals(config.getQueueConfigurations().size(), 1);
         QueueConfiguration queueConfiguration = config.getQueueConfigurations().get(0);
         testContext.assertEquals(queueConfiguration.getPattern(), "vehicle-.*");
         testContext.assertTrue(Arrays.equals(queueConfiguration.getRetryIntervals(), new int[]{10, 20, 30, 60}));
+        testContext.assertEquals(queueConfiguration.getPrefetchCount(), 10);
+        testContext.assertTrue(queueConfiguration.getPrefetchBatch());
     }
 
     @Test
@@ -0,0 +1,71 @@
+package org.swisspush.redisques.util;
+
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.swisspush.redisques.util.SpeedWindows.Resolution.*;
+
+/**
+ * Tests for {@link SpeedWindows} class.
+ */
+@RunWith(VertxUnitRunner.class)
+public class SpeedWindowsTest {
+
+    @Test
+    public void testSecondWindows(TestContext context) {
+        SpeedWindows windows = new SpeedWindows();
+        context.assertEquals(0L, windows.get(SECOND));
+
+        windows.add(3);
+        windows.add(2);
+        context.assertEquals(5L, windows.tick());
+        context.assertEquals(5L, windows.get(SECOND));
+        context.assertEquals(5L, windows.get(TEN_SECONDS));
+
+        windows.add(1);
+        windows.tick();
+        context.assertEquals(1L, windows.get(SECOND));
+        context.assertEquals(6L, windows.get(TEN_SECONDS));
+        // not a complete 10 seconds bucket yet
+        context.assertEquals(0L, windows.get(MINUTE));
+    }
+
+    @Test
+    public void testWindowsSlide(TestContext context) {
+        SpeedWindows windows = new SpeedWindows();
+        // one message per second for 6 minutes
+        for (int second = 0; second < 360; second++) {
+            windows.add(1);
+            windows.tick();
+        }
+        context.assertEquals(1L, windows.get(SECOND));
+        context.assertEquals(10L, windows.get(TEN_SECONDS));
+        context.assertEquals(60L, windows.get(MINUTE));
+        context.assertEquals(300L, windows.get(FIVE_MINUTES));
+
+        // silent for 10 seconds
+        for (int second = 0; second < 10; second++) {
+            windows.tick();
+        }
+        context.assertEquals(0L, windows.get(TEN_SECONDS));
+        context.assertEquals(50L, windows.get(MINUTE));
+        context.assertEquals(300L, windows.get(FIVE_MINUTES));
+        context.assertFalse(windows.isIdle());
+
+        for (int second = 0; second < 350; second++) {
+            windows.tick();
+        }
+        context.assertEquals(0L, windows.get(FIVE_MINUTES));
+        context.assertTrue(windows.isIdle());
+    }
+
+    @Test
+    public void testPendingCountIsNotIdle(TestContext context) {
+        SpeedWindows windows = new SpeedWindows();
+        context.assertTrue(windows.isIdle());
+        windows.add(1);
+        context.assertFalse(windows.isIdle());
+    }
+}